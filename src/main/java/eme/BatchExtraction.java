@@ -0,0 +1,289 @@
+package eme;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import eme.extractor.ExternalTypeCache;
+import eme.generator.saving.CustomPathSaving;
+import eme.properties.ExtractionProperties;
+import eme.properties.TextProperty;
+
+/**
+ * Extracts the Ecore metamodels of multiple projects concurrently on a bounded pool of workers. Every worker uses its
+ * own {@link EcoreMetamodelExtraction} and saves its metamodel independently, but all workers share an
+ * {@link ExternalTypeCache}, which means the external types of the JDK and the libraries are only extracted once. Every
+ * worker extracts and generates the metamodel of its project as workspace operation with the project as scheduling
+ * rule, and only takes the rule of the output location for the saving. The output location of some saving strategies
+ * is the workspace root, which means the savings run one after another, but the extractions run concurrently. The
+ * thread that starts the batch must not hold a conflicting rule. The saving strategy of the properties must not open dialogs,
+ * which means the {@link CustomPathSaving} is not supported.
+ * @author Timur Saglam
+ */
+public class BatchExtraction {
+    private static final Logger logger = LogManager.getLogger(BatchExtraction.class.getName());
+    private final ExternalTypeCache externalTypes;
+    private final int parallelism;
+
+    /**
+     * Basic constructor.
+     * @param parallelism is the maximal number of projects that are extracted at the same time.
+     */
+    public BatchExtraction(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism has to be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        externalTypes = new ExternalTypeCache();
+    }
+
+    /**
+     * Extracts the Ecore metamodels of a list of projects and logs a summary. The failure of a single project does not
+     * stop the extraction of the other projects.
+     * @param projects are the {@link IProject}s to extract.
+     * @return the {@link Result}s of the projects, in the order of the projects.
+     */
+    public List<Result> extract(List<IProject> projects) {
+        return extract(projects, new NullProgressMonitor());
+    }
+
+    /**
+     * Extracts the Ecore metamodels of a list of projects, reports the number of finished projects to a monitor and logs
+     * a summary. The failure of a single project does not stop the extraction of the other projects. If the monitor is
+     * canceled, the running extractions are canceled and the remaining projects are skipped.
+     * @param projects are the {@link IProject}s to extract.
+     * @param monitor is the {@link IProgressMonitor} which receives the progress and which can cancel the batch.
+     * @return the {@link Result}s of the projects, in the order of the projects.
+     * @throws IllegalStateException if the saving strategy of the properties is not supported.
+     */
+    public List<Result> extract(List<IProject> projects, IProgressMonitor monitor) {
+        ExtractionProperties properties = new ExtractionProperties(); // same properties as the workers
+        if (!supports(properties)) {
+            throw new IllegalStateException("Unsupported saving strategy: " + properties.get(TextProperty.SAVING_STRATEGY));
+        }
+        SubMonitor progress = SubMonitor.convert(monitor, "Extracting " + projects.size() + " projects", projects.size());
+        logger.info("Started batch extraction of " + projects.size() + " projects with " + parallelism + " workers...");
+        long start = System.nanoTime();
+        List<ProjectExtraction> tasks = new ArrayList<ProjectExtraction>(projects.size());
+        for (IProject project : projects) { // one task per project
+            tasks.add(new ProjectExtraction(project, monitor));
+        }
+        List<Result> results = new ArrayList<Result>(projects.size());
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (Future<Result> result : pool.invokeAll(tasks)) { // in order
+                results.add(result.get());
+                progress.worked(1);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch extraction was interrupted.", exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Error in the batch extraction.", exception.getCause()); // tasks catch errors
+        } finally {
+            pool.shutdown();
+        }
+        report(results, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return results;
+    }
+
+    /**
+     * Accessor for the {@link ExternalTypeCache} that is shared by the workers.
+     * @return the {@link ExternalTypeCache}.
+     */
+    public ExternalTypeCache getExternalTypeCache() {
+        return externalTypes;
+    }
+
+    /**
+     * Checks whether the batch extraction supports the saving strategy of specific {@link ExtractionProperties}. The
+     * {@link CustomPathSaving} is not supported, because it opens a dialog on the UI thread for every project.
+     * @param properties are the {@link ExtractionProperties}.
+     * @return true if the saving strategy is supported.
+     */
+    public boolean supports(ExtractionProperties properties) {
+        return !CustomPathSaving.class.getSimpleName().startsWith(properties.get(TextProperty.SAVING_STRATEGY));
+    }
+
+    /**
+     * Logs the summary of the batch extraction.
+     */
+    private void report(List<Result> results, long wallTime) {
+        int failures = 0;
+        logger.info("Batch extraction summary:");
+        for (Result result : results) {
+            logger.info("   " + result);
+            if (!result.isSuccessful()) {
+                failures++;
+            }
+        }
+        logger.info("Extracted " + (results.size() - failures) + " of " + results.size() + " projects in " + wallTime + " ms, "
+                + failures + " failed.");
+        logger.info("External type cache: " + externalTypes.getHits() + " hits, " + externalTypes.getMisses() + " misses, "
+                + externalTypes.size() + " types");
+    }
+
+    /**
+     * Result of the extraction of a single project of the batch.
+     */
+    public static class Result {
+        private final long extractionEnd;
+        private final long extractionStart;
+        private final Exception failure;
+        private final String projectName;
+        private final long wallTime;
+
+        /**
+         * Basic constructor.
+         * @param projectName is the name of the project.
+         * @param wallTime is the wall time of the extraction in milliseconds.
+         * @param extractionStart is the {@link System#nanoTime()} when the extraction started, or 0 if it did not start.
+         * @param extractionEnd is the {@link System#nanoTime()} when the generation ended, or 0 if it did not end.
+         * @param failure is the cause of the failure or null if the extraction was successful.
+         */
+        public Result(String projectName, long wallTime, long extractionStart, long extractionEnd, Exception failure) {
+            this.projectName = projectName;
+            this.wallTime = wallTime;
+            this.extractionStart = extractionStart;
+            this.extractionEnd = extractionEnd;
+            this.failure = failure;
+        }
+
+        /**
+         * Accessor for the end of the extraction and generation, without the saving.
+         * @return the {@link System#nanoTime()} when the generation ended, or 0 if it did not end.
+         */
+        public long getExtractionEnd() {
+            return extractionEnd;
+        }
+
+        /**
+         * Accessor for the start of the extraction, after the scheduling rule of the project was acquired. Together with
+         * {@link #getExtractionEnd()}, it shows which projects were extracted at the same time.
+         * @return the {@link System#nanoTime()} when the extraction started, or 0 if it did not start.
+         */
+        public long getExtractionStart() {
+            return extractionStart;
+        }
+
+        /**
+         * Accessor for the cause of the failure.
+         * @return the exception that stopped the extraction, or null if the extraction was successful.
+         */
+        public Exception getFailure() {
+            return failure;
+        }
+
+        /**
+         * Accessor for the project name.
+         * @return the name of the project.
+         */
+        public String getProjectName() {
+            return projectName;
+        }
+
+        /**
+         * Accessor for the wall time.
+         * @return the wall time of the extraction and saving in milliseconds.
+         */
+        public long getWallTime() {
+            return wallTime;
+        }
+
+        /**
+         * Checks whether the project was extracted and saved successfully.
+         * @return true if it was.
+         */
+        public boolean isSuccessful() {
+            return failure == null;
+        }
+
+        @Override
+        public String toString() {
+            String status = isSuccessful() ? "extracted" : "failed (" + failure.getMessage() + ")";
+            if (failure instanceof OperationCanceledException) {
+                status = "canceled";
+            }
+            return projectName + ": " + status + " in " + wallTime + " ms";
+        }
+    }
+
+    /**
+     * Task for the extraction of a single project of the batch. Errors are caught and reported in the {@link Result}.
+     */
+    private class ProjectExtraction implements Callable<Result> {
+        private final IProgressMonitor batchMonitor;
+        private final IProject project;
+
+        /**
+         * Basic constructor.
+         * @param project is the {@link IProject} to extract.
+         * @param batchMonitor is the {@link IProgressMonitor} of the batch, which is only used to check for cancellation.
+         */
+        ProjectExtraction(IProject project, IProgressMonitor batchMonitor) {
+            this.project = project;
+            this.batchMonitor = batchMonitor;
+        }
+
+        @Override
+        public Result call() {
+            long start = System.nanoTime();
+            Exception failure = null;
+            final EcoreMetamodelExtraction extraction = new EcoreMetamodelExtraction();
+            extraction.setExternalTypeCache(externalTypes);
+            IProgressMonitor monitor = new NullProgressMonitor() { // monitors are not thread-safe, only share cancellation
+                @Override
+                public boolean isCanceled() {
+                    return super.isCanceled() || batchMonitor.isCanceled();
+                }
+            };
+            final long[] interval = new long[2]; // start and end of the extraction
+            try {
+                IWorkspace workspace = ResourcesPlugin.getWorkspace();
+                workspace.run(new IWorkspaceRunnable() {
+                    @Override
+                    public void run(IProgressMonitor runMonitor) {
+                        interval[0] = System.nanoTime();
+                        extraction.extractWithoutSaving(project, runMonitor);
+                        interval[1] = System.nanoTime();
+                    }
+                }, project, IWorkspace.AVOID_UPDATE, monitor); // other projects can be extracted at the same time
+                workspace.run(new IWorkspaceRunnable() {
+                    @Override
+                    public void run(IProgressMonitor runMonitor) {
+                        extraction.saveMetamodel();
+                    }
+                }, extraction.getSavingRule(project), IWorkspace.AVOID_UPDATE, monitor);
+            } catch (OperationCanceledException exception) {
+                logger.info("Extraction of project " + project.getName() + " was canceled.");
+                failure = exception;
+            } catch (CoreException exception) {
+                logger.error("Extraction of project " + project.getName() + " failed.", exception);
+                failure = exception;
+            } catch (RuntimeException exception) {
+                logger.error("Extraction of project " + project.getName() + " failed.", exception);
+                failure = exception;
+            } finally {
+                extraction.dispose();
+            }
+            long wallTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new Result(project.getName(), wallTime, interval[0], interval[1], failure);
+        }
+    }
+}
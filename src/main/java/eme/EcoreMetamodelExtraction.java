@@ -3,12 +3,21 @@ package eme;
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.MultiRule;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 
+import eme.extractor.ExternalTypeCache;
 import eme.extractor.JavaProjectExtractor;
 import eme.generator.EcoreMetamodelGenerator;
 import eme.generator.GeneratedEcoreMetamodel;
+import eme.generator.saving.SavingInformation;
+import eme.metrics.ExtractionMetrics;
 import eme.model.IntermediateModel;
 import eme.properties.ExtractionProperties;
 
@@ -29,24 +38,66 @@ public class EcoreMetamodelExtraction {
     public EcoreMetamodelExtraction() {
         logger.info("Started EME...");
         properties = new ExtractionProperties();
-        parser = new JavaProjectExtractor();
+        parser = new JavaProjectExtractor(properties);
         generator = new EcoreMetamodelGenerator(properties);
     }
 
+    /**
+     * Releases the resources of the extraction, e.g. the retained model of the incremental extraction. Should be called
+     * if the instance is not used anymore.
+     */
+    public void dispose() {
+        parser.dispose();
+    }
+
     /**
      * Starts the Ecore metamodel extraction for a specific {@link IProject}. The {@link IProject} will be parsed and an
-     * Ecore metamodel will be build.
+     * Ecore metamodel will be build. If the incremental extraction is enabled and the same project was extracted before
+     * with this instance, only the changed compilation units are parsed again.
      * @param project is the specific {@link IProject} for the extraction.
      * @return the Ecore metamodel.
      */
     public GeneratedEcoreMetamodel extract(IProject project) {
+        return extract(project, new NullProgressMonitor());
+    }
+
+    /**
+     * Starts the Ecore metamodel extraction for a specific {@link IProject} and reports the progress of the extraction,
+     * the generation and the saving to a monitor. The extraction and the generation can be canceled with the monitor,
+     * the saving cannot. The {@link ExtractionMetrics} of the extraction are available on the metamodel.
+     * @param project is the specific {@link IProject} for the extraction.
+     * @param monitor is the {@link IProgressMonitor} which receives the progress and which can cancel the extraction.
+     * @return the Ecore metamodel.
+     * @throws OperationCanceledException if the monitor was canceled.
+     */
+    public GeneratedEcoreMetamodel extract(IProject project, IProgressMonitor monitor) {
+        SubMonitor progress = SubMonitor.convert(monitor, 10);
+        GeneratedEcoreMetamodel metamodel = extractWithoutSaving(project, progress.split(9));
+        progress.subTask("Saving the metamodel");
+        progress.split(1); // last chance to cancel
+        saveMetamodel();
+        return metamodel;
+    }
+
+    /**
+     * Extracts the Ecore metamodel of a specific {@link IProject} like {@link #extract(IProject, IProgressMonitor)},
+     * but does not save it. This allows saving the metamodel later with {@link #saveMetamodel()}, e.g. with a different
+     * scheduling rule.
+     * @param project is the specific {@link IProject} for the extraction.
+     * @param monitor is the {@link IProgressMonitor} which receives the progress and which can cancel the extraction.
+     * @return the Ecore metamodel.
+     * @throws OperationCanceledException if the monitor was canceled.
+     */
+    public GeneratedEcoreMetamodel extractWithoutSaving(IProject project, IProgressMonitor monitor) {
         logger.info("Started extraction of project " + project.getName());
         check(project); // check if valid.
+        SubMonitor progress = SubMonitor.convert(monitor, "Extracting the metamodel of " + project.getName(), 9);
         IJavaProject javaProject = JavaCore.create(project); // create java project
-        IntermediateModel model = parser.buildIntermediateModel(javaProject);
-        GeneratedEcoreMetamodel metamodel = generator.generateMetamodel(model);
-        generator.saveMetamodel(); // save metamodel
-        return metamodel;
+        ExtractionMetrics metrics = new ExtractionMetrics(); // new metrics for every extraction
+        parser.setMetrics(metrics);
+        generator.setMetrics(metrics);
+        IntermediateModel model = parser.buildIntermediateModel(javaProject, progress.split(6));
+        return generator.generateMetamodel(model, progress.split(3));
     }
 
     /**
@@ -57,6 +108,54 @@ public class EcoreMetamodelExtraction {
         return properties;
     }
 
+    /**
+     * Returns the scheduling rule for saving the metamodel of a specific {@link IProject}, which covers the output
+     * location of the saving strategy of the properties.
+     * @param project is the specific {@link IProject} for the extraction.
+     * @return the {@link ISchedulingRule} of the output location, or null if it is outside of the workspace.
+     */
+    public ISchedulingRule getSavingRule(IProject project) {
+        return generator.getSchedulingRule(project);
+    }
+
+    /**
+     * Returns the scheduling rule of an extraction of a specific {@link IProject}, which covers the project and the
+     * output location of the saving strategy of the properties. Only extractions with conflicting rules have to wait for
+     * each other, e.g. the extractions of the same project.
+     * @param project is the specific {@link IProject} for the extraction.
+     * @return the {@link ISchedulingRule} of the extraction.
+     */
+    public ISchedulingRule getSchedulingRule(IProject project) {
+        return getSchedulingRule(project, properties);
+    }
+
+    /**
+     * Returns the scheduling rule of an extraction of a specific {@link IProject} with specific properties, e.g. a
+     * snapshot that is applied to the {@link ExtractionProperties} of this instance right before the extraction.
+     * @param project is the specific {@link IProject} for the extraction.
+     * @param otherProperties are the {@link ExtractionProperties} that determine the output location.
+     * @return the {@link ISchedulingRule} of the extraction.
+     */
+    public ISchedulingRule getSchedulingRule(IProject project, ExtractionProperties otherProperties) {
+        return MultiRule.combine(project, generator.getSchedulingRule(project, otherProperties));
+    }
+
+    /**
+     * Saves the last extracted metamodel with the saving strategy of the properties.
+     * @return the {@link SavingInformation} of the saved metamodel.
+     */
+    public SavingInformation saveMetamodel() {
+        return generator.saveMetamodel();
+    }
+
+    /**
+     * Shares an {@link ExternalTypeCache} with other extractions, e.g. in a {@link BatchExtraction}.
+     * @param cache is the {@link ExternalTypeCache}, or null to extract all external types.
+     */
+    public void setExternalTypeCache(ExternalTypeCache cache) {
+        parser.setExternalTypeCache(cache);
+    }
+
     /**
      * Checks whether a specific {@link IProject} is valid (neither null nor nonexistent)
      * @param project is the specific {@link IProject}.
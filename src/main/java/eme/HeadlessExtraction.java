@@ -0,0 +1,126 @@
+package eme;
+
+import java.io.File;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.apache.log4j.BasicConfigurator;
+import org.apache.log4j.Level;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+import eme.extractor.SourceFolderExtractor;
+import eme.generator.EcoreMetamodelGenerator;
+import eme.generator.GeneratedEcoreMetamodel;
+import eme.generator.saving.DirectorySaving;
+import eme.metrics.ExtractionMetrics;
+import eme.model.IntermediateModel;
+import eme.properties.ExtractionProperties;
+
+/**
+ * Entry point for the Ecore metamodel extraction without an Eclipse workspace or a running OSGi framework, e.g. for
+ * build servers. Extracts plain source folders with the {@link SourceFolderExtractor} and saves the Ecore file in an
+ * output directory with the {@link DirectorySaving} strategy.
+ * @author Timur Saglam
+ */
+public class HeadlessExtraction {
+    private static final Logger logger = LogManager.getLogger(HeadlessExtraction.class.getName());
+    private static final String USAGE = "Usage: HeadlessExtraction -source <folders> [-classpath <entries>] "
+            + "[-output <directory>] [-name <name>] [-properties <file>]";
+    private final EcoreMetamodelGenerator generator;
+    private final SourceFolderExtractor parser;
+    private final ExtractionProperties properties;
+
+    /**
+     * Basic constructor. Builds {@link SourceFolderExtractor} and {@link EcoreMetamodelGenerator}.
+     * @param properties are the {@link ExtractionProperties}, which should be loaded without OSGi, e.g. with
+     * {@link ExtractionProperties#ExtractionProperties(File)}.
+     */
+    public HeadlessExtraction(ExtractionProperties properties) {
+        logger.info("Started headless EME...");
+        this.properties = properties;
+        parser = new SourceFolderExtractor(properties);
+        generator = new EcoreMetamodelGenerator(properties);
+    }
+
+    /**
+     * Starts the Ecore metamodel extraction for a set of source folders. The source folders are parsed and an Ecore
+     * metamodel will be build and saved in the output directory. The {@link ExtractionMetrics} of the extraction are
+     * available on the metamodel.
+     * @param name is the name of the extracted project, which is the name of the metamodel and the Ecore file.
+     * @param sourceFolders are the source folders, which are the roots of the package structure.
+     * @param classPath are the class path entries (jar files and class folders) which are needed to resolve the types.
+     * @param outputDirectory is the directory where the Ecore file is saved.
+     * @return the Ecore metamodel.
+     */
+    public GeneratedEcoreMetamodel extract(String name, List<File> sourceFolders, List<File> classPath, File outputDirectory) {
+        logger.info("Started extraction of " + name);
+        ExtractionMetrics metrics = new ExtractionMetrics(); // new metrics for every extraction
+        parser.setMetrics(metrics);
+        generator.setMetrics(metrics);
+        IntermediateModel model = parser.buildIntermediateModel(name, sourceFolders, classPath);
+        GeneratedEcoreMetamodel metamodel = generator.generateMetamodel(model);
+        generator.saveMetamodel(new DirectorySaving(outputDirectory)); // save metamodel
+        return metamodel;
+    }
+
+    /**
+     * Grants access to the {@link ExtractionProperties}.
+     * @return the {@link ExtractionProperties}.
+     */
+    public ExtractionProperties getProperties() {
+        return properties;
+    }
+
+    /**
+     * Starts the headless extraction from the command line. The folders and class path entries are separated with the
+     * path separator of the platform.
+     * @param args are the command line arguments, see the usage message.
+     */
+    public static void main(String[] args) {
+        BasicConfigurator.configure();
+        Logger.getRootLogger().setLevel(Level.INFO);
+        List<File> sourceFolders = new LinkedList<File>();
+        List<File> classPath = new LinkedList<File>();
+        File output = new File("output");
+        File propertiesFile = new File("user.properties");
+        String name = null;
+        for (int i = 0; i + 1 < args.length; i += 2) { // options with values
+            if ("-source".equals(args[i])) {
+                sourceFolders.addAll(toFiles(args[i + 1]));
+            } else if ("-classpath".equals(args[i])) {
+                classPath.addAll(toFiles(args[i + 1]));
+            } else if ("-output".equals(args[i])) {
+                output = new File(args[i + 1]);
+            } else if ("-name".equals(args[i])) {
+                name = args[i + 1];
+            } else if ("-properties".equals(args[i])) {
+                propertiesFile = new File(args[i + 1]);
+            } else {
+                throw new IllegalArgumentException("Unknown option " + args[i] + ". " + USAGE);
+            }
+        }
+        if (sourceFolders.isEmpty() || args.length % 2 != 0) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        if (name == null) { // name of the first source folders parent, e.g. the project folder of "project/src"
+            File projectFolder = sourceFolders.get(0).getAbsoluteFile().getParentFile();
+            name = projectFolder == null ? sourceFolders.get(0).getName() : projectFolder.getName();
+        }
+        new HeadlessExtraction(new ExtractionProperties(propertiesFile)).extract(name, sourceFolders, classPath, output);
+    }
+
+    /**
+     * Splits a list of paths which are separated by the path separator of the platform.
+     */
+    private static List<File> toFiles(String paths) {
+        List<File> files = new LinkedList<File>();
+        for (String path : paths.split(Pattern.quote(File.pathSeparator))) {
+            if (!path.isEmpty()) {
+                files.add(new File(path));
+            }
+        }
+        return files;
+    }
+}
@@ -0,0 +1,399 @@
+package eme.extractor;
+
+import static eme.extractor.JDTUtil.getModifier;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.AnnotationTypeMemberDeclaration;
+import org.eclipse.jdt.core.dom.BodyDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.EnumConstantDeclaration;
+import org.eclipse.jdt.core.dom.EnumDeclaration;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.Modifier;
+import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
+import org.eclipse.jdt.core.dom.Type;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+
+import eme.model.ExtractedClass;
+import eme.model.ExtractedEnum;
+import eme.model.ExtractedEnumConstant;
+import eme.model.ExtractedInterface;
+import eme.model.ExtractedMethod;
+import eme.model.ExtractedType;
+import eme.model.MethodType;
+import eme.model.datatypes.ExtractedField;
+
+/**
+ * Extracts the types declared in a parsed {@link CompilationUnit}. The structure of the types is taken from the
+ * declarations, their types are taken from the bindings. This requires an AST that was parsed with binding resolution,
+ * but no Java model, which means the extractor is used for both the workspace and the headless extraction.
+ * @author Timur Saglam
+ */
+public class ASTDeclarationExtractor {
+    private static final String THROWABLE = "java.lang.Throwable";
+    private final BindingDataTypeExtractor bindingExtractor;
+    private final boolean detectThrowables;
+    private final ExtractionFilter filter;
+
+    /**
+     * Basic constructor.
+     * @param bindingExtractor is the {@link BindingDataTypeExtractor} which creates the data types and collects the
+     * potential external types.
+     * @param detectThrowables determines whether throwables are detected. If not, no class is marked as throwable.
+     * @param filter is the {@link ExtractionFilter} which decides which members are extracted.
+     */
+    public ASTDeclarationExtractor(BindingDataTypeExtractor bindingExtractor, boolean detectThrowables, ExtractionFilter filter) {
+        this.bindingExtractor = bindingExtractor;
+        this.detectThrowables = detectThrowables;
+        this.filter = filter;
+    }
+
+    /**
+     * Creates a shallow {@link ExtractedType} of an external type from its {@link ITypeBinding}. Only the name, the kind,
+     * the outer type and the type parameters are extracted, which is all the information the generator uses of external
+     * types.
+     * @param binding is the {@link ITypeBinding} of a class, an interface or an enumeration.
+     * @return the extracted type.
+     */
+    public ExtractedType extractExternalType(ITypeBinding binding) {
+        ITypeBinding type = binding.getTypeDeclaration();
+        ExtractedType extractedType;
+        if (type.isEnum()) {
+            extractedType = new ExtractedEnum(type.getQualifiedName());
+        } else if (type.isClass()) {
+            boolean isAbstract = Modifier.isAbstract(type.getModifiers());
+            extractedType = new ExtractedClass(type.getQualifiedName(), isAbstract, isThrowable(type));
+        } else { // interfaces and annotations
+            extractedType = new ExtractedInterface(type.getQualifiedName());
+        }
+        if (type.getDeclaringClass() != null) { // if is inner type
+            extractedType.setOuterType(type.getDeclaringClass().getQualifiedName()); // add outer type name
+        }
+        extractedType.setTypeParameters(bindingExtractor.extractTypeParameters(type.getTypeParameters()));
+        return extractedType;
+    }
+
+    /**
+     * Extracts all top-level and member types of a parsed {@link CompilationUnit} in breadth first order, which is the
+     * order of the Java model.
+     * @param ast is the {@link CompilationUnit}, parsed with binding resolution.
+     * @return the list of extracted types, or null if bindings are missing.
+     */
+    public List<ExtractedType> extractTypes(CompilationUnit ast) {
+        List<ExtractedType> types = new LinkedList<ExtractedType>();
+        LinkedList<AbstractTypeDeclaration> declarations = new LinkedList<AbstractTypeDeclaration>();
+        for (Object type : ast.types()) {
+            declarations.add((AbstractTypeDeclaration) type);
+        }
+        try {
+            while (!declarations.isEmpty()) { // breadth first, like the Java model
+                AbstractTypeDeclaration declaration = declarations.removeFirst();
+                types.add(extractType(declaration));
+                for (Object member : declaration.bodyDeclarations()) {
+                    if (member instanceof AbstractTypeDeclaration) { // member type
+                        declarations.add((AbstractTypeDeclaration) member);
+                    }
+                }
+            }
+        } catch (MissingBindingException exception) {
+            return null; // types cannot be extracted from the AST
+        }
+        return types;
+    }
+
+    /**
+     * Checks whether the fields of a field declaration are extracted.
+     */
+    private boolean allowsField(FieldDeclaration field) {
+        int modifiers = field.getModifiers();
+        return filter.allowsField(getModifier(modifiers), Modifier.isStatic(modifiers));
+    }
+
+    /**
+     * Parses a {@link TypeDeclaration} that has been identified as class.
+     */
+    private ExtractedClass extractClass(TypeDeclaration declaration, ITypeBinding binding) {
+        String name = binding.getQualifiedName();
+        boolean isAbstract = Modifier.isAbstract(declaration.getModifiers());
+        ExtractedClass newClass = new ExtractedClass(name, isAbstract, isThrowable(binding));
+        Type superclass = declaration.getSuperclassType();
+        if (superclass != null) { // get full super type:
+            newClass.setSuperClass(bindingExtractor.extractDataType(resolve(superclass))); // set super
+        }
+        return newClass;
+    }
+
+    /**
+     * Parses an {@link EnumDeclaration}.
+     */
+    private ExtractedEnum extractEnum(EnumDeclaration declaration, ITypeBinding binding) {
+        ExtractedEnum newEnum = new ExtractedEnum(binding.getQualifiedName());
+        for (Object constant : declaration.enumConstants()) { // for every enumeral
+            newEnum.addConstant(new ExtractedEnumConstant(((EnumConstantDeclaration) constant).getName().getIdentifier()));
+        }
+        return newEnum;
+    }
+
+    /**
+     * Parses the fields of a type declaration and adds them to an {@link ExtractedType}.
+     */
+    private void extractFields(AbstractTypeDeclaration declaration, ExtractedType extractedType) {
+        for (Object member : declaration.bodyDeclarations()) {
+            if (member instanceof FieldDeclaration && allowsField((FieldDeclaration) member)) {
+                FieldDeclaration field = (FieldDeclaration) member;
+                for (Object fragment : field.fragments()) { // fields with the same declaration
+                    ExtractedField extractedField = bindingExtractor.extractField(resolve((VariableDeclarationFragment) fragment));
+                    extractedField.setFinal(Modifier.isFinal(field.getModifiers()));
+                    extractedField.setStatic(Modifier.isStatic(field.getModifiers()));
+                    extractedField.setModifier(getModifier(field.getModifiers()));
+                    extractedType.addField(extractedField);
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses a method or an annotation type member with its {@link IMethodBinding}.
+     */
+    private ExtractedMethod extractMethod(BodyDeclaration declaration, IMethodBinding binding, List<SingleVariableDeclaration> parameters,
+            MethodType methodType) {
+        String methodName = binding.getDeclaringClass().getQualifiedName() + "." + binding.getName(); // build name
+        ExtractedMethod extractedMethod = new ExtractedMethod(methodName, bindingExtractor.extractReturnType(binding));
+        int modifiers = declaration.getModifiers();
+        extractedMethod.setAbstract(Modifier.isAbstract(modifiers));
+        extractedMethod.setStatic(Modifier.isStatic(modifiers));
+        extractedMethod.setMethodType(methodType);
+        extractedMethod.setModifier(getModifier(modifiers));
+        extractedMethod.setTypeParameters(bindingExtractor.extractTypeParameters(binding.getTypeParameters()));
+        ITypeBinding[] parameterTypes = binding.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) { // extract parameters:
+            String name = parameters.get(i).getName().getIdentifier();
+            extractedMethod.addParameter(bindingExtractor.extractParameter(name, parameterTypes[i]));
+        }
+        for (ITypeBinding exception : binding.getExceptionTypes()) { // extract throw declarations:
+            extractedMethod.addThrowsDeclaration(bindingExtractor.extractDataType(exception));
+        }
+        return extractedMethod;
+    }
+
+    /**
+     * Parses the methods and annotation type members of a type declaration and adds them to an {@link ExtractedType}.
+     * Methods that are rejected by the {@link ExtractionFilter} are skipped before their signature is extracted.
+     */
+    private void extractMethods(AbstractTypeDeclaration declaration, ExtractedType extractedType, Set<String> fieldNames) {
+        for (Object member : declaration.bodyDeclarations()) {
+            BodyDeclaration method = null;
+            IMethodBinding binding = null;
+            List<SingleVariableDeclaration> parameters = Collections.emptyList(); // annotation type members have none
+            if (member instanceof MethodDeclaration) {
+                method = (MethodDeclaration) member;
+                binding = resolve((MethodDeclaration) member);
+                parameters = getParameters((MethodDeclaration) member);
+            } else if (member instanceof AnnotationTypeMemberDeclaration) {
+                method = (AnnotationTypeMemberDeclaration) member;
+                binding = resolve((AnnotationTypeMemberDeclaration) member);
+            }
+            if (method != null) {
+                int modifiers = method.getModifiers();
+                MethodType methodType = extractMethodType(binding, modifiers, fieldNames);
+                if (filter.allowsMethod(methodType, getModifier(modifiers), Modifier.isAbstract(modifiers), Modifier.isStatic(modifiers))) {
+                    extractedType.addMethod(extractMethod(method, binding, parameters, methodType));
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses the {@link MethodType} of an {@link IMethodBinding}.
+     */
+    private MethodType extractMethodType(IMethodBinding method, int modifiers, Set<String> fieldNames) {
+        String name = method.getName();
+        int parameters = method.getParameterTypes().length;
+        boolean isVoid = bindingExtractor.isVoid(method.getReturnType());
+        if (method.isConstructor()) {
+            return MethodType.CONSTRUCTOR;
+        } else if (isAccessor(name, parameters, isVoid, fieldNames)) {
+            return MethodType.ACCESSOR;
+        } else if (isMutator(name, parameters, isVoid, fieldNames)) {
+            return MethodType.MUTATOR;
+        } else if (isMainMethod(method, modifiers)) {
+            return MethodType.MAIN;
+        }
+        return MethodType.NORMAL;
+    }
+
+    /**
+     * Parses an {@link AbstractTypeDeclaration}. Detects whether the type is a (abstract) class, an interface or an
+     * enumeration.
+     */
+    private ExtractedType extractType(AbstractTypeDeclaration declaration) {
+        ITypeBinding binding = resolve(declaration);
+        ExtractedType extractedType;
+        List<?> superInterfaces;
+        if (declaration instanceof EnumDeclaration) {
+            extractedType = extractEnum((EnumDeclaration) declaration, binding); // create enum
+            superInterfaces = ((EnumDeclaration) declaration).superInterfaceTypes();
+        } else if (declaration instanceof TypeDeclaration && !((TypeDeclaration) declaration).isInterface()) {
+            extractedType = extractClass((TypeDeclaration) declaration, binding); // create class
+            superInterfaces = ((TypeDeclaration) declaration).superInterfaceTypes();
+        } else { // interfaces and annotations
+            extractedType = new ExtractedInterface(binding.getQualifiedName()); // create interface
+            boolean isInterface = declaration instanceof TypeDeclaration;
+            superInterfaces = isInterface ? ((TypeDeclaration) declaration).superInterfaceTypes() : new LinkedList<Object>();
+        }
+        ITypeBinding outerType = binding.getDeclaringClass();
+        if (outerType != null) { // if is inner type
+            extractedType.setOuterType(outerType.getQualifiedName()); // add outer type name
+        }
+        extractedType.setTypeParameters(bindingExtractor.extractTypeParameters(binding.getTypeParameters()));
+        if (filter.allowsMembers(extractedType)) { // type might not be generated
+            extractFields(declaration, extractedType); // extract attribute
+            extractMethods(declaration, extractedType, getFieldNames(declaration)); // extract methods
+        }
+        for (Object superInterface : superInterfaces) {
+            extractedType.addInterface(bindingExtractor.extractDataType(resolve((Type) superInterface))); // add interface
+        }
+        return extractedType;
+    }
+
+    /**
+     * Builds the set of the lower case names of all fields and enumerals of a type declaration.
+     */
+    private Set<String> getFieldNames(AbstractTypeDeclaration declaration) {
+        Set<String> fieldNames = new HashSet<String>();
+        for (Object member : declaration.bodyDeclarations()) {
+            if (member instanceof FieldDeclaration) {
+                for (Object fragment : ((FieldDeclaration) member).fragments()) {
+                    String name = ((VariableDeclarationFragment) fragment).getName().getIdentifier();
+                    fieldNames.add(JavaMemberExtractor.toLowerCase(name));
+                }
+            }
+        }
+        if (declaration instanceof EnumDeclaration) { // enumerals are fields in the Java model
+            for (Object constant : ((EnumDeclaration) declaration).enumConstants()) {
+                String name = ((EnumConstantDeclaration) constant).getName().getIdentifier();
+                fieldNames.add(JavaMemberExtractor.toLowerCase(name));
+            }
+        }
+        return fieldNames;
+    }
+
+    /**
+     * Returns the parameter declarations of a method declaration.
+     */
+    @SuppressWarnings("unchecked")
+    private List<SingleVariableDeclaration> getParameters(MethodDeclaration method) {
+        return method.parameters();
+    }
+
+    /**
+     * Checks whether a method is an accessor method.
+     */
+    private boolean isAccessor(String name, int parameters, boolean isVoid, Set<String> fieldNames) {
+        if (JavaMemberExtractor.isAccessMethod("get", name, fieldNames)
+                || JavaMemberExtractor.isAccessMethod("is", name, fieldNames)) { // if name fits
+            return parameters == 0 && !isVoid;
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a method is a main method (public static void main(String[] args)).
+     */
+    private boolean isMainMethod(IMethodBinding method, int modifiers) {
+        ITypeBinding[] parameters = method.getParameterTypes();
+        if ("main".equals(method.getName()) && Modifier.isPublic(modifiers) && Modifier.isStatic(modifiers)
+                && bindingExtractor.isVoid(method.getReturnType()) && parameters.length == 1) {
+            ITypeBinding parameter = parameters[0];
+            return parameter.getDimensions() == 1 && "java.lang.String".equals(parameter.getElementType().getQualifiedName());
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a method is a mutator method.
+     */
+    private boolean isMutator(String name, int parameters, boolean isVoid, Set<String> fieldNames) {
+        if (JavaMemberExtractor.isAccessMethod("set", name, fieldNames)) { // if name fits
+            return parameters == 1 && isVoid;
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a class binding inherits from the class {@link Throwable} by walking up its super classes.
+     */
+    private boolean isThrowable(ITypeBinding type) {
+        if (detectThrowables) {
+            for (ITypeBinding superclass = type.getSuperclass(); superclass != null; superclass = superclass.getSuperclass()) {
+                if (THROWABLE.equals(superclass.getErasure().getQualifiedName())) {
+                    return true;
+                }
+            }
+        }
+        return false; // no throwable or detection is disabled
+    }
+
+    /**
+     * Resolves the {@link ITypeBinding} of a type declaration.
+     */
+    private ITypeBinding resolve(AbstractTypeDeclaration declaration) {
+        return check(declaration.resolveBinding());
+    }
+
+    /**
+     * Resolves the {@link IMethodBinding} of an annotation type member.
+     */
+    private IMethodBinding resolve(AnnotationTypeMemberDeclaration declaration) {
+        return check(declaration.resolveBinding());
+    }
+
+    /**
+     * Resolves the {@link IMethodBinding} of a method declaration.
+     */
+    private IMethodBinding resolve(MethodDeclaration declaration) {
+        return check(declaration.resolveBinding());
+    }
+
+    /**
+     * Resolves the {@link ITypeBinding} of a type.
+     */
+    private ITypeBinding resolve(Type type) {
+        return check(type.resolveBinding());
+    }
+
+    /**
+     * Resolves the {@link IVariableBinding} of a field.
+     */
+    private IVariableBinding resolve(VariableDeclarationFragment fragment) {
+        return check(fragment.resolveBinding());
+    }
+
+    /**
+     * Checks whether a binding exists.
+     */
+    private <T> T check(T binding) {
+        if (binding == null) {
+            throw new MissingBindingException();
+        }
+        return binding;
+    }
+
+    /**
+     * Signals that a binding could not be resolved, which means the compilation unit cannot be extracted from its AST.
+     */
+    private static class MissingBindingException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,174 @@
+package eme.extractor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import eme.model.ExtractedType;
+
+/**
+ * Alternative to the {@link JavaTypeExtractor} that extracts the types of compilation units from their DOM/AST instead
+ * of querying the Java model element by element. The compilation units are parsed in batches with
+ * {@link ASTParser#createASTs} and binding resolution, which shares the name environment within a batch. The types are
+ * extracted from the ASTs with the {@link ASTDeclarationExtractor}. If bindings are missing, the types of the unit are
+ * extracted with the {@link JavaTypeExtractor} instead.
+ * @author Timur Saglam
+ */
+public class ASTTypeExtractor {
+    private static final int BATCH_SIZE = 500; // compilation units per parser run
+    private static final Logger logger = LogManager.getLogger(ASTTypeExtractor.class.getName());
+    private final BindingDataTypeExtractor bindingExtractor;
+    private final DataTypeExtractor dataTypeExtractor;
+    private final ASTDeclarationExtractor declarationExtractor;
+    private final ModelCache modelCache;
+    private final IJavaProject project;
+    private final JavaTypeExtractor typeExtractor;
+
+    /**
+     * Basic constructor.
+     * @param project is the {@link IJavaProject} of the compilation units.
+     * @param typeExtractor is the {@link JavaTypeExtractor} which is used as fall back.
+     * @param dataTypeExtractor is the {@link DataTypeExtractor} of the type extractor, which collects the potential
+     * external types.
+     * @param detectThrowables determines whether throwables are detected.
+     * @param filter is the {@link ExtractionFilter} which decides which members are extracted.
+     * @param modelCache is the {@link ModelCache}, or null if no cache is used.
+     */
+    public ASTTypeExtractor(IJavaProject project, JavaTypeExtractor typeExtractor, DataTypeExtractor dataTypeExtractor,
+            boolean detectThrowables, ExtractionFilter filter, ModelCache modelCache) {
+        this.project = project;
+        this.typeExtractor = typeExtractor;
+        this.dataTypeExtractor = dataTypeExtractor;
+        this.modelCache = modelCache;
+        bindingExtractor = new BindingDataTypeExtractor(dataTypeExtractor.getDataTypePool(), false); // share pool
+        declarationExtractor = new ASTDeclarationExtractor(bindingExtractor, detectThrowables, filter);
+    }
+
+    /**
+     * Extracts all types of a list of {@link ICompilationUnit}s. The units are parsed in batches, cached units are not
+     * parsed at all.
+     * @param units are the {@link ICompilationUnit}s.
+     * @param monitor is the {@link IProgressMonitor} which receives one unit of work per compilation unit.
+     * @return the extracted types of every compilation unit in the order of the units.
+     * @throws JavaModelException if there are problem with the JDT API.
+     * @throws OperationCanceledException if the monitor was canceled.
+     */
+    public Map<ICompilationUnit, List<ExtractedType>> extractUnits(List<ICompilationUnit> units, IProgressMonitor monitor)
+            throws JavaModelException {
+        SubMonitor progress = SubMonitor.convert(monitor, units.size());
+        Map<ICompilationUnit, List<ExtractedType>> extractedUnits = new LinkedHashMap<ICompilationUnit, List<ExtractedType>>();
+        List<ICompilationUnit> batch = new ArrayList<ICompilationUnit>(BATCH_SIZE);
+        for (ICompilationUnit unit : units) {
+            extractedUnits.put(unit, null); // keep order of the units
+            ModelCache.Entry entry = modelCache == null ? null : modelCache.get(unit);
+            if (entry == null) {
+                batch.add(unit);
+                if (batch.size() == BATCH_SIZE) {
+                    parseBatch(batch, extractedUnits, progress.split(BATCH_SIZE));
+                    batch.clear();
+                }
+            } else { // unit did not change
+                dataTypeExtractor.addDataTypes(entry.getDataTypes());
+                extractedUnits.put(unit, entry.getTypes());
+                progress.worked(1);
+            }
+        }
+        parseBatch(batch, extractedUnits, progress.split(batch.size()));
+        return extractedUnits;
+    }
+
+    /**
+     * Creates the {@link ASTParser} with binding resolution for the project.
+     */
+    @SuppressWarnings("deprecation")
+    private ASTParser createParser() {
+        ASTParser parser = ASTParser.newParser(AST.JLS8); // oldest level that supports all language features in use
+        parser.setKind(ASTParser.K_COMPILATION_UNIT);
+        parser.setProject(project);
+        parser.setResolveBindings(true);
+        parser.setBindingsRecovery(true); // also create bindings for unresolved types
+        return parser;
+    }
+
+    /**
+     * Extracts all top-level and member types of a parsed {@link ICompilationUnit} in the order of
+     * {@link ICompilationUnit#getAllTypes()}. Falls back to the {@link JavaTypeExtractor} if bindings are missing.
+     */
+    private List<ExtractedType> extractUnit(ICompilationUnit unit, CompilationUnit ast) throws JavaModelException {
+        List<ExtractedType> types = declarationExtractor.extractTypes(ast);
+        if (types == null) {
+            logger.warn("Missing bindings in " + unit.getElementName() + ", using the Java model instead.");
+            bindingExtractor.resetDataTypes(); // discard partial results
+            return extractWithJavaModel(unit);
+        }
+        Set<String> unitDataTypes = bindingExtractor.resetDataTypes();
+        dataTypeExtractor.addDataTypes(unitDataTypes);
+        if (modelCache != null) {
+            modelCache.put(unit, types, unitDataTypes);
+        }
+        return types;
+    }
+
+    /**
+     * Extracts all types of a {@link ICompilationUnit} with the {@link JavaTypeExtractor}.
+     */
+    private List<ExtractedType> extractWithJavaModel(ICompilationUnit unit) throws JavaModelException {
+        List<ExtractedType> types = new LinkedList<ExtractedType>();
+        if (modelCache != null) {
+            dataTypeExtractor.startRecording(); // record referenced types for the cache
+        }
+        for (IType type : unit.getAllTypes()) { // for all types
+            types.add(typeExtractor.extractType(type));
+        }
+        if (modelCache != null) {
+            modelCache.put(unit, types, dataTypeExtractor.stopRecording());
+        }
+        return types;
+    }
+
+    /**
+     * Parses a batch of {@link ICompilationUnit}s with one {@link ASTParser} run and extracts their types. The parser
+     * reports its progress to the monitor and stops if it is canceled.
+     */
+    private void parseBatch(List<ICompilationUnit> batch, final Map<ICompilationUnit, List<ExtractedType>> extractedUnits,
+            IProgressMonitor monitor) throws JavaModelException {
+        if (!batch.isEmpty()) {
+            final JavaModelException[] failure = new JavaModelException[1]; // requestor cannot throw
+            createParser().createASTs(batch.toArray(new ICompilationUnit[batch.size()]), new String[0], new ASTRequestor() {
+                @Override
+                public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+                    try {
+                        extractedUnits.put(source, extractUnit(source, ast));
+                    } catch (JavaModelException exception) {
+                        failure[0] = exception;
+                    }
+                }
+            }, monitor);
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            for (ICompilationUnit unit : batch) {
+                if (extractedUnits.get(unit) == null) { // if the parser did not provide an AST
+                    extractedUnits.put(unit, extractWithJavaModel(unit));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package eme.extractor;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+
+import eme.model.datatypes.DataTypePool;
+import eme.model.datatypes.ExtractedDataType;
+import eme.model.datatypes.ExtractedField;
+import eme.model.datatypes.ExtractedParameter;
+import eme.model.datatypes.ExtractedTypeParameter;
+import eme.model.datatypes.WildcardStatus;
+
+/**
+ * Counterpart of the {@link DataTypeExtractor} for the {@link ASTTypeExtractor}. Generates data types from the
+ * {@link ITypeBinding}s of the DOM/AST instead of the type signatures of the Java model. The bindings are already
+ * resolved, which means no name lookup is necessary. Optionally, the extractor records the bindings of the referenced
+ * classes, interfaces and enumerations, which allows extracting external types without a Java model. The data types
+ * are interned with a {@link DataTypePool}, like in the {@link DataTypeExtractor}.
+ * @author Timur Saglam
+ */
+public class BindingDataTypeExtractor {
+    private final DataTypePool dataTypePool;
+    private Set<String> dataTypes;
+    private final boolean recordBindings;
+    private Map<String, ITypeBinding> typeBindings;
+
+    /**
+     * Basic constructor, sets the set for the potential external types and creates the {@link DataTypePool}. Does not
+     * record bindings.
+     */
+    public BindingDataTypeExtractor() {
+        this(new DataTypePool(), false);
+    }
+
+    /**
+     * Constructor that sets the set for the potential external types.
+     * @param dataTypePool is the {@link DataTypePool} that is used to intern the data types.
+     * @param recordBindings determines whether the bindings of the referenced types are recorded.
+     */
+    public BindingDataTypeExtractor(DataTypePool dataTypePool, boolean recordBindings) {
+        this.dataTypePool = dataTypePool;
+        this.recordBindings = recordBindings;
+        dataTypes = new HashSet<String>();
+        typeBindings = new HashMap<String, ITypeBinding>();
+    }
+
+    /**
+     * Creates an {@link ExtractedDataType} from an {@link ITypeBinding}.
+     * @param binding is the {@link ITypeBinding} of the data type.
+     * @return the extracted data type.
+     */
+    public ExtractedDataType extractDataType(ITypeBinding binding) {
+        return dataTypePool.intern(createDataType(binding));
+    }
+
+    /**
+     * Creates an {@link ExtractedField} from an {@link IVariableBinding}.
+     * @param field is the {@link IVariableBinding} of the field.
+     * @return the extracted field.
+     */
+    public ExtractedField extractField(IVariableBinding field) {
+        ITypeBinding type = field.getType();
+        ExtractedField extractedField = new ExtractedField(field.getName(), getFullName(type), type.getDimensions());
+        extractedField.setGenericArguments(extractGenericArguments(type));
+        return dataTypePool.internContent(extractedField);
+    }
+
+    /**
+     * Creates an {@link ExtractedParameter} from the name and the {@link ITypeBinding} of a method parameter.
+     * @param name is the name of the parameter.
+     * @param type is the {@link ITypeBinding} of the parameter.
+     * @return the extracted method parameter.
+     */
+    public ExtractedParameter extractParameter(String name, ITypeBinding type) {
+        ExtractedParameter parameter = new ExtractedParameter(name, getFullName(type), type.getDimensions());
+        parameter.setGenericArguments(extractGenericArguments(type));
+        return dataTypePool.internContent(parameter);
+    }
+
+    /**
+     * Creates the extracted return type of an {@link IMethodBinding}.
+     * @param method is the {@link IMethodBinding}.
+     * @return the return type, or null if it is void.
+     */
+    public ExtractedDataType extractReturnType(IMethodBinding method) {
+        ITypeBinding returnType = method.getReturnType();
+        if (isVoid(returnType)) {
+            return null; // void, no return type.
+        }
+        return extractDataType(returnType);
+    }
+
+    /**
+     * Generates a list of {@link ExtractedTypeParameter}s from an array of type variable {@link ITypeBinding}s.
+     * @param typeParameters is the array of type variables, e.g. of a type or a method.
+     * @return list of {@link ExtractedTypeParameter}s.
+     */
+    public List<ExtractedTypeParameter> extractTypeParameters(ITypeBinding[] typeParameters) {
+        List<ExtractedTypeParameter> parameterList = new LinkedList<ExtractedTypeParameter>();
+        for (ITypeBinding typeParameter : typeParameters) { // for every type parameter
+            ExtractedTypeParameter parameter = new ExtractedTypeParameter(typeParameter.getName());
+            for (ITypeBinding bound : typeParameter.getTypeBounds()) { // if has bound:
+                parameter.add(extractDataType(bound)); // add to type parameter
+            }
+            parameterList.add(parameter); // add to extracted type
+        }
+        return parameterList;
+    }
+
+    /**
+     * Checks whether an {@link ITypeBinding} is the type void.
+     * @param type is the {@link ITypeBinding}.
+     * @return true if it is void.
+     */
+    public boolean isVoid(ITypeBinding type) {
+        return type.isPrimitive() && "void".equals(type.getName());
+    }
+
+    /**
+     * Returns the potential external type names that were collected since the last call and starts a new collection.
+     * @return the set of type names.
+     */
+    public Set<String> resetDataTypes() {
+        Set<String> typeNames = dataTypes;
+        dataTypes = new HashSet<String>();
+        return typeNames;
+    }
+
+    /**
+     * Returns the recorded bindings of the referenced types since the last call and starts a new recording. The
+     * bindings are only valid as long as the parser run that created them is active.
+     * @return the map of the full type names to the bindings of the type declarations.
+     */
+    public Map<String, ITypeBinding> resetTypeBindings() {
+        Map<String, ITypeBinding> bindings = typeBindings;
+        typeBindings = new HashMap<String, ITypeBinding>();
+        return bindings;
+    }
+
+    /**
+     * Creates a new {@link ExtractedDataType} from an {@link ITypeBinding}, which is not interned yet and can still be
+     * changed.
+     */
+    private ExtractedDataType createDataType(ITypeBinding binding) {
+        ExtractedDataType dataType = new ExtractedDataType(getFullName(binding), binding.getDimensions());
+        dataType.setGenericArguments(extractGenericArguments(binding));
+        return dataType;
+    }
+
+    /**
+     * Parses the generic arguments of a parameterized {@link ITypeBinding} and returns them in a list.
+     */
+    private List<ExtractedDataType> extractGenericArguments(ITypeBinding binding) {
+        List<ExtractedDataType> genericArguments = new LinkedList<ExtractedDataType>();
+        ITypeBinding type = getBaseType(binding);
+        for (ITypeBinding argument : type.getTypeArguments()) { // for every argument
+            ExtractedDataType genericArgument = createDataType(argument);
+            genericArgument.setWildcardStatus(getWildcardStatus(argument));
+            genericArguments.add(dataTypePool.intern(genericArgument)); // add generic type argument
+        }
+        return genericArguments;
+    }
+
+    /**
+     * Returns the base type of an {@link ITypeBinding}, which is the element type of an array or the bound of a wild
+     * card.
+     */
+    private ITypeBinding getBaseType(ITypeBinding binding) {
+        ITypeBinding type = binding.isArray() ? binding.getElementType() : binding; // remove array information
+        if (type.isWildcardType() && type.getBound() != null) {
+            type = type.getBound(); // remove wild card
+        }
+        return type;
+    }
+
+    /**
+     * Returns the full name of an {@link ITypeBinding} without type arguments and array information, e.g
+     * "java.lang.String", "java.util.List" or "char". Type variables are named by their identifier.
+     */
+    private String getFullName(ITypeBinding binding) {
+        ITypeBinding type = getBaseType(binding);
+        String name;
+        if (type.isWildcardType()) { // unbound wild card
+            name = "?";
+        } else if (type.isTypeVariable() || type.isPrimitive()) {
+            name = type.getName();
+        } else {
+            name = type.getErasure().getQualifiedName();
+            if (recordBindings && !type.isRecovered() && (type.isTopLevel() || type.isMember())) { // no unresolved or local
+                typeBindings.put(name, type.getTypeDeclaration());
+            }
+        }
+        dataTypes.add(name); // potential external type
+        return name;
+    }
+
+    /**
+     * Determines the {@link WildcardStatus} of an {@link ITypeBinding}.
+     */
+    private WildcardStatus getWildcardStatus(ITypeBinding type) {
+        if (type.isWildcardType()) {
+            if (type.getBound() == null) {
+                return WildcardStatus.UNBOUND; // is unbound wildcard
+            } else if (type.isUpperbound()) {
+                return WildcardStatus.UPPER_BOUND; // is upper bound wildcard
+            }
+            return WildcardStatus.LOWER_BOUND; // is lower bound wildcard
+        }
+        return WildcardStatus.NO_WILDCARD; // is no wildcard
+    }
+}
@@ -0,0 +1,133 @@
+package eme.extractor;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Listens to the Java element deltas of one {@link IJavaProject} and tracks the {@link ICompilationUnit}s that changed
+ * since the last extraction. Changes that cannot be handled on the level of compilation units, like added or removed
+ * packages or a changed class path, are tracked as structural changes which require a full extraction.
+ * @author Timur Saglam
+ */
+public class ChangeTracker implements IElementChangedListener {
+    private Set<ICompilationUnit> changedUnits;
+    private final IJavaProject project;
+    private boolean structuralChange;
+
+    /**
+     * Basic constructor, registers the tracker as {@link IElementChangedListener}.
+     * @param project is the {@link IJavaProject} whose changes are tracked.
+     */
+    public ChangeTracker(IJavaProject project) {
+        this.project = project;
+        changedUnits = new LinkedHashSet<ICompilationUnit>();
+        JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+    }
+
+    /**
+     * Unregisters the tracker. Afterwards, no more changes are tracked.
+     */
+    public void dispose() {
+        JavaCore.removeElementChangedListener(this);
+    }
+
+    @Override
+    public synchronized void elementChanged(ElementChangedEvent event) {
+        visit(event.getDelta());
+    }
+
+    /**
+     * Accessor for the tracked {@link IJavaProject}.
+     * @return the {@link IJavaProject}.
+     */
+    public IJavaProject getProject() {
+        return project;
+    }
+
+    /**
+     * Checks whether a structural change happened since the last call of {@link ChangeTracker#pollChangedUnits()}.
+     * @return true if a full extraction is required.
+     */
+    public synchronized boolean hasStructuralChange() {
+        return structuralChange;
+    }
+
+    /**
+     * Returns the primary {@link ICompilationUnit}s that changed since the last call and resets the tracker.
+     * @return the set of changed {@link ICompilationUnit}s, which may contain removed units.
+     */
+    public synchronized Set<ICompilationUnit> pollChangedUnits() {
+        Set<ICompilationUnit> units = changedUnits;
+        changedUnits = new LinkedHashSet<ICompilationUnit>();
+        structuralChange = false;
+        return units;
+    }
+
+    /**
+     * Checks whether a {@link IJavaElementDelta} describes a changed archive, e.g. a JAR file on the class path.
+     */
+    private boolean isArchiveChange(IJavaElementDelta delta) {
+        return (delta.getFlags() & IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED) != 0;
+    }
+
+    /**
+     * Checks whether a {@link IJavaElementDelta} of a project describes a class path change or an opened or closed
+     * project.
+     */
+    private boolean isProjectChange(IJavaElementDelta delta) {
+        int flags = IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+                | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED;
+        return (delta.getFlags() & flags) != 0;
+    }
+
+    /**
+     * Visits a {@link IJavaElementDelta} and its affected children.
+     */
+    private void visit(IJavaElementDelta delta) {
+        IJavaElement element = delta.getElement();
+        switch (element.getElementType()) {
+        case IJavaElement.JAVA_MODEL:
+            visitChildren(delta);
+            break;
+        case IJavaElement.JAVA_PROJECT:
+            if (project.equals(element)) { // only the tracked project
+                if (delta.getKind() != IJavaElementDelta.CHANGED || isProjectChange(delta)) {
+                    structuralChange = true;
+                } else {
+                    visitChildren(delta);
+                }
+            }
+            break;
+        case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+        case IJavaElement.PACKAGE_FRAGMENT:
+            if (delta.getKind() == IJavaElementDelta.CHANGED && !isArchiveChange(delta)) {
+                visitChildren(delta);
+            } else { // added or removed packages change the package structure, archives the external types
+                structuralChange = true;
+            }
+            break;
+        case IJavaElement.COMPILATION_UNIT:
+            changedUnits.add(((ICompilationUnit) element).getPrimary()); // added, removed or changed
+            break;
+        default: // changes below compilation units are covered by the unit.
+            break;
+        }
+    }
+
+    /**
+     * Visits the affected children of a {@link IJavaElementDelta}.
+     */
+    private void visitChildren(IJavaElementDelta delta) {
+        for (IJavaElementDelta child : delta.getAffectedChildren()) {
+            visit(child);
+        }
+    }
+}
@@ -10,9 +10,12 @@ import static eme.extractor.JDTUtil.isUnresolved;
 import static eme.extractor.JDTUtil.isVoid;
 import static eme.extractor.JDTUtil.removeGenericArguments;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.log4j.LogManager;
@@ -28,24 +31,55 @@ import org.eclipse.jdt.core.ITypeParameter;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.Signature;
 
+import eme.model.datatypes.DataTypePool;
 import eme.model.datatypes.ExtractedDataType;
 import eme.model.datatypes.ExtractedField;
 import eme.model.datatypes.ExtractedParameter;
 import eme.model.datatypes.ExtractedTypeParameter;
 
 /**
- * Helper class to deal with type signatures and generate data types. Parses fields, parameters and return types.
+ * Helper class to deal with type signatures and generate data types. Parses fields, parameters and return types. The
+ * full names of resolved type signatures are cached per declaring type, as well as the results of type lookups in the
+ * project. Since a new extractor is created for every extraction run, the caches never outlive a run. The data types
+ * are interned with a {@link DataTypePool}, which means identical data types share one instance.
  * @author Timur Saglam
  */
 public class DataTypeExtractor {
     private static final Logger logger = LogManager.getLogger(DataTypeExtractor.class.getName());
+    private long cacheHits;
+    private long cacheMisses;
+    private final DataTypePool dataTypePool;
     private final Set<String> dataTypes;
+    private long findTypeCalls;
+    private final Map<String, IType> foundTypes;
+    private Set<String> recordedTypes; // potential external types since the recording started
+    private final Map<IType, Map<String, String>> resolvedNames;
 
     /**
-     * Basic constructor, sets the set for the potential external types.
+     * Basic constructor, sets the set for the potential external types and creates the resolution caches and the
+     * {@link DataTypePool}.
      */
     public DataTypeExtractor() {
+        this(new DataTypePool());
+    }
+
+    /**
+     * Constructor that sets the {@link DataTypePool}, which can be shared between multiple extractors.
+     * @param dataTypePool is the {@link DataTypePool} that is used to intern the data types.
+     */
+    public DataTypeExtractor(DataTypePool dataTypePool) {
+        this.dataTypePool = dataTypePool;
         this.dataTypes = new HashSet<String>();
+        resolvedNames = new HashMap<IType, Map<String, String>>();
+        foundTypes = new HashMap<String, IType>();
+    }
+
+    /**
+     * Adds potential external type names to the ones of this extractor, e.g. names that were extracted earlier.
+     * @param typeNames are the names of the potential external types.
+     */
+    public void addDataTypes(Collection<String> typeNames) {
+        dataTypes.addAll(typeNames);
     }
 
     /**
@@ -57,10 +91,7 @@ public class DataTypeExtractor {
      * @throws JavaModelException if there are problems with the JDT API.
      */
     public ExtractedDataType extractDataType(String signature, IType declaringType) throws JavaModelException {
-        int arrayCount = Signature.getArrayCount(signature);
-        ExtractedDataType dataType = new ExtractedDataType(getFullName(signature, declaringType), arrayCount);
-        dataType.setGenericArguments(extractGenericArguments(signature, declaringType));
-        return dataType;
+        return dataTypePool.intern(createDataType(signature, declaringType));
     }
 
     /**
@@ -76,7 +107,7 @@ public class DataTypeExtractor {
         String name = field.getElementName(); // name of the field
         ExtractedField extractedField = new ExtractedField(name, getFullName(signature, type), arrayCount);
         extractedField.setGenericArguments(extractGenericArguments(signature, type));
-        return extractedField;
+        return dataTypePool.internContent(extractedField);
     }
 
     /**
@@ -93,7 +124,7 @@ public class DataTypeExtractor {
         int arrayCount = Signature.getArrayCount(signature); // amount of array dimensions
         ExtractedParameter parameter = new ExtractedParameter(name, getFullName(signature, declaringType), arrayCount);
         parameter.setGenericArguments(extractGenericArguments(signature, declaringType));
-        return parameter;
+        return dataTypePool.internContent(parameter);
     }
 
     /**
@@ -130,6 +161,38 @@ public class DataTypeExtractor {
         return parameterList;
     }
 
+    /**
+     * Accessor for the number of type name resolutions that were answered by the resolution cache.
+     * @return the number of cache hits.
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * Accessor for the number of type name resolutions that were not cached and therefore had to be resolved.
+     * @return the number of cache misses.
+     */
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * Accessor for the number of type lookups in the project that were not cached.
+     * @return the number of calls of {@link IJavaProject#findType(String, String)}.
+     */
+    public long getFindTypeCalls() {
+        return findTypeCalls;
+    }
+
+    /**
+     * Accessor for the {@link DataTypePool} which is used to intern the data types.
+     * @return the {@link DataTypePool}.
+     */
+    public DataTypePool getDataTypePool() {
+        return dataTypePool;
+    }
+
     /**
      * Returns a copy of the set of potential external type names.
      * @return the new set of type names.
@@ -138,6 +201,46 @@ public class DataTypeExtractor {
         return new HashSet<String>(dataTypes);
     }
 
+    /**
+     * Merges the potential external type names and the cache statistics of another {@link DataTypeExtractor} into the
+     * ones of this extractor. This is used to combine the results of multiple extractors after a parallel extraction.
+     * @param other is the other {@link DataTypeExtractor}.
+     */
+    public void merge(DataTypeExtractor other) {
+        dataTypes.addAll(other.dataTypes);
+        cacheHits += other.cacheHits;
+        cacheMisses += other.cacheMisses;
+        findTypeCalls += other.findTypeCalls;
+    }
+
+    /**
+     * Starts recording the names of all potential external types that are extracted from now on, even if they were
+     * already extracted before.
+     */
+    public void startRecording() {
+        recordedTypes = new HashSet<String>();
+    }
+
+    /**
+     * Stops the recording of potential external type names.
+     * @return the potential external type names that were extracted since the recording started.
+     */
+    public Set<String> stopRecording() {
+        Set<String> typeNames = recordedTypes;
+        recordedTypes = null;
+        return typeNames;
+    }
+
+    /**
+     * Creates a new {@link ExtractedDataType} from a signature, which is not interned yet and can still be changed.
+     */
+    private ExtractedDataType createDataType(String signature, IType declaringType) throws JavaModelException {
+        int arrayCount = Signature.getArrayCount(signature);
+        ExtractedDataType dataType = new ExtractedDataType(getFullName(signature, declaringType), arrayCount);
+        dataType.setGenericArguments(extractGenericArguments(signature, declaringType));
+        return dataType;
+    }
+
     /**
      * Extracts bounds for an {@link ExtractedTypeParameter} from an array of bound signatures. Needs an declaring type,
      * which is the {@link IType} itself or the declaring type of an {@link IMethod}.
@@ -154,9 +257,9 @@ public class DataTypeExtractor {
     private List<ExtractedDataType> extractGenericArguments(String signature, IType declaringType) throws JavaModelException {
         List<ExtractedDataType> genericArguments = new LinkedList<ExtractedDataType>();
         for (String argumentSignature : Signature.getTypeArguments(signature)) { // for every argument
-            ExtractedDataType genericArgument = extractDataType(argumentSignature, declaringType);
+            ExtractedDataType genericArgument = createDataType(argumentSignature, declaringType);
             genericArgument.setWildcardStatus(getWildcardStatus(argumentSignature));
-            genericArguments.add(genericArgument); // add generic type argument
+            genericArguments.add(dataTypePool.intern(genericArgument)); // add generic type argument
         }
         return genericArguments;
     }
@@ -175,23 +278,47 @@ public class DataTypeExtractor {
         return typeName; // return type name
     }
 
+    /**
+     * Tries to find an {@link IType} with {@link IJavaProject#findType(String, String)}. The results, even unsuccessful
+     * ones, are cached to avoid repeated lookups.
+     */
+    private IType findType(IJavaProject project, String packageName, String typeName) throws JavaModelException {
+        String key = packageName + '/' + typeName;
+        if (foundTypes.containsKey(key)) {
+            return foundTypes.get(key);
+        }
+        findTypeCalls++;
+        IType type = project.findType(packageName, typeName);
+        foundTypes.put(key, type);
+        return type;
+    }
+
     /**
      * Returns the full name of a signature and the declaring {@link IType}, e.g "java.lang.String", "java.util.List" or
-     * "char".
+     * "char". The name is taken from the resolution cache of the declaring type if it was already resolved.
      */
     private String getFullName(String typeSignature, IType declaringType) throws JavaModelException {
         String signature = Signature.getElementType(typeSignature); // remove array information
         if (hasLowerBound(signature) || hasUpperBound(signature)) {
             signature = signature.substring(1); // remove wild card parameter
         }
-        String name = Signature.getSignatureSimpleName(signature); // get plain name
-        String[][] resolvedType = declaringType.resolveType(name); // resolve type from name
-        if (resolvedType != null && resolvedType[0] != null) { // if it has full name:
-            name = Signature.toQualifiedName(resolvedType[0]); // generate full qualified name
-        } else if (isUnresolved(signature)) { // if not resolved
-            name = extractUnresolved(signature, declaringType); // try to resolve manually
+        Map<String, String> cache = resolvedNames.get(declaringType);
+        if (cache == null) { // first resolution for the declaring type
+            cache = new HashMap<String, String>();
+            resolvedNames.put(declaringType, cache);
+        }
+        String name = cache.get(signature);
+        if (name == null) { // not resolved yet
+            cacheMisses++;
+            name = resolveFullName(signature, declaringType);
+            cache.put(signature, name);
+            dataTypes.add(name); // potential external type
+        } else {
+            cacheHits++;
+        }
+        if (recordedTypes != null) { // if recording
+            recordedTypes.add(name);
         }
-        dataTypes.add(name); // potential external type
         return name;
     }
 
@@ -205,7 +332,7 @@ public class DataTypeExtractor {
         for (IImportDeclaration importDeclaration : unit.getImports()) {
             String name = importDeclaration.getElementName();
             if (name.contains(typeName.split("\\.")[0])) { // if package declaration contains outer type
-                IType resolvedType = project.findType(name.substring(0, name.lastIndexOf('.')), typeName);
+                IType resolvedType = findType(project, name.substring(0, name.lastIndexOf('.')), typeName);
                 if (resolvedType != null) { // if resolved an existing IType
                     logger.warn("Resolved type " + getName(resolvedType) + " through import declarations!");
                     return resolvedType; // was successful
@@ -221,7 +348,7 @@ public class DataTypeExtractor {
     private String resolveInnerType(String innerType, IType declaringType) throws JavaModelException {
         String declaringTypeName = getName(declaringType); // get parent name
         IJavaProject project = declaringType.getPackageFragment().getJavaProject(); // try to resolve locally:
-        IType type = project.findType(declaringTypeName.substring(0, declaringTypeName.lastIndexOf('.')), innerType);
+        IType type = findType(project, declaringTypeName.substring(0, declaringTypeName.lastIndexOf('.')), innerType);
         if (type == null) { // if still not resolved
             type = resolveFromImports(innerType, declaringType); // try resolving it from import
         }
@@ -230,4 +357,18 @@ public class DataTypeExtractor {
         } // else:
         return innerType; // return unresolved name
     }
+
+    /**
+     * Resolves the full name of a signature without array and wild card information and the declaring {@link IType}.
+     */
+    private String resolveFullName(String signature, IType declaringType) throws JavaModelException {
+        String name = Signature.getSignatureSimpleName(signature); // get plain name
+        String[][] resolvedType = declaringType.resolveType(name); // resolve type from name
+        if (resolvedType != null && resolvedType[0] != null) { // if it has full name:
+            name = Signature.toQualifiedName(resolvedType[0]); // generate full qualified name
+        } else if (isUnresolved(signature)) { // if not resolved
+            name = extractUnresolved(signature, declaringType); // try to resolve manually
+        }
+        return name;
+    }
 }
\ No newline at end of file
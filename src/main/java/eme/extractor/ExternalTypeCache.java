@@ -0,0 +1,111 @@
+package eme.extractor;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+
+import eme.model.ExtractedType;
+
+/**
+ * Thread-safe cache for external types that can be shared by the extractions of multiple projects. Only types of binary
+ * package fragment roots (e.g. the JDK and library archives) are cached, because they are identical for every project
+ * that uses the same archive. The entries are keyed by the path of the archive and the name of the type. A cached
+ * {@link ExtractedType} is never changed, it is added to the models of all projects that reference it. The cache is
+ * only valid for extractions with the same properties, e.g. the projects of one batch extraction.
+ * @author Timur Saglam
+ */
+public class ExternalTypeCache {
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final ConcurrentMap<String, ExtractedType> types;
+
+    /**
+     * Basic constructor, creates an empty cache.
+     */
+    public ExternalTypeCache() {
+        types = new ConcurrentHashMap<String, ExtractedType>();
+        hits = new AtomicLong();
+        misses = new AtomicLong();
+    }
+
+    /**
+     * Returns the cached {@link ExtractedType} of an {@link IType}.
+     * @param type is the {@link IType} of the external type.
+     * @param shallow determines whether the type was extracted without its members.
+     * @return the {@link ExtractedType} or null if it is not cached or not cacheable.
+     * @throws JavaModelException if there are problem with the JDT API.
+     */
+    public ExtractedType get(IType type, boolean shallow) throws JavaModelException {
+        String key = getKey(type, shallow);
+        if (key != null) {
+            ExtractedType extractedType = types.get(key);
+            if (extractedType == null) {
+                misses.incrementAndGet();
+            } else {
+                hits.incrementAndGet();
+            }
+            return extractedType;
+        }
+        return null;
+    }
+
+    /**
+     * Accessor for the number of external types that were taken from the cache.
+     * @return the number of cache hits.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Accessor for the number of cacheable external types that were not cached yet.
+     * @return the number of cache misses.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Caches the {@link ExtractedType} of an {@link IType} if the {@link IType} is cacheable. If another thread cached
+     * the same type in the meantime, the type of the other thread is kept.
+     * @param type is the {@link IType} of the external type.
+     * @param shallow determines whether the type was extracted without its members.
+     * @param extractedType is the {@link ExtractedType} of the external type.
+     * @return the cached {@link ExtractedType}, which should be used instead of the given one.
+     * @throws JavaModelException if there are problem with the JDT API.
+     */
+    public ExtractedType put(IType type, boolean shallow, ExtractedType extractedType) throws JavaModelException {
+        String key = getKey(type, shallow);
+        if (key != null) {
+            ExtractedType cachedType = types.putIfAbsent(key, extractedType);
+            if (cachedType != null) {
+                return cachedType;
+            }
+        }
+        return extractedType;
+    }
+
+    /**
+     * Returns the number of cached external types.
+     * @return the size of the cache.
+     */
+    public int size() {
+        return types.size();
+    }
+
+    /**
+     * Returns the key of an {@link IType}, which is null if the type is not from a binary package fragment root.
+     */
+    private String getKey(IType type, boolean shallow) throws JavaModelException {
+        IPackageFragmentRoot root = (IPackageFragmentRoot) type.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+        if (root != null && root.getKind() == IPackageFragmentRoot.K_BINARY) {
+            return (shallow ? "shallow:" : "full:") + root.getPath() + '!' + type.getFullyQualifiedName();
+        }
+        return null;
+    }
+}
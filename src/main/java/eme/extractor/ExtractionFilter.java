@@ -0,0 +1,70 @@
+package eme.extractor;
+
+import eme.generator.SelectionPolicy;
+import eme.model.ExtractedType;
+import eme.model.MethodType;
+import eme.model.datatypes.AccessLevelModifier;
+import eme.properties.BinaryProperty;
+import eme.properties.ExtractionProperties;
+
+/**
+ * Pre-extraction filter that decides whether members are extracted at all. It applies the same {@link SelectionPolicy}
+ * as the selection of the generator, but before the signatures of the members are resolved. Types are always
+ * extracted, because they can be referenced by other types, but the members of types that will not be generated are
+ * skipped. If the filter is disabled, everything is extracted, which keeps the full model available for the manual
+ * selection.
+ * @author Timur Saglam
+ */
+public class ExtractionFilter {
+    private final boolean enabled;
+    private final SelectionPolicy policy;
+
+    /**
+     * Basic constructor.
+     * @param properties are the {@link ExtractionProperties} that contain the rules of the filter.
+     */
+    public ExtractionFilter(ExtractionProperties properties) {
+        policy = new SelectionPolicy(properties);
+        enabled = policy.isEnabled(BinaryProperty.EXTRACTION_FILTER);
+    }
+
+    /**
+     * Checks whether a field is extracted.
+     * @param modifier is the access level modifier of the field.
+     * @param isStatic determines whether the field is static.
+     * @return true if it is extracted.
+     */
+    public boolean allowsField(AccessLevelModifier modifier, boolean isStatic) {
+        return !enabled || policy.allowsField(modifier, isStatic);
+    }
+
+    /**
+     * Checks whether the members of a type are extracted. The type needs to know its outer type and whether it is a
+     * throwable.
+     * @param type is the {@link ExtractedType} without members.
+     * @return true if its fields and methods are extracted.
+     */
+    public boolean allowsMembers(ExtractedType type) {
+        return !enabled || policy.allowsType(type);
+    }
+
+    /**
+     * Checks whether a method is extracted.
+     * @param type is the {@link MethodType} of the method.
+     * @param modifier is the access level modifier of the method.
+     * @param isAbstract determines whether the method is abstract.
+     * @param isStatic determines whether the method is static.
+     * @return true if it is extracted.
+     */
+    public boolean allowsMethod(MethodType type, AccessLevelModifier modifier, boolean isAbstract, boolean isStatic) {
+        return !enabled || policy.allowsMethod(type, modifier, isAbstract, isStatic);
+    }
+
+    /**
+     * Checks whether the filter is enabled.
+     * @return true if it is enabled, false if everything is extracted.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -29,7 +29,16 @@ public final class JDTUtil {
      * @throws JavaModelException if there is a problem with the JDT API.
      */
     public static AccessLevelModifier getModifier(IMember member) throws JavaModelException {
-        int flags = member.getFlags();
+        return getModifier(member.getFlags());
+    }
+
+    /**
+     * Determines the access level modifier of modifier flags and returns it as {@link AccessLevelModifier}. The flags
+     * of the Java model and the modifiers of the DOM/AST share the same bits.
+     * @param flags are the modifier flags.
+     * @return the {@link AccessLevelModifier}.
+     */
+    public static AccessLevelModifier getModifier(int flags) {
         if (Flags.isPublic(flags)) {
             return AccessLevelModifier.PUBLIC;
         } else if (Flags.isPrivate(flags)) {
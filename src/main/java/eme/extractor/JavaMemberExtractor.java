@@ -8,6 +8,10 @@ import static eme.extractor.JDTUtil.isFinal;
 import static eme.extractor.JDTUtil.isStatic;
 import static eme.extractor.JDTUtil.isVoid;
 
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.ILocalVariable;
 import org.eclipse.jdt.core.IMethod;
@@ -21,18 +25,22 @@ import eme.model.MethodType;
 import eme.model.datatypes.ExtractedField;
 
 /**
- * Extractor class for Java Members (Methods and fields). Uses the class {@link DataTypeExtractor}.
+ * Extractor class for Java Members (Methods and fields). Uses the class {@link DataTypeExtractor}. Members that are
+ * rejected by the {@link ExtractionFilter} are skipped before their data types are resolved.
  * @author Timur Saglam
  */
 public class JavaMemberExtractor {
     private final DataTypeExtractor dataTypeExtractor;
+    private final ExtractionFilter filter;
 
     /**
      * Basic constructor.
      * @param dataTypeExtractor sets the {@link DataTypeExtractor}.
+     * @param filter is the {@link ExtractionFilter} which decides which members are extracted.
      */
-    public JavaMemberExtractor(DataTypeExtractor dataTypeExtractor) {
+    public JavaMemberExtractor(DataTypeExtractor dataTypeExtractor, ExtractionFilter filter) {
         this.dataTypeExtractor = dataTypeExtractor;
+        this.filter = filter;
     }
 
     /**
@@ -44,7 +52,7 @@ public class JavaMemberExtractor {
     public void extractFields(IType type, ExtractedType extractedType) throws JavaModelException {
         ExtractedField extractedField;
         for (IField field : type.getFields()) {
-            if (!isEnum(field)) { // if is no enumeral
+            if (!isEnum(field) && filter.allowsField(getModifier(field), isStatic(field))) { // if is no enumeral
                 extractedField = dataTypeExtractor.extractField(field, type);
                 extractedField.setFinal(isFinal(field));
                 extractedField.setStatic(isStatic(field));
@@ -61,33 +69,67 @@ public class JavaMemberExtractor {
      * @throws JavaModelException if there are problem with the JDT API.
      */
     public void extractMethods(IType type, ExtractedType extractedType) throws JavaModelException {
-        ExtractedMethod extractedMethod;
-        String methodName; // name of the extracted method
+        MethodType methodType;
+        Set<String> fieldNames = getFieldNames(type); // for the detection of access methods
         for (IMethod method : type.getMethods()) { // for every method
-            methodName = getName(type) + "." + method.getElementName(); // build name
-            extractedMethod = new ExtractedMethod(methodName, dataTypeExtractor.extractReturnType(method));
-            extractModifiers(method, extractedMethod);
-            ITypeParameter[] typeParameters = method.getTypeParameters();
-            extractedMethod.setTypeParameters(dataTypeExtractor.extractTypeParameters(typeParameters, type));
-            for (ILocalVariable parameter : method.getParameters()) { // extract parameters:
-                extractedMethod.addParameter(dataTypeExtractor.extractParameter(parameter, method));
-            }
-            for (String exception : method.getExceptionTypes()) { // extract throw declarations:
-                extractedMethod.addThrowsDeclaration(dataTypeExtractor.extractDataType(exception, type));
+            methodType = extractMethodType(method, fieldNames);
+            if (filter.allowsMethod(methodType, getModifier(method), isAbstract(method), isStatic(method))) {
+                extractedType.addMethod(extractMethod(method, type, methodType)); // only resolve allowed signatures
             }
-            extractedType.addMethod(extractedMethod);
         }
     }
 
+    /**
+     * Checks whether a method name fits the name scheme of an access method (either an accessor or an mutator,
+     * depending on the prefix) for one of the fields of its type.
+     * @param prefix is the prefix of the access method, e.g. "get".
+     * @param methodName is the name of the method.
+     * @param fieldNames is the set of lower case field names of the type of the method.
+     * @return true if the name fits.
+     */
+    static boolean isAccessMethod(String prefix, String methodName, Set<String> fieldNames) {
+        if (methodName.regionMatches(true, 0, prefix, 0, prefix.length())) { // if prefix fits
+            return fieldNames.contains(toLowerCase(methodName.substring(prefix.length()))); // if fits one field
+        }
+        return false; // is not an access method if the prefix does not fit
+    }
+
+    /**
+     * Converts a name to lower case independently of the default locale.
+     * @param name is the name.
+     * @return the lower case name.
+     */
+    static String toLowerCase(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parses an {@link IMethod} with its signature, its parameters and its throw declarations.
+     */
+    private ExtractedMethod extractMethod(IMethod method, IType type, MethodType methodType) throws JavaModelException {
+        String methodName = getName(type) + "." + method.getElementName(); // build name
+        ExtractedMethod extractedMethod = new ExtractedMethod(methodName, dataTypeExtractor.extractReturnType(method));
+        extractModifiers(method, extractedMethod, methodType);
+        ITypeParameter[] typeParameters = method.getTypeParameters();
+        extractedMethod.setTypeParameters(dataTypeExtractor.extractTypeParameters(typeParameters, type));
+        for (ILocalVariable parameter : method.getParameters()) { // extract parameters:
+            extractedMethod.addParameter(dataTypeExtractor.extractParameter(parameter, method));
+        }
+        for (String exception : method.getExceptionTypes()) { // extract throw declarations:
+            extractedMethod.addThrowsDeclaration(dataTypeExtractor.extractDataType(exception, type));
+        }
+        return extractedMethod;
+    }
+
     /**
      * Parses the {@link MethodType} of an {@link IMethod}.
      */
-    private MethodType extractMethodType(IMethod method) throws JavaModelException {
+    private MethodType extractMethodType(IMethod method, Set<String> fieldNames) throws JavaModelException {
         if (method.isConstructor()) {
             return MethodType.CONSTRUCTOR;
-        } else if (isAccessor(method)) {
+        } else if (isAccessor(method, fieldNames)) {
             return MethodType.ACCESSOR;
-        } else if (isMutator(method)) {
+        } else if (isMutator(method, fieldNames)) {
             return MethodType.MUTATOR;
         } else if (method.isMainMethod()) {
             return MethodType.MAIN;
@@ -98,31 +140,31 @@ public class JavaMemberExtractor {
     /**
      * Extracts modifiers from an {@link IMethod} and adds them to an {@link ExtractedMethod}.
      */
-    private void extractModifiers(IMethod method, ExtractedMethod extractedMethod) throws JavaModelException {
+    private void extractModifiers(IMethod method, ExtractedMethod extractedMethod, MethodType methodType) throws JavaModelException {
         extractedMethod.setAbstract(isAbstract(method));
         extractedMethod.setStatic(isStatic(method));
-        extractedMethod.setMethodType(extractMethodType(method));
+        extractedMethod.setMethodType(methodType);
         extractedMethod.setModifier(getModifier(method));
     }
 
     /**
-     * Checks whether a {@link IMethod} is an access method (either an accessor or an mutator, depending on the prefix).
+     * Builds the set of the lower case names of all fields of an {@link IType}, which allows the case insensitive
+     * detection of access methods without iterating over the fields for every method.
      */
-    private boolean isAccessMethod(String prefix, IMethod method) throws JavaModelException {
-        IType type = method.getDeclaringType();
+    private Set<String> getFieldNames(IType type) throws JavaModelException {
+        Set<String> fieldNames = new HashSet<String>();
         for (IField field : type.getFields()) { // for ever field of IType:
-            if (method.getElementName().equalsIgnoreCase(prefix + field.getElementName())) {
-                return true; // is access method if name scheme fits for one field
-            }
+            fieldNames.add(toLowerCase(field.getElementName()));
         }
-        return false; // is not an access method if no field fits
+        return fieldNames;
     }
 
     /**
      * Checks whether a {@link IMethod} is an accessor method.
      */
-    private boolean isAccessor(IMethod method) throws JavaModelException {
-        if (isAccessMethod("get", method) || isAccessMethod("is", method)) { // if name fits
+    private boolean isAccessor(IMethod method, Set<String> fieldNames) throws JavaModelException {
+        String name = method.getElementName();
+        if (isAccessMethod("get", name, fieldNames) || isAccessMethod("is", name, fieldNames)) { // if name fits
             return method.getNumberOfParameters() == 0 && !isVoid(method.getReturnType());
         }
         return false;
@@ -131,10 +173,10 @@ public class JavaMemberExtractor {
     /**
      * Checks whether a {@link IMethod} is a mutator method.
      */
-    private boolean isMutator(IMethod method) throws JavaModelException {
-        if (isAccessMethod("set", method)) { // if name fits
+    private boolean isMutator(IMethod method, Set<String> fieldNames) throws JavaModelException {
+        if (isAccessMethod("set", method.getElementName(), fieldNames)) { // if name fits
             return method.getNumberOfParameters() == 1 && isVoid(method.getReturnType());
         }
         return false;
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,30 @@
 package eme.extractor;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
@@ -14,21 +32,58 @@ import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 
+import eme.metrics.Counter;
+import eme.metrics.ExtractionMetrics;
+import eme.metrics.Phase;
+import eme.model.ExtractedClass;
 import eme.model.ExtractedPackage;
+import eme.model.ExtractedType;
 import eme.model.IntermediateModel;
+import eme.model.datatypes.DataTypePool;
+import eme.properties.BinaryProperty;
+import eme.properties.ExtractionProperties;
+import eme.properties.TextProperty;
 
 /**
  * The class analyzes java projects and builds intermediate models with the help of the {@link JavaTypeExtractor},
- * {@link JavaMemberExtractor} and {@link DataTypeExtractor}.
+ * {@link JavaMemberExtractor} and {@link DataTypeExtractor}. If the incremental extraction is enabled, the extractor
+ * retains the last model and uses a {@link ChangeTracker} to only update the types of changed compilation units when
+ * the same project is extracted again. If the model cache is enabled, the types of unchanged compilation units are
+ * loaded from the {@link ModelCache} instead of being extracted. The types are either extracted from the Java model or,
+ * if the AST backend is selected, from the DOM/AST with the {@link ASTTypeExtractor}. The extraction reports its
+ * progress to an {@link IProgressMonitor} and stops with an {@link OperationCanceledException} if the monitor is
+ * canceled, which discards the retained model. The phases and counters of every extraction are recorded in the
+ * {@link ExtractionMetrics}.
  * @author Timur Saglam
  */
 public class JavaProjectExtractor {
+    private static final String AST_BACKEND = "AST";
     private static final Logger logger = LogManager.getLogger(JavaProjectExtractor.class.getName());
+    private ChangeTracker changeTracker;
     private IntermediateModel currentModel;
     private ExtractedPackage currentPackage;
     private DataTypeExtractor dataTypeExtractor;
+    private DataTypePool dataTypePool; // shared by all data type extractors of the model
+    private ExternalTypeCache externalTypeCache; // shared with other extractions, might be null
+    private ExtractionFilter filter;
+    private ExtractionMetrics metrics;
+    private ModelCache modelCache;
     private int packageCounter;
+    private final ExtractionProperties properties;
+    private Set<String> referencedTypes; // potential external types of the retained model
+    private String retainedSettings; // properties the retained model was extracted with
+    private ThrowableHierarchy throwables;
     private JavaTypeExtractor typeExtractor;
+    private Map<ICompilationUnit, List<String>> unitTypes; // type names of the compilation units
+
+    /**
+     * Basic constructor.
+     * @param properties is the {@link ExtractionProperties} instance of the extraction.
+     */
+    public JavaProjectExtractor(ExtractionProperties properties) {
+        this.properties = properties;
+        metrics = new ExtractionMetrics();
+    }
 
     /**
      * Analyzes a {@link IJavaProject} and builds an {@link IntermediateModel}.
@@ -36,15 +91,94 @@ public class JavaProjectExtractor {
      * @return an intermediate model that was extracted from the project.
      */
     public IntermediateModel buildIntermediateModel(IJavaProject project) {
+        return buildIntermediateModel(project, new NullProgressMonitor());
+    }
+
+    /**
+     * Analyzes a {@link IJavaProject} and builds an {@link IntermediateModel} while reporting the progress of the
+     * packages, the compilation units and the external types.
+     * @param project is the {@link IJavaProject} to analyze.
+     * @param monitor is the {@link IProgressMonitor} which receives the progress and which can cancel the extraction.
+     * @return an intermediate model that was extracted from the project.
+     * @throws OperationCanceledException if the monitor was canceled.
+     */
+    public IntermediateModel buildIntermediateModel(IJavaProject project, IProgressMonitor monitor) {
+        SubMonitor progress = SubMonitor.convert(monitor, 10);
+        if (isUpdatable(project)) {
+            return updateIntermediateModel(progress); // only extract changes
+        }
         setup(project);
         try {
-            extractPackages(project); // extract from project
-            typeExtractor.extractExternalTypes(dataTypeExtractor.getDataTypes()); // extract potential external
+            extractPackages(project, progress.split(8)); // extract from project
+            referencedTypes = dataTypeExtractor.getDataTypes();
+            metrics.startPhase(Phase.EXTERNAL_TYPE_RESOLUTION);
+            typeExtractor.extractExternalTypes(referencedTypes, isShallow(), externalTypeCache, progress.split(2)); // external types
+            metrics.stopPhase(Phase.EXTERNAL_TYPE_RESOLUTION);
+            logger.info("Type name resolution cache: " + dataTypeExtractor.getCacheHits() + " hits, "
+                    + dataTypeExtractor.getCacheMisses() + " misses");
+            logger.info("Data type pool: " + dataTypePool.getHits() + " of " + dataTypePool.getRequests()
+                    + " data types shared, " + dataTypePool.size() + " distinct");
         } catch (JavaModelException exception) {
             throw new ExtractionException("Error while extracting the model.", exception);
+        } catch (OperationCanceledException exception) {
+            dispose(); // incomplete model must not be updated incrementally
+            throw exception;
+        }
+        return completeModel();
+    }
+
+    /**
+     * Stops tracking changes for the incremental extraction and releases the retained model.
+     */
+    public void dispose() {
+        if (changeTracker != null) {
+            changeTracker.dispose();
+            changeTracker = null;
+        }
+        currentModel = null;
+    }
+
+    /**
+     * Sets the {@link ExtractionMetrics} which record the phases and counters of the following extractions.
+     * @param metrics are the {@link ExtractionMetrics}.
+     */
+    public void setMetrics(ExtractionMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sets an {@link ExternalTypeCache} that is shared with the extractions of other projects. The cache has to be used
+     * only by extractions with the same properties.
+     * @param cache is the shared {@link ExternalTypeCache}, or null to extract all external types.
+     */
+    public void setExternalTypeCache(ExternalTypeCache cache) {
+        externalTypeCache = cache;
+    }
+
+    /**
+     * Adds the extracted types of compilation units to the current package and remembers the type names of every unit.
+     */
+    private void addTypes(Map<ICompilationUnit, List<ExtractedType>> extractedUnits) {
+        for (Entry<ICompilationUnit, List<ExtractedType>> entry : extractedUnits.entrySet()) {
+            List<String> typeNames = new LinkedList<String>();
+            for (ExtractedType type : entry.getValue()) {
+                currentModel.addTo(type, currentPackage);
+                typeNames.add(type.getFullName());
+            }
+            unitTypes.put(entry.getKey(), typeNames);
         }
+    }
+
+    /**
+     * Saves the cache, sorts the current model and records its counters in the {@link ExtractionMetrics}.
+     */
+    private IntermediateModel completeModel() {
+        saveCache();
+        metrics.startPhase(Phase.SORT);
         currentModel.sort(); // sort model content
+        metrics.stopPhase(Phase.SORT);
         currentModel.print(); // print intermediate model.
+        recordCounters();
         return currentModel;
     }
 
@@ -52,16 +186,91 @@ public class JavaProjectExtractor {
      * Extracts all compilation units from a list of package fragments. It then extracts all ICompilationUnits while
      * updating the current package.
      */
-    private void extractCompilationUnits(List<IPackageFragment> fragments) throws JavaModelException {
+    private void extractCompilationUnits(List<IPackageFragment> fragments, SubMonitor progress) throws JavaModelException {
         for (IPackageFragment fragment : fragments) { // for every package fragment
             currentPackage = currentModel.getPackage(fragment.getElementName()); // model package
-            reportProgress(fragments.size());
-            for (ICompilationUnit unit : fragment.getCompilationUnits()) { // get compilation units
-                for (IType type : unit.getAllTypes()) { // for all types
-                    currentModel.addTo(typeExtractor.extractType(type), currentPackage);
-                }
+            reportProgress(fragments.size(), progress);
+            addTypes(extractFragment(fragment, typeExtractor, dataTypeExtractor));
+        }
+    }
+
+    /**
+     * Extracts all compilation units from a list of package fragments in parallel. Every fragment is extracted by its
+     * own {@link FragmentExtraction} task on a {@link ForkJoinPool}, whose parallelism is set in the properties. The
+     * results are merged into the model in the order of the fragments while the remaining tasks are running, which
+     * means the resulting model is identical to the model of the sequential extraction. If the extraction is canceled,
+     * the tasks that did not start yet are discarded.
+     */
+    private void extractCompilationUnitsInParallel(List<IPackageFragment> fragments, SubMonitor progress) throws JavaModelException {
+        List<FragmentExtraction> tasks = new LinkedList<FragmentExtraction>();
+        for (IPackageFragment fragment : fragments) { // one task per fragment
+            tasks.add(new FragmentExtraction(fragment));
+        }
+        ForkJoinPool pool = new ForkJoinPool(Integer.parseInt(properties.get(TextProperty.EXTRACTION_PARALLELISM)));
+        try {
+            List<Future<Map<ICompilationUnit, List<ExtractedType>>>> results;
+            results = new LinkedList<Future<Map<ICompilationUnit, List<ExtractedType>>>>();
+            for (FragmentExtraction task : tasks) {
+                results.add(pool.submit(task));
+            }
+            Iterator<FragmentExtraction> taskIterator = tasks.iterator();
+            for (Future<Map<ICompilationUnit, List<ExtractedType>>> result : results) { // in order
+                FragmentExtraction task = taskIterator.next();
+                currentPackage = currentModel.getPackage(task.fragment.getElementName()); // model package
+                reportProgress(fragments.size(), progress);
+                addTypes(result.get());
+                dataTypeExtractor.merge(task.dataTypeExtractor); // collect potential external types
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ExtractionException("Parallel extraction was interrupted.", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof JavaModelException) {
+                throw (JavaModelException) exception.getCause();
+            }
+            throw new ExtractionException("Error while extracting the model in parallel.", exception.getCause());
+        } finally {
+            pool.shutdownNow(); // discards remaining tasks if canceled
+        }
+    }
+
+    /**
+     * Extracts all compilation units from a list of package fragments with the {@link ASTTypeExtractor}, which parses
+     * the units of all fragments in batches. The results are added to the model in the order of the fragments.
+     */
+    private void extractCompilationUnitsWithAST(IJavaProject project, List<IPackageFragment> fragments, SubMonitor progress)
+            throws JavaModelException {
+        List<ICompilationUnit> units = new LinkedList<ICompilationUnit>();
+        for (IPackageFragment fragment : fragments) {
+            Collections.addAll(units, fragment.getCompilationUnits());
+        }
+        progress.setWorkRemaining(units.size() + fragments.size()); // parsing the units, then adding the packages
+        boolean detectThrowables = !properties.get(BinaryProperty.THROWABLES); // irrelevant if extracted
+        ASTTypeExtractor extractor = new ASTTypeExtractor(project, typeExtractor, dataTypeExtractor, detectThrowables, filter, modelCache);
+        Map<ICompilationUnit, List<ExtractedType>> extractedUnits = extractor.extractUnits(units, progress.split(units.size()));
+        for (IPackageFragment fragment : fragments) { // for every package fragment
+            currentPackage = currentModel.getPackage(fragment.getElementName()); // model package
+            reportProgress(fragments.size(), progress);
+            Map<ICompilationUnit, List<ExtractedType>> fragmentUnits = new LinkedHashMap<ICompilationUnit, List<ExtractedType>>();
+            for (ICompilationUnit unit : fragment.getCompilationUnits()) {
+                fragmentUnits.put(unit, extractedUnits.get(unit));
             }
+            addTypes(fragmentUnits);
+        }
+    }
+
+    /**
+     * Extracts all types of all compilation units of an {@link IPackageFragment} with a specific
+     * {@link JavaTypeExtractor} and its {@link DataTypeExtractor}. Returns the extracted types of every compilation unit
+     * in the order of the units.
+     */
+    private Map<ICompilationUnit, List<ExtractedType>> extractFragment(IPackageFragment fragment, JavaTypeExtractor extractor,
+            DataTypeExtractor dataTypes) throws JavaModelException {
+        Map<ICompilationUnit, List<ExtractedType>> units = new LinkedHashMap<ICompilationUnit, List<ExtractedType>>();
+        for (ICompilationUnit unit : fragment.getCompilationUnits()) { // get compilation units
+            units.put(unit, extractUnit(unit, extractor, dataTypes));
         }
+        return units;
     }
 
     /**
@@ -69,7 +278,8 @@ public class JavaProjectExtractor {
      * parsing the {@link IPackageFragment}s. The method creates the packages from a set of package names to avoid the
      * problem of duplicate default packages. But all other parsing calls are done with a list of fragments.
      */
-    private void extractPackages(IJavaProject project) throws JavaModelException {
+    private void extractPackages(IJavaProject project, SubMonitor progress) throws JavaModelException {
+        metrics.startPhase(Phase.PACKAGE_DISCOVERY);
         SortedSet<String> packageNames = new TreeSet<String>(); // set to avoid duplicates
         List<IPackageFragment> fragments = new LinkedList<IPackageFragment>();
         for (IPackageFragment fragment : project.getPackageFragments()) {
@@ -81,7 +291,104 @@ public class JavaProjectExtractor {
         for (String name : packageNames) {
             currentModel.add(new ExtractedPackage(name)); // build model packages first
         }
-        extractCompilationUnits(fragments); // then continue parsing
+        progress.setWorkRemaining(fragments.size()); // one unit of work per fragment
+        if (properties.get(BinaryProperty.MODEL_CACHE)) {
+            int capacity = Integer.parseInt(properties.get(TextProperty.MODEL_CACHE_SIZE));
+            modelCache = new ModelCache(project, capacity, throwables);
+            modelCache.load(fragments, properties.toString()); // all settings, any of them might influence the extraction
+        }
+        metrics.stopPhase(Phase.PACKAGE_DISCOVERY);
+        metrics.startPhase(Phase.TYPE_EXTRACTION);
+        if (AST_BACKEND.equals(properties.get(TextProperty.EXTRACTION_BACKEND))) { // then continue parsing
+            extractCompilationUnitsWithAST(project, fragments, progress);
+        } else if (properties.get(BinaryProperty.PARALLEL_EXTRACTION)) {
+            extractCompilationUnitsInParallel(fragments, progress);
+        } else {
+            extractCompilationUnits(fragments, progress);
+        }
+        metrics.stopPhase(Phase.TYPE_EXTRACTION);
+    }
+
+    /**
+     * Extracts all types of a {@link ICompilationUnit} with a specific {@link JavaTypeExtractor} and its
+     * {@link DataTypeExtractor}. If the unit is cached, the cached types are used instead.
+     */
+    private List<ExtractedType> extractUnit(ICompilationUnit unit, JavaTypeExtractor extractor, DataTypeExtractor dataTypes)
+            throws JavaModelException {
+        if (modelCache != null) {
+            ModelCache.Entry entry = modelCache.get(unit);
+            if (entry != null) { // unit did not change
+                dataTypes.addDataTypes(entry.getDataTypes());
+                return entry.getTypes();
+            }
+            dataTypes.startRecording(); // record referenced types for the cache
+        }
+        List<ExtractedType> types = new LinkedList<ExtractedType>();
+        for (IType type : unit.getAllTypes()) { // for all types
+            types.add(extractor.extractType(type));
+        }
+        if (modelCache != null) {
+            modelCache.put(unit, types, dataTypes.stopRecording());
+        }
+        return types;
+    }
+
+    /**
+     * Finds the {@link ICompilationUnit}s of all known subclasses of a set of types, which are the direct and indirect
+     * subclasses in the current model.
+     */
+    private Set<ICompilationUnit> findSubclassUnits(Set<String> typeNames) {
+        Map<String, List<String>> subclasses = new HashMap<String, List<String>>(); // super class to direct subclasses
+        Map<String, ICompilationUnit> typeUnits = new HashMap<String, ICompilationUnit>();
+        for (ICompilationUnit unit : unitTypes.keySet()) {
+            for (Entry<String, String> entry : getSuperclasses(unit).entrySet()) {
+                typeUnits.put(entry.getKey(), unit);
+                if (!subclasses.containsKey(entry.getValue())) {
+                    subclasses.put(entry.getValue(), new LinkedList<String>());
+                }
+                subclasses.get(entry.getValue()).add(entry.getKey());
+            }
+        }
+        Set<ICompilationUnit> units = new LinkedHashSet<ICompilationUnit>();
+        Set<String> visited = new HashSet<String>(typeNames);
+        LinkedList<String> queue = new LinkedList<String>(typeNames);
+        while (!queue.isEmpty()) { // breadth-first search through the subclasses
+            List<String> directSubclasses = subclasses.get(queue.removeFirst());
+            if (directSubclasses != null) {
+                for (String subclass : directSubclasses) {
+                    if (visited.add(subclass)) {
+                        queue.add(subclass);
+                        units.add(typeUnits.get(subclass));
+                    }
+                }
+            }
+        }
+        return units;
+    }
+
+    /**
+     * Returns the super class names of the classes of an {@link ICompilationUnit} in the current model, mapped by the
+     * class names. Classes without super class are not contained.
+     */
+    private Map<String, String> getSuperclasses(ICompilationUnit unit) {
+        Map<String, String> superclasses = new HashMap<String, String>();
+        List<String> typeNames = unitTypes.get(unit);
+        if (typeNames != null) { // if unit was extracted before
+            for (String typeName : typeNames) {
+                ExtractedType type = currentModel.getType(typeName);
+                if (type instanceof ExtractedClass && ((ExtractedClass) type).getSuperClass() != null) {
+                    superclasses.put(typeName, ((ExtractedClass) type).getSuperClass().getFullType());
+                }
+            }
+        }
+        return superclasses;
+    }
+
+    /**
+     * Checks whether only the information of the external types is extracted which the generator needs.
+     */
+    private boolean isShallow() {
+        return properties.get(BinaryProperty.SHALLOW_EXTERNAL_TYPES);
     }
 
     /**
@@ -92,21 +399,209 @@ public class JavaProjectExtractor {
     }
 
     /**
-     * Reports on the parsing progress by logging the current package.
+     * Checks whether the retained model of a {@link IJavaProject} can be updated incrementally instead of being
+     * extracted from scratch. This requires that the properties did not change since the retained model was extracted.
+     */
+    private boolean isUpdatable(IJavaProject project) {
+        if (properties.get(BinaryProperty.INCREMENTAL_EXTRACTION) && changeTracker != null && currentModel != null) {
+            if (!properties.toString().equals(retainedSettings)) {
+                logger.info("Properties changed since the last extraction, extracting from scratch.");
+                return false; // e.g. different filters, the retained model does not match
+            }
+            return project.equals(changeTracker.getProject()) && !changeTracker.hasStructuralChange();
+        }
+        return false; // no retained model or no incremental extraction
+    }
+
+    /**
+     * Records the counters of the current model, the JDT calls and the caches in the {@link ExtractionMetrics}.
+     */
+    private void recordCounters() {
+        metrics.count(currentModel);
+        metrics.add(Counter.RESOLVE_TYPE_CALLS, dataTypeExtractor.getCacheMisses()); // every miss is resolved
+        metrics.add(Counter.FIND_TYPE_CALLS, dataTypeExtractor.getFindTypeCalls() + typeExtractor.getFindTypeCalls());
+        metrics.add(Counter.TYPE_NAME_CACHE_HITS, dataTypeExtractor.getCacheHits());
+        metrics.add(Counter.TYPE_NAME_CACHE_MISSES, dataTypeExtractor.getCacheMisses());
+        metrics.add(Counter.EXTERNAL_TYPE_CACHE_HITS, typeExtractor.getExternalCacheHits());
+        metrics.add(Counter.EXTERNAL_TYPE_CACHE_MISSES, typeExtractor.getExternalCacheMisses());
+        metrics.add(Counter.DATA_TYPE_POOL_HITS, dataTypePool.getHits());
+        metrics.add(Counter.DATA_TYPE_POOL_MISSES, dataTypePool.getRequests() - dataTypePool.getHits());
+        if (modelCache != null) {
+            metrics.add(Counter.MODEL_CACHE_HITS, modelCache.getHits());
+            metrics.add(Counter.MODEL_CACHE_MISSES, modelCache.getMisses());
+        }
+    }
+
+    /**
+     * Removes the types of a changed {@link ICompilationUnit} from the current model.
      */
-    private void reportProgress(int packages) {
+    private void removeTypes(ICompilationUnit unit) {
+        List<String> typeNames = unitTypes.remove(unit);
+        if (typeNames != null) { // if unit was extracted before
+            for (String typeName : typeNames) {
+                currentModel.removeFrom(typeName, currentPackage);
+            }
+        }
+    }
+
+    /**
+     * Reports on the parsing progress by logging the current package and by showing it on the monitor. Checks whether
+     * the monitor was canceled.
+     */
+    private void reportProgress(int packages, SubMonitor progress) {
         packageCounter++; // increase package count
-        logger.info("Parsing package " + currentPackage.getFullName() + " (" + packageCounter + "/" + packages + ")");
+        String message = "Parsing package " + currentPackage.getFullName() + " (" + packageCounter + "/" + packages + ")";
+        logger.info(message);
         packageCounter = (packageCounter == packages) ? 0 : packageCounter; // reset to zero if finished
+        progress.subTask(message);
+        progress.split(1); // throws exception if canceled
+    }
+
+    /**
+     * Saves the {@link ModelCache} if it is used.
+     */
+    private void saveCache() {
+        if (modelCache != null) {
+            logger.info("Model cache: " + modelCache.getHits() + " hits, " + modelCache.getMisses() + " misses");
+            modelCache.save();
+        }
     }
 
     /**
      * Creates the {@link IntermediateModel} instance and the other extractors.
      */
     private void setup(IJavaProject project) {
+        dispose(); // stop tracking the changes of the previous extraction
+        if (properties.get(BinaryProperty.INCREMENTAL_EXTRACTION)) {
+            changeTracker = new ChangeTracker(project); // track changes that happen from now on
+        }
         currentModel = new IntermediateModel(project.getElementName()); // create new model.
-        dataTypeExtractor = new DataTypeExtractor();
-        typeExtractor = new JavaTypeExtractor(currentModel, project, dataTypeExtractor);
+        retainedSettings = properties.toString(); // fingerprint for the next incremental extraction
+        modelCache = null; // created after the packages are known
+        packageCounter = 0; // might be left over by a canceled extraction
+        dataTypePool = new DataTypePool();
+        filter = new ExtractionFilter(properties); // skips members that are not generated
+        unitTypes = new HashMap<ICompilationUnit, List<String>>();
+        throwables = new ThrowableHierarchy(project, !properties.get(BinaryProperty.THROWABLES)); // irrelevant if extracted
+        setupExtractors(project);
         logger.info("Started parsing the project...");
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates the {@link DataTypeExtractor} and the {@link JavaTypeExtractor}, which uses the {@link ThrowableHierarchy}
+     * of the project.
+     */
+    private void setupExtractors(IJavaProject project) {
+        dataTypeExtractor = new DataTypeExtractor(dataTypePool);
+        typeExtractor = new JavaTypeExtractor(currentModel, project, dataTypeExtractor, throwables, filter);
+    }
+
+    /**
+     * Updates the retained {@link IntermediateModel} by extracting the changed {@link ICompilationUnit}s again. The
+     * types of the changed units are replaced and the external types they reference are resolved. The
+     * {@link ThrowableHierarchy} is kept, unless the super class of a changed type changed. Then it is refreshed and the
+     * known subclasses of the changed types are extracted again, because their throwable flags might have changed.
+     */
+    private IntermediateModel updateIntermediateModel(SubMonitor progress) {
+        Set<ICompilationUnit> units = changeTracker.pollChangedUnits();
+        logger.info("Started updating the model with " + units.size() + " changed compilation units...");
+        progress.setWorkRemaining(units.size() + 1); // the changed units, then the external types
+        setupExtractors(changeTracker.getProject()); // new caches, the code changed
+        Set<String> addedTypes = new HashSet<String>();
+        try {
+            metrics.startPhase(Phase.TYPE_EXTRACTION);
+            Set<String> changedTypes = updateUnits(units, addedTypes, progress);
+            if (!changedTypes.isEmpty() && throwables.isEnabled()) { // throwable flags might be outdated
+                throwables.refresh();
+                Set<ICompilationUnit> affectedUnits = findSubclassUnits(changedTypes);
+                affectedUnits.addAll(units); // were extracted with the outdated hierarchy
+                logger.info("Super classes changed, updating " + affectedUnits.size() + " affected compilation units...");
+                progress.setWorkRemaining(affectedUnits.size() + 1);
+                if (modelCache != null) {
+                    for (ICompilationUnit unit : affectedUnits) {
+                        modelCache.remove(unit); // cached types have outdated throwable flags
+                    }
+                }
+                updateUnits(affectedUnits, addedTypes, progress);
+            }
+            metrics.stopPhase(Phase.TYPE_EXTRACTION);
+            Set<String> dataTypes = dataTypeExtractor.getDataTypes(); // referenced by the changed units
+            referencedTypes.addAll(dataTypes);
+            for (String typeName : addedTypes) {
+                if (referencedTypes.contains(typeName)) { // referenced by any unit, might be pseudo external
+                    dataTypes.add(typeName);
+                }
+            }
+            metrics.startPhase(Phase.EXTERNAL_TYPE_RESOLUTION);
+            typeExtractor.extractExternalTypes(dataTypes, isShallow(), externalTypeCache, progress.split(1)); // new external types
+            metrics.stopPhase(Phase.EXTERNAL_TYPE_RESOLUTION);
+        } catch (JavaModelException exception) {
+            dispose(); // retained model is inconsistent, next extraction has to start from scratch
+            throw new ExtractionException("Error while updating the model.", exception);
+        } catch (OperationCanceledException exception) {
+            dispose(); // changed units were already polled, next extraction has to start from scratch
+            throw exception;
+        }
+        return completeModel();
+    }
+
+    /**
+     * Replaces the types of {@link ICompilationUnit}s in the current model by extracting the units again. Returns the
+     * names of the types whose super class changed, which includes added and removed types with a super class.
+     */
+    private Set<String> updateUnits(Set<ICompilationUnit> units, Set<String> addedTypes, SubMonitor progress)
+            throws JavaModelException {
+        Set<String> changedTypes = new HashSet<String>();
+        for (ICompilationUnit unit : units) {
+            progress.subTask("Updating " + unit.getElementName());
+            progress.split(1); // throws exception if canceled
+            currentPackage = currentModel.getPackage(unit.getParent().getElementName()); // model package
+            Map<String, String> oldSuperclasses = getSuperclasses(unit);
+            removeTypes(unit);
+            Map<String, String> newSuperclasses = Collections.emptyMap();
+            if (unit.exists()) { // was not deleted
+                List<ExtractedType> types = extractUnit(unit, typeExtractor, dataTypeExtractor);
+                for (ExtractedType type : types) {
+                    currentModel.removeExternal(type.getFullName()); // might have been external before
+                    addedTypes.add(type.getFullName());
+                }
+                addTypes(Collections.singletonMap(unit, types));
+                newSuperclasses = getSuperclasses(unit);
+            }
+            Set<String> typeNames = new HashSet<String>(oldSuperclasses.keySet());
+            typeNames.addAll(newSuperclasses.keySet());
+            for (String typeName : typeNames) { // a missing entry means there is no super class
+                if (!Objects.equals(oldSuperclasses.get(typeName), newSuperclasses.get(typeName))) {
+                    changedTypes.add(typeName);
+                }
+            }
+        }
+        return changedTypes;
+    }
+
+    /**
+     * Task for the parallel extraction of a single {@link IPackageFragment}. Every task uses its own
+     * {@link JavaTypeExtractor} and {@link DataTypeExtractor}, which means the tasks do not share any state except the
+     * {@link ThrowableHierarchy}. The intermediate model is not accessed by the tasks.
+     */
+    private class FragmentExtraction implements Callable<Map<ICompilationUnit, List<ExtractedType>>> {
+        private final DataTypeExtractor dataTypeExtractor;
+        private final IPackageFragment fragment;
+        private final JavaTypeExtractor typeExtractor;
+
+        /**
+         * Basic constructor, creates the extractors of the task.
+         * @param fragment is the {@link IPackageFragment} to extract.
+         */
+        FragmentExtraction(IPackageFragment fragment) {
+            this.fragment = fragment;
+            dataTypeExtractor = new DataTypeExtractor(dataTypePool);
+            typeExtractor = new JavaTypeExtractor(currentModel, fragment.getJavaProject(), dataTypeExtractor, throwables, filter);
+        }
+
+        @Override
+        public Map<ICompilationUnit, List<ExtractedType>> call() throws JavaModelException {
+            return extractFragment(fragment, typeExtractor, dataTypeExtractor);
+        }
+    }
+}
@@ -8,11 +8,12 @@ import java.util.Set;
 
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
-import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.JavaModelException;
 
 import eme.model.ExtractedClass;
@@ -30,44 +31,89 @@ import eme.model.IntermediateModel;
 public class JavaTypeExtractor {
     private static final Logger logger = LogManager.getLogger(JavaTypeExtractor.class.getName());
     private final DataTypeExtractor dataTypeExtractor;
+    private long externalCacheHits;
+    private long externalCacheMisses;
+    private final ExtractionFilter filter;
+    private long findTypeCalls;
     private final JavaMemberExtractor memberExtractor;
     private final IntermediateModel model;
     private final IJavaProject project;
+    private final ThrowableHierarchy throwables;
 
     /**
      * Basic constructor.
      * @param model sets the intermediate model.
      * @param project sets the current project, which is extracted.
      * @param dataTypeExtractor sets the DataTypeParser.
+     * @param throwables is the {@link ThrowableHierarchy} of the project, which is used to detect throwables.
+     * @param filter is the {@link ExtractionFilter} which decides which members are extracted.
      */
-    public JavaTypeExtractor(IntermediateModel model, IJavaProject project, DataTypeExtractor dataTypeExtractor) {
+    public JavaTypeExtractor(IntermediateModel model, IJavaProject project, DataTypeExtractor dataTypeExtractor, ThrowableHierarchy throwables,
+            ExtractionFilter filter) {
         this.dataTypeExtractor = dataTypeExtractor;
         this.model = model;
         this.project = project;
-        memberExtractor = new JavaMemberExtractor(dataTypeExtractor);
+        this.throwables = throwables;
+        this.filter = filter;
+        memberExtractor = new JavaMemberExtractor(dataTypeExtractor, filter);
     }
 
     /**
      * Parses a list of potential external types. If the model is a external type, and an IType can be found, it will be
      * added as an external ExtractedType to the model. An external type is either not part of the intermediate model or
      * it is part of the intermediate model and is a inner type, which means he can be treated as a external type in the
-     * case that external types are not supposed to be extracted.
+     * case that external types are not supposed to be extracted. External types that are already part of the model are
+     * not extracted again. External types of archives are taken from the {@link ExternalTypeCache} if there is one.
      * @param externalTypes is the set of external types to extract.
+     * @param shallow determines whether only the name, the kind, the outer type and the type parameters of the external
+     * types are extracted, which is all the information the generator uses of external types.
+     * @param cache is the {@link ExternalTypeCache} shared with other extractions, or null if there is none.
+     * @param monitor is the {@link IProgressMonitor} which receives one unit of work per potential external type.
      * @throws JavaModelException if there are problem with the JDT API.
+     * @throws OperationCanceledException if the monitor was canceled.
      */
-    public void extractExternalTypes(Set<String> externalTypes) throws JavaModelException {
+    public void extractExternalTypes(Set<String> externalTypes, boolean shallow, ExternalTypeCache cache, IProgressMonitor monitor)
+            throws JavaModelException {
         logger.info("Parsing external types...");
+        SubMonitor progress = SubMonitor.convert(monitor, externalTypes.size());
+        progress.subTask("Resolving external types");
         for (String typeName : externalTypes) { // for every potential external type
+            progress.split(1); // checks for cancellation
             if (model.contains(typeName)) { // if is a true external type
                 extractPseudoExternal(typeName);
-            } else {
-                extractExternal(typeName);
+            } else if (!model.containsExternal(typeName)) { // if not already extracted
+                extractExternal(typeName, shallow, cache);
             }
         }
     }
 
     /**
-     * Parses {@link IType}. Detects whether the type is a (abstract) class, an interface or an enumeration.
+     * Accessor for the number of external types that were taken from the {@link ExternalTypeCache} by this extractor.
+     * @return the number of cache hits.
+     */
+    public long getExternalCacheHits() {
+        return externalCacheHits;
+    }
+
+    /**
+     * Accessor for the number of external types that were extracted although an {@link ExternalTypeCache} was used.
+     * @return the number of cache misses.
+     */
+    public long getExternalCacheMisses() {
+        return externalCacheMisses;
+    }
+
+    /**
+     * Accessor for the number of external type lookups in the project.
+     * @return the number of calls of {@link IJavaProject#findType(String)}.
+     */
+    public long getFindTypeCalls() {
+        return findTypeCalls;
+    }
+
+    /**
+     * Parses {@link IType}. Detects whether the type is a (abstract) class, an interface or an enumeration. The members
+     * of the type are only extracted if the {@link ExtractionFilter} allows it.
      * @param type is the {@link IType} to extract.
      * @return the extracted type.
      * @throws JavaModelException if there are problem with the JDT API.
@@ -83,32 +129,21 @@ public class JavaTypeExtractor {
         }
         extractOuterType(type, extractedType); // extract outer type name
         extractedType.setTypeParameters(dataTypeExtractor.extractTypeParameters(type.getTypeParameters(), type));
-        memberExtractor.extractFields(type, extractedType); // extract attribute
-        memberExtractor.extractMethods(type, extractedType); // extract methods
+        if (filter.allowsMembers(extractedType)) { // type might not be generated
+            memberExtractor.extractFields(type, extractedType); // extract attribute
+            memberExtractor.extractMethods(type, extractedType); // extract methods
+        }
         for (String signature : type.getSuperInterfaceTypeSignatures()) {
             extractedType.addInterface(dataTypeExtractor.extractDataType(signature, type)); // add interface
         }
         return extractedType;
     }
 
-    /**
-     * Checks whether an {@link IType} inherits from the class {@link java.lang.Throwable}
-     */
-    private boolean extendsThrowable(IType type) throws JavaModelException {
-        ITypeHierarchy hierarchy = type.newSupertypeHierarchy(new NullProgressMonitor()); // get super type hierarchy
-        for (IType superType : hierarchy.getAllSuperclasses(type)) { // for every super type
-            if (Throwable.class.getName().equals(superType.getFullyQualifiedName())) { // if is called throwable
-                return true; // is true
-            }
-        }
-        return false; // is false
-    }
-
     /**
      * Parses an {@link IType} that has been identified as class.
      */
     private ExtractedClass extractClass(IType type) throws JavaModelException {
-        boolean throwable = extendsThrowable(type);
+        boolean throwable = throwables.isThrowable(type);
         ExtractedClass newClass = new ExtractedClass(getName(type), isAbstract(type), throwable);
         String signature = type.getSuperclassTypeSignature();
         if (signature != null) { // get full super type:
@@ -131,12 +166,23 @@ public class JavaTypeExtractor {
     }
 
     /**
-     * Extracts a external type if it can be found with {@link IJavaProject#findType(String)}.
+     * Extracts a external type if it can be found with {@link IJavaProject#findType(String)}. Uses the cached type if
+     * there is one.
      */
-    private void extractExternal(String typeName) throws JavaModelException {
+    private void extractExternal(String typeName, boolean shallow, ExternalTypeCache cache) throws JavaModelException {
+        findTypeCalls++;
         IType type = project.findType(typeName); // try to find IType
         if (type != null) { // if IType was found:
-            ExtractedType extractedType = extractType(type);
+            ExtractedType extractedType = cache == null ? null : cache.get(type, shallow);
+            if (extractedType == null) { // not cached
+                extractedType = shallow ? extractShallowType(type) : extractType(type);
+                if (cache != null) {
+                    externalCacheMisses++;
+                    extractedType = cache.put(type, shallow, extractedType);
+                }
+            } else {
+                externalCacheHits++;
+            }
             logger.info("Resolved external " + extractedType);
             model.addExternal(extractedType);  // add to model.
         }
@@ -171,4 +217,21 @@ public class JavaTypeExtractor {
             logger.info("Resolved pseudo external " + type);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Parses an {@link IType} without its members, super types and throwable information.
+     */
+    private ExtractedType extractShallowType(IType type) throws JavaModelException {
+        ExtractedType extractedType;
+        if (type.isEnum()) {
+            extractedType = new ExtractedEnum(getName(type)); // without enumerals
+        } else if (type.isClass()) {
+            extractedType = new ExtractedClass(getName(type), isAbstract(type), false); // no throwable detection
+        } else {
+            extractedType = extractInterface(type);
+        }
+        extractOuterType(type, extractedType); // extract outer type name
+        extractedType.setTypeParameters(dataTypeExtractor.extractTypeParameters(type.getTypeParameters(), type));
+        return extractedType;
+    }
+}
@@ -0,0 +1,304 @@
+package eme.extractor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.JavaModelException;
+
+import eme.model.ExtractedClass;
+import eme.model.ExtractedType;
+
+/**
+ * Persistent cache for the extracted types of compilation units. The entries are keyed by the handle identifier of the
+ * {@link ICompilationUnit} and are only valid as long as the modification stamp of the underlying resource does not
+ * change. Because the throwable flags of the cached classes depend on their super classes in other compilation units,
+ * they are checked against the {@link ThrowableHierarchy} of the project when an entry is used. The cache is stored as
+ * compressed binary file in the working location of the project. The whole cache is discarded if its format version or
+ * the fingerprint of the project (class path, compilation units and all extraction properties) changed. If the cache
+ * exceeds its capacity, the least recently used entries are evicted.
+ * @author Timur Saglam
+ */
+public class ModelCache {
+    private static final String FILE_NAME = "model.cache";
+    private static final Logger logger = LogManager.getLogger(ModelCache.class.getName());
+    private static final String PLUGIN_ID = "EcoreMetamodelExtraction";
+    private static final int VERSION = 2; // increase when the model classes change
+    private final int capacity;
+    private boolean changed;
+    private Map<String, Entry> entries;
+    private final File file;
+    private String fingerprint;
+    private long hits;
+    private long misses;
+    private final IJavaProject project;
+    private final ThrowableHierarchy throwables;
+
+    /**
+     * Basic constructor, does not load the cache.
+     * @param project is the {@link IJavaProject} whose extracted types are cached.
+     * @param capacity is the maximal number of cached compilation units.
+     * @param throwables is the {@link ThrowableHierarchy} of the project, which validates the cached throwable flags.
+     */
+    public ModelCache(IJavaProject project, int capacity, ThrowableHierarchy throwables) {
+        this.project = project;
+        this.capacity = capacity;
+        this.throwables = throwables;
+        file = project.getProject().getWorkingLocation(PLUGIN_ID).append(FILE_NAME).toFile();
+        entries = createEntries();
+    }
+
+    /**
+     * Returns the cached types of a {@link ICompilationUnit} if the unit was not modified since it was cached and if the
+     * throwable flags of its classes are still valid.
+     * @param unit is the {@link ICompilationUnit}.
+     * @return the cache {@link Entry} or null if there is no valid entry.
+     * @throws JavaModelException if there are problem with the JDT API.
+     */
+    public synchronized Entry get(ICompilationUnit unit) throws JavaModelException {
+        Entry entry = entries.get(unit.getHandleIdentifier());
+        if (entry != null && entry.stamp == getStamp(unit) && hasValidThrowables(entry)) {
+            hits++;
+            return entry;
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Accessor for the number of compilation units that were loaded from the cache.
+     * @return the number of cache hits.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Accessor for the number of compilation units that were not cached or modified.
+     * @return the number of cache misses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Loads the cache file if it exists and matches the format version and the fingerprint of the project.
+     * @param fragments are the source {@link IPackageFragment}s of the project, which are part of the fingerprint.
+     * @param settings is a string representation of the settings that influence the extraction.
+     * @throws JavaModelException if there are problem with the JDT API.
+     */
+    public synchronized void load(List<IPackageFragment> fragments, String settings) throws JavaModelException {
+        fingerprint = createFingerprint(fragments, settings);
+        entries = createEntries();
+        if (file.exists()) {
+            try (ObjectInputStream input = new ObjectInputStream(
+                    new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))))) {
+                if (input.readInt() == VERSION && fingerprint.equals(input.readUTF())) {
+                    int size = input.readInt();
+                    for (int i = 0; i < size; i++) { // in order from least to most recently used
+                        entries.put(input.readUTF(), (Entry) input.readObject());
+                    }
+                    logger.info("Loaded model cache with " + entries.size() + " compilation units.");
+                } else {
+                    logger.info("Discarded outdated model cache.");
+                }
+            } catch (IOException exception) {
+                logger.warn("Could not load the model cache.", exception);
+                entries = createEntries(); // start empty
+            } catch (ClassNotFoundException exception) {
+                logger.warn("Could not load the model cache.", exception);
+                entries = createEntries(); // start empty
+            }
+        }
+        changed = false;
+    }
+
+    /**
+     * Caches the extracted types of a {@link ICompilationUnit}. Units with unsaved changes are not cached.
+     * @param unit is the {@link ICompilationUnit}.
+     * @param types are the {@link ExtractedType}s of the unit.
+     * @param dataTypes are the names of the potential external types referenced by the unit.
+     */
+    public synchronized void put(ICompilationUnit unit, List<ExtractedType> types, Set<String> dataTypes) {
+        long stamp = getStamp(unit);
+        if (stamp != IResource.NULL_STAMP) {
+            entries.put(unit.getHandleIdentifier(), new Entry(stamp, types, dataTypes));
+            changed = true;
+        }
+    }
+
+    /**
+     * Removes the entry of a {@link ICompilationUnit}, e.g. if its types depend on another unit that changed.
+     * @param unit is the {@link ICompilationUnit}.
+     */
+    public synchronized void remove(ICompilationUnit unit) {
+        if (entries.remove(unit.getHandleIdentifier()) != null) {
+            changed = true;
+        }
+    }
+
+    /**
+     * Saves the cache to its file if it changed since it was loaded.
+     */
+    public synchronized void save() {
+        if (changed) {
+            file.getParentFile().mkdirs();
+            try (ObjectOutputStream output = new ObjectOutputStream(
+                    new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file))))) {
+                output.writeInt(VERSION);
+                output.writeUTF(fingerprint);
+                output.writeInt(entries.size());
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) { // keep the order of use
+                    output.writeUTF(entry.getKey());
+                    output.writeObject(entry.getValue());
+                }
+                changed = false;
+                logger.info("Saved model cache with " + entries.size() + " compilation units.");
+            } catch (IOException exception) {
+                logger.warn("Could not save the model cache.", exception);
+                file.delete(); // remove incomplete file
+            }
+        }
+    }
+
+    /**
+     * Creates the map of the cache entries, which is ordered by access and evicts the least recently used entry if the
+     * capacity is exceeded.
+     */
+    private Map<String, Entry> createEntries() {
+        return new LinkedHashMap<String, ModelCache.Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ModelCache.Entry> eldest) { // inherited Entry is Map.Entry
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Creates the fingerprint of the project, which is a hash of the raw class path, the handle identifiers of all
+     * compilation units and the settings.
+     */
+    private String createFingerprint(List<IPackageFragment> fragments, String settings) throws JavaModelException {
+        List<String> components = new ArrayList<String>();
+        for (IClasspathEntry entry : project.getRawClasspath()) {
+            components.add(entry.toString());
+        }
+        for (IPackageFragment fragment : fragments) {
+            for (ICompilationUnit unit : fragment.getCompilationUnits()) {
+                components.add(unit.getHandleIdentifier());
+            }
+        }
+        Collections.sort(components); // independent of the order of the fragments
+        components.add(settings);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            for (String component : components) {
+                digest.update(component.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0); // separator
+            }
+            StringBuilder builder = new StringBuilder();
+            for (byte value : digest.digest()) {
+                builder.append(String.format("%02x", value));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-1 is not supported.", exception);
+        }
+    }
+
+    /**
+     * Checks whether the throwable flags of the cached classes of an entry match the {@link ThrowableHierarchy}, which
+     * might have changed with the super classes of other compilation units.
+     */
+    private boolean hasValidThrowables(Entry entry) throws JavaModelException {
+        for (ExtractedType type : entry.types) {
+            if (type instanceof ExtractedClass) {
+                boolean cachedFlag = ((ExtractedClass) type).isThrowable();
+                if (cachedFlag != throwables.isThrowable(type.getFullName())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the modification stamp of the resource of a {@link ICompilationUnit} or {@link IResource#NULL_STAMP} if
+     * the unit has unsaved changes or no resource.
+     */
+    private long getStamp(ICompilationUnit unit) {
+        try {
+            IResource resource = unit.getResource();
+            if (resource == null || unit.hasUnsavedChanges()) {
+                return IResource.NULL_STAMP;
+            }
+            return resource.getModificationStamp();
+        } catch (JavaModelException exception) {
+            return IResource.NULL_STAMP;
+        }
+    }
+
+    /**
+     * Cache entry for one compilation unit, contains its extracted types and the potential external types it references.
+     */
+    public static class Entry implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final Set<String> dataTypes;
+        private final long stamp;
+        private final List<ExtractedType> types;
+
+        /**
+         * Basic constructor.
+         * @param stamp is the modification stamp of the compilation unit.
+         * @param types are the {@link ExtractedType}s of the compilation unit.
+         * @param dataTypes are the names of the potential external types referenced by the compilation unit.
+         */
+        Entry(long stamp, List<ExtractedType> types, Set<String> dataTypes) {
+            this.stamp = stamp;
+            this.types = types;
+            this.dataTypes = dataTypes;
+        }
+
+        /**
+         * Accessor for the names of the potential external types referenced by the compilation unit.
+         * @return the set of type names.
+         */
+        public Set<String> getDataTypes() {
+            return dataTypes;
+        }
+
+        /**
+         * Accessor for the extracted types of the compilation unit.
+         * @return the list of {@link ExtractedType}s.
+         */
+        public List<ExtractedType> getTypes() {
+            return types;
+        }
+    }
+}
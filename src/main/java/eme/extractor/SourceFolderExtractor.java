@@ -0,0 +1,281 @@
+package eme.extractor;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.FileASTRequestor;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+
+import eme.metrics.Counter;
+import eme.metrics.ExtractionMetrics;
+import eme.metrics.Phase;
+import eme.model.ExtractedPackage;
+import eme.model.ExtractedType;
+import eme.model.IntermediateModel;
+import eme.model.datatypes.DataTypePool;
+import eme.properties.BinaryProperty;
+import eme.properties.ExtractionProperties;
+
+/**
+ * Headless counterpart of the {@link JavaProjectExtractor}. Builds intermediate models from plain source folders and a
+ * class path without an Eclipse workspace or a running OSGi framework. The source files are parsed with a standalone
+ * {@link ASTParser} environment and the types are extracted with the {@link ASTDeclarationExtractor}. The packages are
+ * derived from the folder structure like in the Java model. External types are extracted from their bindings and only
+ * contain the name, the kind and the type parameters, which is all the information the generator uses of them. The
+ * phases and counters of every extraction are recorded in the {@link ExtractionMetrics}.
+ * @author Timur Saglam
+ */
+public class SourceFolderExtractor {
+    private static final int BATCH_SIZE = 500; // source files per parser run
+    private static final String JAVA_EXTENSION = ".java";
+    private static final Logger logger = LogManager.getLogger(SourceFolderExtractor.class.getName());
+    private BindingDataTypeExtractor bindingExtractor;
+    private IntermediateModel currentModel;
+    private ASTDeclarationExtractor declarationExtractor;
+    private Map<String, ExtractedType> externalTypes; // shallow types of all referenced types
+    private ExtractionMetrics metrics;
+    private Set<String> packageNames; // packages of the current model
+    private final ExtractionProperties properties;
+    private Set<String> referencedTypes; // potential external types
+
+    /**
+     * Basic constructor.
+     * @param properties is the {@link ExtractionProperties} instance of the extraction.
+     */
+    public SourceFolderExtractor(ExtractionProperties properties) {
+        this.properties = properties;
+        metrics = new ExtractionMetrics();
+    }
+
+    /**
+     * Analyzes the source files of a set of source folders and builds an {@link IntermediateModel}.
+     * @param projectName is the name of the model.
+     * @param sourceFolders are the source folders, which are the roots of the package structure.
+     * @param classPath are the class path entries (jar files and class folders) that are required to resolve the types
+     * of the source files. The classes of the running Java runtime are always available.
+     * @return an intermediate model that was extracted from the source folders.
+     */
+    public IntermediateModel buildIntermediateModel(String projectName, List<File> sourceFolders, List<File> classPath) {
+        for (File folder : sourceFolders) {
+            if (!folder.isDirectory()) {
+                throw new IllegalArgumentException("Source folder " + folder + " does not exist!");
+            }
+        }
+        currentModel = new IntermediateModel(projectName);
+        DataTypePool dataTypePool = new DataTypePool();
+        bindingExtractor = new BindingDataTypeExtractor(dataTypePool, true); // bindings are needed for the external types
+        boolean detectThrowables = !properties.get(BinaryProperty.THROWABLES); // irrelevant if extracted
+        declarationExtractor = new ASTDeclarationExtractor(bindingExtractor, detectThrowables, new ExtractionFilter(properties));
+        externalTypes = new HashMap<String, ExtractedType>();
+        packageNames = new HashSet<String>();
+        referencedTypes = new HashSet<String>();
+        logger.info("Started parsing the source folders...");
+        metrics.startPhase(Phase.PACKAGE_DISCOVERY);
+        List<String> sourceFiles = extractPackages(sourceFolders);
+        metrics.stopPhase(Phase.PACKAGE_DISCOVERY);
+        metrics.startPhase(Phase.TYPE_EXTRACTION);
+        for (int index = 0; index < sourceFiles.size(); index += BATCH_SIZE) {
+            List<String> batch = sourceFiles.subList(index, Math.min(index + BATCH_SIZE, sourceFiles.size()));
+            logger.info("Parsing source files " + (index + 1) + " to " + (index + batch.size()) + " of " + sourceFiles.size());
+            parseBatch(batch, sourceFolders, classPath);
+        }
+        metrics.stopPhase(Phase.TYPE_EXTRACTION);
+        metrics.startPhase(Phase.EXTERNAL_TYPE_RESOLUTION);
+        extractExternalTypes();
+        metrics.stopPhase(Phase.EXTERNAL_TYPE_RESOLUTION);
+        logger.info("Data type pool: " + dataTypePool.getHits() + " of " + dataTypePool.getRequests()
+                + " data types shared, " + dataTypePool.size() + " distinct");
+        metrics.startPhase(Phase.SORT);
+        currentModel.sort(); // sort model content
+        metrics.stopPhase(Phase.SORT);
+        currentModel.print(); // print intermediate model.
+        metrics.count(currentModel);
+        metrics.add(Counter.DATA_TYPE_POOL_HITS, dataTypePool.getHits());
+        metrics.add(Counter.DATA_TYPE_POOL_MISSES, dataTypePool.getRequests() - dataTypePool.getHits());
+        return currentModel;
+    }
+
+    /**
+     * Sets the {@link ExtractionMetrics} which record the phases and counters of the following extractions.
+     * @param metrics are the {@link ExtractionMetrics}.
+     */
+    public void setMetrics(ExtractionMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Adds a package and all its missing parent packages to the current model.
+     */
+    private void addPackage(String packageName) {
+        if (!packageNames.contains(packageName)) {
+            if (!packageName.isEmpty()) { // parents first, the default package is the root
+                int index = packageName.lastIndexOf('.');
+                addPackage(index == -1 ? "" : packageName.substring(0, index));
+            }
+            currentModel.add(new ExtractedPackage(packageName));
+            packageNames.add(packageName);
+        }
+    }
+
+    /**
+     * Creates the {@link ASTParser} with a standalone environment and binding resolution.
+     */
+    @SuppressWarnings("deprecation")
+    private ASTParser createParser(List<File> sourceFolders, List<File> classPath) {
+        ASTParser parser = ASTParser.newParser(AST.JLS8); // oldest level that supports all language features in use
+        parser.setKind(ASTParser.K_COMPILATION_UNIT);
+        parser.setEnvironment(toPaths(classPath), toPaths(sourceFolders), null, true); // include running runtime
+        Map<String, String> options = new HashMap<String, String>();
+        JavaCore.setComplianceOptions(JavaCore.VERSION_1_8, options); // does not require the JDT plugin
+        parser.setCompilerOptions(options);
+        parser.setResolveBindings(true);
+        parser.setBindingsRecovery(true); // also create bindings for unresolved types
+        return parser;
+    }
+
+    /**
+     * Adds the types of all referenced types that are not part of the model as external types. Referenced inner types
+     * of the model are added as pseudo external types, like in the {@link JavaTypeExtractor}.
+     */
+    private void extractExternalTypes() {
+        logger.info("Parsing external types...");
+        for (String typeName : referencedTypes) { // for every potential external type
+            if (currentModel.contains(typeName)) { // if is a true external type
+                ExtractedType type = currentModel.getType(typeName);
+                if (type.isInnerType()) {
+                    currentModel.addExternal(type);
+                    logger.info("Resolved pseudo external " + type);
+                }
+            } else if (externalTypes.get(typeName) != null) { // if binding was found
+                currentModel.addExternal(externalTypes.get(typeName));
+                logger.info("Resolved external " + externalTypes.get(typeName));
+            }
+        }
+    }
+
+    /**
+     * Builds the package structure of the source folders in the current model and returns the paths of all source
+     * files. Every folder whose name is a valid identifier is a package, like in the Java model.
+     */
+    private List<String> extractPackages(List<File> sourceFolders) {
+        SortedSet<String> folderPackages = new TreeSet<String>(); // set to avoid duplicates
+        List<String> sourceFiles = new ArrayList<String>();
+        for (File folder : sourceFolders) {
+            scanFolder(folder, "", folderPackages, sourceFiles);
+        }
+        for (String name : folderPackages) {
+            addPackage(name); // build model packages first
+        }
+        return sourceFiles;
+    }
+
+    /**
+     * Extracts all types of a parsed source file and adds them to the package of the file.
+     */
+    private void extractSourceFile(String sourceFilePath, CompilationUnit ast) {
+        List<ExtractedType> types = declarationExtractor.extractTypes(ast);
+        if (types == null) {
+            logger.warn("Missing bindings in " + sourceFilePath + ", the file is skipped.");
+            bindingExtractor.resetDataTypes(); // discard partial results
+        } else {
+            String packageName = ast.getPackage() == null ? "" : ast.getPackage().getName().getFullyQualifiedName();
+            addPackage(packageName); // the declaration might not match the folder
+            ExtractedPackage parent = currentModel.getPackage(packageName);
+            for (ExtractedType type : types) {
+                currentModel.addTo(type, parent);
+            }
+            referencedTypes.addAll(bindingExtractor.resetDataTypes());
+        }
+        recordExternalTypes();
+    }
+
+    /**
+     * Checks whether a folder name is a valid package name segment.
+     */
+    private boolean isPackageName(String name) {
+        if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            return false;
+        }
+        for (char character : name.toCharArray()) {
+            if (!Character.isJavaIdentifierPart(character)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a batch of source files with one {@link ASTParser} run and extracts their types.
+     */
+    private void parseBatch(List<String> batch, List<File> sourceFolders, List<File> classPath) {
+        createParser(sourceFolders, classPath).createASTs(batch.toArray(new String[batch.size()]), null, new String[0],
+                new FileASTRequestor() {
+                    @Override
+                    public void acceptAST(String sourceFilePath, CompilationUnit ast) {
+                        extractSourceFile(sourceFilePath, ast);
+                    }
+                }, null);
+    }
+
+    /**
+     * Creates the shallow external types of the recorded bindings while they are valid. The type parameters of a type
+     * might reference new types, which are recorded until no new types are found.
+     */
+    private void recordExternalTypes() {
+        Map<String, ITypeBinding> bindings = bindingExtractor.resetTypeBindings();
+        while (!bindings.isEmpty()) {
+            for (Entry<String, ITypeBinding> entry : bindings.entrySet()) {
+                if (!externalTypes.containsKey(entry.getKey())) { // only once per type
+                    externalTypes.put(entry.getKey(), declarationExtractor.extractExternalType(entry.getValue()));
+                }
+            }
+            bindingExtractor.resetDataTypes(); // bounds of external types are no references of the model
+            bindings = bindingExtractor.resetTypeBindings();
+        }
+    }
+
+    /**
+     * Recursively collects the package names and the source files of a folder.
+     */
+    private void scanFolder(File folder, String packageName, Set<String> folderPackages, List<String> sourceFiles) {
+        folderPackages.add(packageName);
+        File[] files = folder.listFiles();
+        if (files != null) {
+            Arrays.sort(files); // deterministic order
+            for (File file : files) {
+                String name = file.getName();
+                if (file.isDirectory() && isPackageName(name)) {
+                    scanFolder(file, packageName.isEmpty() ? name : packageName + "." + name, folderPackages, sourceFiles);
+                } else if (file.isFile() && name.endsWith(JAVA_EXTENSION)) {
+                    sourceFiles.add(file.getAbsolutePath());
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts a list of files to an array of their absolute paths.
+     */
+    private String[] toPaths(List<File> files) {
+        String[] paths = new String[files.size()];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = files.get(i).getAbsolutePath();
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,111 @@
+package eme.extractor;
+
+import static eme.extractor.JDTUtil.getName;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Project-wide cache of all subtypes of {@link Throwable}. Instead of building a super type hierarchy for every single
+ * class, one type hierarchy rooted at {@link Throwable} is built for the whole project when it is needed for the first
+ * time. Afterwards every check is a simple set lookup. The cache can be shared between multiple extractors. It has to
+ * be refreshed if the super classes of the project change.
+ * @author Timur Saglam
+ */
+public class ThrowableHierarchy {
+    private static final Logger logger = LogManager.getLogger(ThrowableHierarchy.class.getName());
+    private final boolean enabled;
+    private final IJavaProject project;
+    private volatile Set<String> throwables;
+
+    /**
+     * Basic constructor.
+     * @param project is the {@link IJavaProject} which is the scope of the hierarchy.
+     * @param enabled determines whether throwables are detected at all. If not, every check returns false without
+     * building the hierarchy. This is useful if the information is not needed, e.g. if throwables are generated anyway.
+     */
+    public ThrowableHierarchy(IJavaProject project, boolean enabled) {
+        this.project = project;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks whether throwables are detected at all.
+     * @return true if they are detected.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Checks whether an {@link IType} inherits from the class {@link Throwable}.
+     * @param type is the {@link IType} to check.
+     * @return true if it is a subtype of {@link Throwable}, false if not or if the detection is disabled.
+     * @throws JavaModelException if there are problem with the JDT API.
+     */
+    public boolean isThrowable(IType type) throws JavaModelException {
+        return isThrowable(getName(type));
+    }
+
+    /**
+     * Checks whether the type with a specific full name inherits from the class {@link Throwable}.
+     * @param fullName is the fully qualified name of the type, e.g. "java.io.IOException".
+     * @return true if it is a subtype of {@link Throwable}, false if not or if the detection is disabled.
+     * @throws JavaModelException if there are problem with the JDT API.
+     */
+    public boolean isThrowable(String fullName) throws JavaModelException {
+        if (enabled) {
+            return getThrowables().contains(fullName);
+        }
+        return false; // detection is disabled
+    }
+
+    /**
+     * Discards the set of throwables, which means the hierarchy is built again when it is needed the next time. This is
+     * necessary if the super classes of the project changed.
+     */
+    public synchronized void refresh() {
+        throwables = null;
+    }
+
+    /**
+     * Builds the set of the names of all subtypes of {@link Throwable} with one type hierarchy.
+     */
+    private Set<String> buildHierarchy() throws JavaModelException {
+        Set<String> names = new HashSet<String>();
+        IType throwable = project.findType(Throwable.class.getName());
+        if (throwable == null) { // e.g. if the project has no JRE on its class path
+            logger.warn("Could not find " + Throwable.class.getName() + ", throwables cannot be detected.");
+        } else {
+            ITypeHierarchy hierarchy = throwable.newTypeHierarchy(project, new NullProgressMonitor());
+            for (IType subtype : hierarchy.getAllSubtypes(throwable)) { // for every subtype
+                names.add(getName(subtype));
+            }
+            logger.info("Built throwable hierarchy with " + names.size() + " types.");
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * Returns the set of throwable names, builds it on first access.
+     */
+    private Set<String> getThrowables() throws JavaModelException {
+        if (throwables == null) {
+            synchronized (this) {
+                if (throwables == null) { // only build once, even for concurrent access
+                    throwables = buildHierarchy();
+                }
+            }
+        }
+        return throwables;
+    }
+}
@@ -1,6 +1,8 @@
 package eme.generator;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.log4j.LogManager;
@@ -12,6 +14,7 @@ import org.eclipse.emf.ecore.EEnumLiteral;
 import org.eclipse.emf.ecore.EGenericType;
 import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.util.InternalEList;
 
 import eme.generator.hierarchies.ExternalTypeHierarchy;
 import eme.model.ExtractedClass;
@@ -172,12 +175,14 @@ public class EClassifierGenerator {
      */
     private EEnum generateEEnum(ExtractedEnum extractedEnum) {
         EEnum eEnum = ecoreFactory.createEEnum(); // create EEnum
+        List<EEnumLiteral> literals = new ArrayList<EEnumLiteral>(extractedEnum.getConstants().size());
         for (ExtractedEnumConstant enumeral : extractedEnum.getConstants()) { // for very Enumeral
             EEnumLiteral literal = ecoreFactory.createEEnumLiteral(); // create literal
             literal.setName(enumeral.getName()); // set name.
-            literal.setValue(eEnum.getELiterals().size()); // set ordinal.
-            eEnum.getELiterals().add(literal); // add literal to enum.
+            literal.setValue(literals.size()); // set ordinal.
+            literals.add(literal);
         }
+        ((InternalEList<EEnumLiteral>) eEnum.getELiterals()).addAllUnique(literals); // add literals to enum.
         typeGenerator.addTypeParameters(eEnum, extractedEnum); // add generic types.
         return eEnum;
     }
@@ -190,7 +195,7 @@ public class EClassifierGenerator {
         subType.getESuperTypes().add(superType); // add inheritance relation.
         for (EGenericType genericType : subType.getEGenericSuperTypes()) {
             if (genericType.getEClassifier().equals(superType)) { // find related EGenericType
-                typeGenerator.addGenericArguments(genericType, dataType, new TypeParameterSource(subType));
+                typeGenerator.addGenericArguments(genericType, dataType, typeGenerator.getTypeParameterSource(subType));
             }
         }
     }
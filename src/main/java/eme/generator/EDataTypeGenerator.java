@@ -1,13 +1,14 @@
 package eme.generator;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EClassifier;
 import org.eclipse.emf.ecore.EDataType;
 import org.eclipse.emf.ecore.EGenericType;
@@ -16,6 +17,7 @@ import org.eclipse.emf.ecore.ETypeParameter;
 import org.eclipse.emf.ecore.ETypedElement;
 import org.eclipse.emf.ecore.EcoreFactory;
 import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.InternalEList;
 
 import eme.generator.hierarchies.ExternalTypeHierarchy;
 import eme.model.ExtractedMethod;
@@ -26,7 +28,8 @@ import eme.model.datatypes.ExtractedTypeParameter;
 import eme.model.datatypes.WildcardStatus;
 
 /**
- * Generator class for the generation of Ecore data types ({@link EDataType})
+ * Generator class for the generation of Ecore data types ({@link EDataType}). The {@link TypeParameterSource} of every
+ * {@link EClassifier} is built once and reused for all its members.
  * @author Timur Saglam
  */
 public class EDataTypeGenerator {
@@ -36,6 +39,7 @@ public class EDataTypeGenerator {
     private final EcoreFactory ecoreFactory;
     private final IntermediateModel model;
     private final ExternalTypeHierarchy typeHierarchy;
+    private final Map<EClassifier, TypeParameterSource> typeParameterSources;
 
     /**
      * Basic constructor, builds the type maps.
@@ -49,6 +53,7 @@ public class EDataTypeGenerator {
         this.typeHierarchy = typeHierarchy;
         ecoreFactory = EcoreFactory.eINSTANCE; // get ecore factory.
         dataTypeMap = new HashMap<String, EDataType>(); // create type map.
+        typeParameterSources = new HashMap<EClassifier, TypeParameterSource>();
         fillMap(); // fill type map.
     }
 
@@ -60,8 +65,9 @@ public class EDataTypeGenerator {
      * @param source is the source of {@link ETypeParameter}s, an {@link TypeParameterSource}.
      */
     public void addDataType(ETypedElement element, ExtractedDataType dataType, TypeParameterSource source) {
-        if (source.containsTypeParameter(dataType)) {
-            element.setEGenericType(generateGeneric(dataType, source));
+        ETypeParameter typeParameter = source.getTypeParameter(dataType);
+        if (typeParameter != null) {
+            element.setEGenericType(generateGeneric(typeParameter));
         } else {
             element.setEType(generate(dataType)); // generate data type
         }
@@ -76,8 +82,9 @@ public class EDataTypeGenerator {
      * @param source is the source of {@link ETypeParameter}s, an {@link TypeParameterSource}.
      */
     public void addException(EOperation operation, ExtractedDataType exception, TypeParameterSource source) {
-        if (source.containsTypeParameter(exception)) {
-            operation.getEGenericExceptions().add(generateGeneric(exception, source));
+        ETypeParameter typeParameter = source.getTypeParameter(exception);
+        if (typeParameter != null) {
+            operation.getEGenericExceptions().add(generateGeneric(typeParameter));
         } else {
             operation.getEExceptions().add(generate(exception)); // generate data type
         }
@@ -109,18 +116,43 @@ public class EDataTypeGenerator {
      * @param type is the extracted type.
      */
     public void addTypeParameters(EClassifier eClassifier, ExtractedType type) {
-        eClassifier.getETypeParameters().addAll(generateETypeParameters(type.getTypeParameters()));
-        finishTypeParameters(eClassifier.getETypeParameters(), type.getTypeParameters(), new TypeParameterSource(eClassifier));
+        addAll(eClassifier.getETypeParameters(), generateETypeParameters(type.getTypeParameters()));
+        finishTypeParameters(eClassifier.getETypeParameters(), type.getTypeParameters(), getTypeParameterSource(eClassifier));
     }
 
     /**
-     * Adds all generic type parameters from an {@link ExtractedMethod} to a {@link EOperation}.
+     * Adds all generic type parameters from an {@link ExtractedMethod} to a {@link EOperation}. The {@link EOperation}
+     * has to be contained in its {@link EClassifier}.
      * @param eOperation is the {@link EOperation}.
      * @param method is the {@link ExtractedMethod}.
+     * @return the {@link TypeParameterSource} of the {@link EOperation}, which can be used for all its data types.
      */
-    public void addTypeParameters(EOperation eOperation, ExtractedMethod method) {
-        eOperation.getETypeParameters().addAll(generateETypeParameters(method.getTypeParameters()));
-        finishTypeParameters(eOperation.getETypeParameters(), method.getTypeParameters(), new TypeParameterSource(eOperation));
+    public TypeParameterSource addTypeParameters(EOperation eOperation, ExtractedMethod method) {
+        addAll(eOperation.getETypeParameters(), generateETypeParameters(method.getTypeParameters()));
+        TypeParameterSource source = new TypeParameterSource(eOperation, getTypeParameterSource(eOperation.getEContainingClass()));
+        finishTypeParameters(eOperation.getETypeParameters(), method.getTypeParameters(), source);
+        return source;
+    }
+
+    /**
+     * Returns the {@link TypeParameterSource} of an {@link EClassifier}. It is created on the first request.
+     * @param eClassifier is the {@link EClassifier}.
+     * @return the {@link TypeParameterSource}.
+     */
+    public TypeParameterSource getTypeParameterSource(EClassifier eClassifier) {
+        TypeParameterSource source = typeParameterSources.get(eClassifier);
+        if (source == null) {
+            source = new TypeParameterSource(eClassifier);
+            typeParameterSources.put(eClassifier, source);
+        }
+        return source;
+    }
+
+    /**
+     * Adds new {@link ETypeParameter}s to a list without checking their uniqueness.
+     */
+    private void addAll(EList<ETypeParameter> list, List<ETypeParameter> eTypeParameters) {
+        ((InternalEList<ETypeParameter>) list).addAllUnique(eTypeParameters); // new elements are unique
     }
 
     /**
@@ -215,8 +247,9 @@ public class EDataTypeGenerator {
      * {@link EClassifier} if not.
      */
     private void generateBoundType(EGenericType genericType, ExtractedDataType boundType, TypeParameterSource source) {
-        if (source.containsTypeParameter(boundType)) {
-            genericType.setETypeParameter(source.getTypeParameter(boundType));
+        ETypeParameter typeParameter = source.getTypeParameter(boundType);
+        if (typeParameter != null) {
+            genericType.setETypeParameter(typeParameter);
         } else {
             genericType.setEClassifier(generate(boundType));
         }
@@ -227,7 +260,7 @@ public class EDataTypeGenerator {
      */
     private List<ETypeParameter> generateETypeParameters(List<ExtractedTypeParameter> typeParameters) {
         ETypeParameter eTypeParameter; // ecore type parameter
-        List<ETypeParameter> eTypeParameters = new LinkedList<ETypeParameter>();
+        List<ETypeParameter> eTypeParameters = new ArrayList<ETypeParameter>(typeParameters.size());
         for (ExtractedTypeParameter typeParameter : typeParameters) { // for all type parameters
             eTypeParameter = ecoreFactory.createETypeParameter(); // create object
             eTypeParameter.setName(typeParameter.getIdentifier()); // set name
@@ -258,15 +291,12 @@ public class EDataTypeGenerator {
     }
 
     /**
-     * Returns an generic type parameter, which is an {@link EGenericType}, for an {@link ExtractedDataType} that can be
+     * Returns an generic type parameter, which is an {@link EGenericType}, for an {@link ETypeParameter} that can be
      * used as generic argument for methods and attributes.
      */
-    private EGenericType generateGeneric(ExtractedDataType dataType, TypeParameterSource source) {
-        if (source.containsTypeParameter(dataType)) {
-            EGenericType genericType = ecoreFactory.createEGenericType();
-            genericType.setETypeParameter(source.getTypeParameter(dataType));
-            return genericType;
-        }
-        throw new IllegalArgumentException("The data type is not an type parameter: " + dataType.toString());
+    private EGenericType generateGeneric(ETypeParameter typeParameter) {
+        EGenericType genericType = ecoreFactory.createEGenericType();
+        genericType.setETypeParameter(typeParameter);
+        return genericType;
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package eme.generator;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -15,6 +16,7 @@ import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.ETypedElement;
 import org.eclipse.emf.ecore.EcoreFactory;
 import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.InternalEList;
 
 import eme.model.ExtractedMethod;
 import eme.model.ExtractedType;
@@ -51,11 +53,13 @@ public class EMemberGenerator {
      * @param eClass is the {@link EClass}.
      */
     public void addFields(ExtractedType type, EClass eClass) {
+        List<EStructuralFeature> features = new ArrayList<EStructuralFeature>(type.getFields().size());
         for (ExtractedField field : type.getFields()) { // for every field
             if (selector.allowsGenerating(field)) { // if it is selected
-                addField(field, eClass); // add to EClass by creating an Ecore representation
+                features.add(generateField(field, eClass)); // create an Ecore representation
             }
         }
+        ((InternalEList<EStructuralFeature>) eClass.getEStructuralFeatures()).addAllUnique(features); // add to EClass
     }
 
     /**
@@ -94,22 +98,6 @@ public class EMemberGenerator {
         }
     }
 
-    /**
-     * Adds a field to a {@link EClass} by creating a {@link EStructuralFeature} as Ecore representation, which is
-     * either a {@link EReference} or an {@link EAttribute}. List types are represented by an {@link EStructuralFeature}
-     * with an undefined upper bound property, which represents an one-to-many reference. If it is a reference,
-     * containment has to be set manually.
-     */
-    private void addField(ExtractedField field, EClass eClass) {
-        ExtractedDataType dataType = getRelevantDataType(field);
-        EStructuralFeature representation = createFieldRepresentation(dataType);
-        representation.setName(field.getIdentifier()); // set name
-        representation.setChangeable(!(field.isFinal() && selector.allowsUnchangeable())); // make unchangeable if final
-        setUpperBound(representation, field);
-        typeGenerator.addDataType(representation, dataType, new TypeParameterSource(eClass)); // add type to attribute
-        eClass.getEStructuralFeatures().add(representation); // add feature to EClass
-    }
-
     /**
      * Adds a single {@link ExtractedMethod} to a {@link EClass} by creating a {@link EOperation} as Ecore
      * representation.
@@ -118,8 +106,7 @@ public class EMemberGenerator {
         EOperation operation = ecoreFactory.createEOperation(); // create object
         operation.setName(method.getName()); // set name
         eClass.getEOperations().add(operation);
-        typeGenerator.addTypeParameters(operation, method);
-        TypeParameterSource source = new TypeParameterSource(operation); // source of type parameters
+        TypeParameterSource source = typeGenerator.addTypeParameters(operation, method); // source of type parameters
         addReturnType(operation, method.getReturnType(), source); // add return type
         addExceptions(operation, method, source); // add throws declarations
         addParameters(method, operation.getEParameters(), source); // add parameters
@@ -160,6 +147,22 @@ public class EMemberGenerator {
         }
     }
 
+    /**
+     * Generates a {@link EStructuralFeature} as Ecore representation of a field of a {@link EClass}, which is either a
+     * {@link EReference} or an {@link EAttribute}. List types are represented by an {@link EStructuralFeature} with an
+     * undefined upper bound property, which represents an one-to-many reference. If it is a reference, containment has
+     * to be set manually.
+     */
+    private EStructuralFeature generateField(ExtractedField field, EClass eClass) {
+        ExtractedDataType dataType = getRelevantDataType(field);
+        EStructuralFeature representation = createFieldRepresentation(dataType);
+        representation.setName(field.getIdentifier()); // set name
+        representation.setChangeable(!(field.isFinal() && selector.allowsUnchangeable())); // make unchangeable if final
+        setUpperBound(representation, field);
+        typeGenerator.addDataType(representation, dataType, typeGenerator.getTypeParameterSource(eClass)); // add type
+        return representation;
+    }
+
     /**
      * This method returns the list data type of any {@link ExtractedDataType} which is of type {@link List} when
      * one-to-many multiplicities are allowed or the {@link ExtractedDataType} itself for any other case. This ensures
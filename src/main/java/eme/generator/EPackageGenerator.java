@@ -5,12 +5,24 @@ import static eme.properties.BinaryProperty.ROOT_CONTAINER;
 import static eme.properties.TextProperty.DUMMY_NAME;
 import static eme.properties.TextProperty.ROOT_NAME;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EClassifier;
 import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.util.InternalEList;
 
 import eme.generator.hierarchies.InnerTypeHierarchy;
+import eme.metrics.ExtractionMetrics;
+import eme.metrics.Phase;
 import eme.model.ExtractedPackage;
 import eme.model.ExtractedType;
 import eme.model.IntermediateModel;
@@ -18,15 +30,20 @@ import eme.properties.ExtractionProperties;
 import eme.properties.TextProperty;
 
 /**
- * Generator class for Ecore packages ({@link EPackage}).
+ * Generator class for Ecore packages ({@link EPackage}). The {@link InnerTypeHierarchy} of a package is shared by all
+ * inner types of the package for the whole generation run. The generation reports its progress to an
+ * {@link IProgressMonitor} with one unit of work per package and type, and it stops with an
+ * {@link OperationCanceledException} if the monitor is canceled.
  * @author Timur Saglam
  */
 public class EPackageGenerator {
     private EClassifierGenerator classGenerator;
     private final EcoreFactory ecoreFactory;
+    private Map<EPackage, InnerTypeHierarchy> innerTypeHierarchies;
+    private ExtractionMetrics metrics;
     private IntermediateModel model;
     private final ExtractionProperties properties;
-    private final SelectionHelper selector;
+    private SelectionHelper selector;
 
     /**
      * Basic constructor, sets the properties.
@@ -35,43 +52,78 @@ public class EPackageGenerator {
     public EPackageGenerator(ExtractionProperties properties) {
         this.properties = properties;
         ecoreFactory = EcoreFactory.eINSTANCE;
-        selector = new SelectionHelper(properties); // build selection helper
+        metrics = new ExtractionMetrics();
     }
 
     /**
-     * Generates an Ecore metamodel from an {@link IntermediateModel}.
+     * Generates an Ecore metamodel from an {@link IntermediateModel}. The selection rules of the properties are fixed
+     * for the whole generation run.
      * @param model is the {@link IntermediateModel}.
      * @return the root {@link EPackage} of the Ecore metamodel.
      */
     public EPackage generate(IntermediateModel model) {
+        return generate(model, new NullProgressMonitor());
+    }
+
+    /**
+     * Generates an Ecore metamodel from an {@link IntermediateModel} while reporting the progress of the packages and
+     * types. The selection rules of the properties are fixed for the whole generation run.
+     * @param model is the {@link IntermediateModel}.
+     * @param monitor is the {@link IProgressMonitor} which receives the progress and which can cancel the generation.
+     * @return the root {@link EPackage} of the Ecore metamodel.
+     * @throws OperationCanceledException if the monitor was canceled.
+     */
+    public EPackage generate(IntermediateModel model, IProgressMonitor monitor) {
+        SubMonitor progress = SubMonitor.convert(monitor, 10);
         this.model = model; // set model
-        EPackage eRoot = generateEPackage(model.getRoot()); // generate base model:
+        selector = new SelectionHelper(properties); // build selection helper with the current properties
+        innerTypeHierarchies = new HashMap<EPackage, InnerTypeHierarchy>();
+        metrics.startPhase(Phase.EPACKAGE_GENERATION);
+        EPackage eRoot = generateEPackage(model.getRoot(), progress.split(8)); // generate base model:
+        metrics.stopPhase(Phase.EPACKAGE_GENERATION);
+        progress.subTask("Completing the classifiers");
+        progress.split(2); // throws exception if canceled
+        metrics.startPhase(Phase.CLASSIFIER_COMPLETION);
         classGenerator.completeEClassifiers(); // complete EClasses
+        metrics.stopPhase(Phase.CLASSIFIER_COMPLETION);
         selector.generateReport(); // print reports
         return eRoot; // return Ecore metamodel root package
     }
 
     /**
-     * Adds subpackages to the {@link EPackage}.
+     * Sets the {@link ExtractionMetrics} which record the phases of the following generations.
+     * @param metrics are the {@link ExtractionMetrics}.
+     */
+    public void setMetrics(ExtractionMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Adds subpackages to the {@link EPackage}. Every subpackage receives one unit of work of the monitor.
      */
-    private void addSubpackages(EPackage ePackage, ExtractedPackage extractedPackage) {
+    private void addSubpackages(EPackage ePackage, ExtractedPackage extractedPackage, SubMonitor progress) {
+        List<EPackage> subpackages = new ArrayList<EPackage>(extractedPackage.getSubpackages().size());
         for (ExtractedPackage subpackage : extractedPackage.getSubpackages()) { // for all packages
+            SubMonitor subpackageProgress = progress.split(1); // throws exception if canceled
             if (selector.allowsGenerating(subpackage)) { // if is allowed to
-                ePackage.getESubpackages().add(generateEPackage(subpackage)); // extract
+                subpackages.add(generateEPackage(subpackage, subpackageProgress)); // extract
             }
         }
+        ((InternalEList<EPackage>) ePackage.getESubpackages()).addAllUnique(subpackages); // add new packages at once
     }
 
     /**
-     * Adds types to the package with the help of the {@link EClassifierGenerator}.
+     * Adds types to the package with the help of the {@link EClassifierGenerator}. Every type receives one unit of work
+     * of the monitor.
      */
-    private void addTypes(EPackage ePackage, ExtractedPackage extractedPackage) {
+    private void addTypes(EPackage ePackage, ExtractedPackage extractedPackage, SubMonitor progress) {
         for (ExtractedType type : extractedPackage.getTypes()) { // for all types
+            progress.split(1); // throws exception if canceled
             if (selector.allowsGenerating(type)) { // if is allowed to
                 EClassifier eClassifier = classGenerator.generateEClassifier(type);
                 if (type.isInnerType()) { // get relative path of inner type to current package:
                     String relativePath = type.getFullName().replace(extractedPackage.getFullName() + '.', "");
-                    new InnerTypeHierarchy(ePackage, properties).add(eClassifier, relativePath); // add inner type
+                    getInnerTypeHierarchy(ePackage).add(eClassifier, relativePath); // add inner type
                 } else { // add normal type directly
                     ePackage.getEClassifiers().add(eClassifier); // extract
                 }
@@ -83,7 +135,8 @@ public class EPackageGenerator {
      * Generates an {@link EPackage} from an {@link ExtractedPackage}. Recursively calls this method to all contained
      * elements.
      */
-    private EPackage generateEPackage(ExtractedPackage extractedPackage) {
+    private EPackage generateEPackage(ExtractedPackage extractedPackage, SubMonitor progress) {
+        progress.setWorkRemaining(extractedPackage.getSubpackages().size() + extractedPackage.getTypes().size());
         EPackage ePackage;
         if (extractedPackage.isRoot()) { // set root name & prefix:
             ePackage = generateRoot();
@@ -93,8 +146,9 @@ public class EPackageGenerator {
             ePackage.setNsPrefix(extractedPackage.getName());
             ePackage.setNsURI(getURI(extractedPackage));
         }
-        addSubpackages(ePackage, extractedPackage);
-        addTypes(ePackage, extractedPackage);
+        addSubpackages(ePackage, extractedPackage, progress);
+        progress.subTask("Generating package " + extractedPackage.getFullName());
+        addTypes(ePackage, extractedPackage, progress);
         return ePackage;
     }
 
@@ -125,6 +179,18 @@ public class EPackageGenerator {
         root.getEClassifiers().add(rootElement);
     }
 
+    /**
+     * Returns the {@link InnerTypeHierarchy} of an {@link EPackage}. It is created for the first inner type.
+     */
+    private InnerTypeHierarchy getInnerTypeHierarchy(EPackage ePackage) {
+        InnerTypeHierarchy hierarchy = innerTypeHierarchies.get(ePackage);
+        if (hierarchy == null) {
+            hierarchy = new InnerTypeHierarchy(ePackage, properties);
+            innerTypeHierarchies.put(ePackage, hierarchy);
+        }
+        return hierarchy;
+    }
+
     /**
      * Builds the URI of an root {@link EPackage} from an {@link ExtractedPackage}. The URI contains the project name
      * and the default package name (optionally).
@@ -1,34 +1,51 @@
 package eme.generator;
 
+import java.io.File;
+
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.emf.ecore.EPackage;
 
 import eme.generator.saving.AbstractSavingStrategy;
 import eme.generator.saving.CopyProjectSaving;
 import eme.generator.saving.CustomPathSaving;
+import eme.generator.saving.DirectorySaving;
 import eme.generator.saving.ExistingProjectSaving;
 import eme.generator.saving.NewProjectSaving;
 import eme.generator.saving.OriginalProjectSaving;
+import eme.generator.saving.OutputFormat;
 import eme.generator.saving.SavingInformation;
+import eme.metrics.ExtractionMetrics;
+import eme.metrics.Phase;
 import eme.model.ExtractedPackage;
 import eme.model.IntermediateModel;
+import eme.properties.BinaryProperty;
 import eme.properties.ExtractionProperties;
 import eme.properties.TextProperty;
 
 /**
  * This class generates an Ecore Metamodel from an {@link IntermediateModel}. It also allows to save a generated
- * metamodel as an Ecore file using a specific saving strategy.
+ * metamodel as an Ecore file using a specific saving strategy. The {@link ExtractionMetrics} are attached to the
+ * metamodel and are optionally saved as JSON report next to the Ecore file.
  * @author Timur Saglam
  */
 public class EcoreMetamodelGenerator {
     private static final Logger logger = LogManager.getLogger(EcoreMetamodelGenerator.class.getName());
+    private static final String METRICS_EXTENSION = ".metrics.json";
     private static final String OUTPUT_PROJECT = "EME-Generator-Output";
     private final EPackageGenerator ePackageGenerator;
+    private boolean explicitStrategy; // set with changeSavingStrategy(), overrides the properties
     private GeneratedEcoreMetamodel metamodel;
+    private ExtractionMetrics metrics;
     private String projectName;
     private final ExtractionProperties properties;
-    private AbstractSavingStrategy savingStrategy;
+    private AbstractSavingStrategy savingStrategy; // kept across saves, reuses its XMI lookup table
+    private String strategySettings; // properties the saving strategy was created with
 
     /**
      * Basic constructor.
@@ -37,27 +54,17 @@ public class EcoreMetamodelGenerator {
     public EcoreMetamodelGenerator(ExtractionProperties properties) {
         this.properties = properties;
         ePackageGenerator = new EPackageGenerator(properties); // build generators
+        metrics = new ExtractionMetrics();
     }
 
     /**
-     * Changes the {@link AbstractSavingStrategy} to a new one.
+     * Changes the {@link AbstractSavingStrategy} to a new one. The strategy is used by {@link #saveMetamodel()}
+     * instead of the saving strategy of the properties.
      * @param strategyName is the name of the new saving strategy.
      */
-    public final void changeSavingStrategy(String strategyName) { // Add custom strategies here
-        if (isStrategy(ExistingProjectSaving.class, strategyName)) {
-            savingStrategy = new ExistingProjectSaving(OUTPUT_PROJECT);
-        } else if (isStrategy(OriginalProjectSaving.class, strategyName)) {
-            savingStrategy = new OriginalProjectSaving();
-        } else if (isStrategy(CustomPathSaving.class, strategyName)) {
-            savingStrategy = new CustomPathSaving();
-        } else if (isStrategy(CopyProjectSaving.class, strategyName)) {
-            savingStrategy = new CopyProjectSaving(properties.get(TextProperty.PROJECT_SUFFIX));
-        } else if (isStrategy(NewProjectSaving.class, strategyName)) {
-            savingStrategy = new NewProjectSaving();
-        } else {
-            logger.error("Unknown saving strategy: " + strategyName);
-            savingStrategy = new NewProjectSaving();
-        }
+    public final void changeSavingStrategy(String strategyName) {
+        savingStrategy = createSavingStrategy(strategyName, properties);
+        explicitStrategy = true;
     }
 
     /**
@@ -66,36 +73,154 @@ public class EcoreMetamodelGenerator {
      * @return the root element of the metamodel, an {@link EPackage}.
      */
     public GeneratedEcoreMetamodel generateMetamodel(IntermediateModel model) {
-        changeSavingStrategy(properties.get(TextProperty.SAVING_STRATEGY)); // set saving strategy
+        return generateMetamodel(model, new NullProgressMonitor());
+    }
+
+    /**
+     * Method starts the Ecore metamodel generation and reports its progress to a monitor.
+     * @param model is the {@link IntermediateModel} that is the source for the generator.
+     * @param monitor is the {@link IProgressMonitor} which receives the progress and which can cancel the generation.
+     * @return the root element of the metamodel, an {@link EPackage}.
+     * @throws OperationCanceledException if the monitor was canceled.
+     */
+    public GeneratedEcoreMetamodel generateMetamodel(IntermediateModel model, IProgressMonitor monitor) {
         logger.info("Started generating the metamodel...");
         ExtractedPackage root = model.getRoot(); // get root package.
         if (root == null || !root.isSelected()) { // check if valid.
             throw new IllegalArgumentException("The root of an model can't be null or deselected: " + model.toString());
         }
         projectName = model.getProjectName(); // store project name.
-        EPackage eRoot = ePackageGenerator.generate(model); // generate model model.
+        EPackage eRoot = ePackageGenerator.generate(model, monitor); // generate model model.
         metamodel = new GeneratedEcoreMetamodel(eRoot, model);
+        metamodel.setMetrics(metrics);
         return metamodel;
     }
 
     /**
-     * Saves the metamodel as an Ecore file.
+     * Returns the scheduling rule for saving the metamodel of a project with the saving strategy of the properties, or
+     * with the strategy set by {@link #changeSavingStrategy(String)}.
+     * @param project is the {@link IProject} the metamodel is extracted from.
+     * @return the {@link ISchedulingRule} of the output location, or null if it is outside of the workspace.
+     */
+    public ISchedulingRule getSchedulingRule(IProject project) {
+        return getSchedulingRule(project, properties);
+    }
+
+    /**
+     * Returns the scheduling rule for saving the metamodel of a project with the saving strategy of specific
+     * properties, e.g. properties that are applied to the generator later. A strategy that was set by
+     * {@link #changeSavingStrategy(String)} is used instead.
+     * @param project is the {@link IProject} the metamodel is extracted from.
+     * @param otherProperties are the {@link ExtractionProperties} that determine the saving strategy.
+     * @return the {@link ISchedulingRule} of the output location, or null if it is outside of the workspace.
+     */
+    public ISchedulingRule getSchedulingRule(IProject project, ExtractionProperties otherProperties) {
+        if (explicitStrategy) {
+            return savingStrategy.getSchedulingRule(project);
+        }
+        String strategyName = otherProperties.get(TextProperty.SAVING_STRATEGY);
+        return createSavingStrategy(strategyName, otherProperties).getSchedulingRule(project);
+    }
+
+    /**
+     * Saves the metamodel as an Ecore file with the saving strategy of the properties, or with the strategy set by
+     * {@link #changeSavingStrategy(String)}.
      * @return the saving information.
      */
     public SavingInformation saveMetamodel() {
+        if (!explicitStrategy) {
+            updateSavingStrategy();
+        }
+        return saveMetamodel(savingStrategy);
+    }
+
+    /**
+     * Saves the metamodel as an Ecore file with a specific {@link AbstractSavingStrategy}, e.g. a strategy that needs
+     * additional information like the {@link DirectorySaving}. The output format, the compression and the splitting
+     * are taken from the properties. If the metrics report is enabled, the metrics are saved next to the Ecore file.
+     * @param strategy is the {@link AbstractSavingStrategy} to use.
+     * @return the saving information.
+     */
+    public SavingInformation saveMetamodel(AbstractSavingStrategy strategy) {
         logger.info("Started saving the metamodel");
         if (metamodel == null) {
             throw new IllegalStateException("Cannot save Ecore metamodel before extracting one.");
         }
-        SavingInformation savingInformation = savingStrategy.save(metamodel.getRoot(), projectName);
+        strategy.setOutputFormat(getOutputFormat());
+        strategy.setCompressed(properties.get(BinaryProperty.COMPRESSED_OUTPUT));
+        strategy.setSplit(properties.get(BinaryProperty.SPLIT_OUTPUT));
+        ExtractionMetrics metamodelMetrics = metamodel.getMetrics(); // metrics of the generation of the metamodel
+        metamodelMetrics.startPhase(Phase.SAVE);
+        SavingInformation savingInformation = strategy.save(metamodel.getRoot(), projectName);
+        metamodelMetrics.stopPhase(Phase.SAVE);
         metamodel.setSavingInformation(savingInformation);
+        logger.info(metamodelMetrics);
+        if (properties.get(BinaryProperty.METRICS_REPORT)) {
+            String fileName = savingInformation.getFileName() + METRICS_EXTENSION;
+            metamodelMetrics.save(new File(savingInformation.getFilePath(), fileName));
+            strategy.refreshOutput(); // the strategy refreshed the folder before the report was written
+        }
         return savingInformation;
     }
 
+    /**
+     * Sets the {@link ExtractionMetrics} which record the phases of the following generations and savings.
+     * @param metrics are the {@link ExtractionMetrics}.
+     */
+    public void setMetrics(ExtractionMetrics metrics) {
+        this.metrics = metrics;
+        ePackageGenerator.setMetrics(metrics);
+    }
+
+    /**
+     * Creates the {@link AbstractSavingStrategy} with a specific name and the settings of specific properties. Add custom
+     * strategies here.
+     */
+    private AbstractSavingStrategy createSavingStrategy(String strategyName, ExtractionProperties strategyProperties) {
+        if (isStrategy(ExistingProjectSaving.class, strategyName)) {
+            return new ExistingProjectSaving(OUTPUT_PROJECT);
+        } else if (isStrategy(OriginalProjectSaving.class, strategyName)) {
+            return new OriginalProjectSaving();
+        } else if (isStrategy(CustomPathSaving.class, strategyName)) {
+            return new CustomPathSaving();
+        } else if (isStrategy(CopyProjectSaving.class, strategyName)) {
+            return new CopyProjectSaving(strategyProperties.get(TextProperty.PROJECT_SUFFIX));
+        } else if (isStrategy(NewProjectSaving.class, strategyName)) {
+            return new NewProjectSaving();
+        }
+        logger.error("Unknown saving strategy: " + strategyName);
+        return new NewProjectSaving();
+    }
+
+    /**
+     * Returns the {@link OutputFormat} of the properties. Unknown formats are replaced by XMI.
+     */
+    private OutputFormat getOutputFormat() {
+        String formatName = properties.get(TextProperty.OUTPUT_FORMAT);
+        OutputFormat format = OutputFormat.fromName(formatName);
+        if (format == null) {
+            logger.error("Unknown output format: " + formatName);
+            return OutputFormat.XMI;
+        }
+        return format;
+    }
+
     /**
      * Checks whether a strategy class fits to a strategy name.
      */
     private boolean isStrategy(Class<? extends AbstractSavingStrategy> strategy, String strategyName) {
         return strategy.getSimpleName().startsWith(strategyName);
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates the saving strategy of the properties, unless the current strategy was created with the same settings.
+     */
+    private void updateSavingStrategy() {
+        String strategyName = properties.get(TextProperty.SAVING_STRATEGY);
+        String settings = strategyName + '|' + properties.get(TextProperty.PROJECT_SUFFIX);
+        if (savingStrategy == null || !settings.equals(strategySettings)) {
+            savingStrategy = createSavingStrategy(strategyName, properties);
+            strategySettings = settings;
+        }
+    }
+}
@@ -3,15 +3,17 @@ package eme.generator;
 import org.eclipse.emf.ecore.EPackage;
 
 import eme.generator.saving.SavingInformation;
+import eme.metrics.ExtractionMetrics;
 import eme.model.IntermediateModel;
 
 /**
  * This is a container class for generated Ecore metamodels. It contains a reference to the metamodels root element and
- * the metamodels intermediate model. Additionally, it can contain saving information.
+ * the metamodels intermediate model. Additionally, it can contain saving information and the metrics of the extraction.
  * @author Timur Saglam
  */
 public class GeneratedEcoreMetamodel {
     private final IntermediateModel intermediateModel;
+    private ExtractionMetrics metrics;
     private final EPackage root;
     private SavingInformation savingInformation;
 
@@ -33,6 +35,14 @@ public class GeneratedEcoreMetamodel {
         return intermediateModel;
     }
 
+    /**
+     * Accessor for the {@link ExtractionMetrics} of the extraction, generation and saving of the metamodel.
+     * @return the metrics, or null if there are none.
+     */
+    public ExtractionMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Accessor for the root {@link EPackage}.
      * @return the root.
@@ -61,6 +71,14 @@ public class GeneratedEcoreMetamodel {
         return savingInformation != null;
     }
 
+    /**
+     * Mutator for the {@link ExtractionMetrics} object.
+     * @param metrics are the metrics to set.
+     */
+    public void setMetrics(ExtractionMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     /**
      * Mutator for the {@link SavingInformation} object.
      * @param savingInformation the savingInformation to set
@@ -1,27 +1,17 @@
 package eme.generator;
 
-import static eme.model.datatypes.AccessLevelModifier.NO_MODIFIER;
-import static eme.model.datatypes.AccessLevelModifier.PRIVATE;
-import static eme.model.datatypes.AccessLevelModifier.PROTECTED;
-import static eme.model.datatypes.AccessLevelModifier.PUBLIC;
-
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
 
-import eme.model.ExtractedClass;
 import eme.model.ExtractedEnum;
 import eme.model.ExtractedInterface;
 import eme.model.ExtractedMethod;
 import eme.model.ExtractedPackage;
 import eme.model.ExtractedType;
 import eme.model.MethodType;
-import eme.model.datatypes.AccessLevelModifier;
 import eme.model.datatypes.ExtractedDataType;
 import eme.model.datatypes.ExtractedField;
 import eme.model.datatypes.ExtractedParameter;
@@ -30,21 +20,24 @@ import eme.properties.ExtractionProperties;
 
 /**
  * This class helps to decide whether a extracted element may be generated or not. It combines rules from a properties
- * class with the selection states of the model elements themselves.
+ * class with the selection states of the model elements themselves. The rules are taken from a {@link SelectionPolicy},
+ * which is a snapshot of the properties at the creation of the selection helper. The selection helper is thread-safe.
  * @author Timur Saglam
  */
 public class SelectionHelper {
     private static final Logger logger = LogManager.getLogger(SelectionHelper.class.getName());
+    private final SelectionPolicy policy;
     private final ExtractionProperties properties;
-    private final Map<String, Integer> reportMap;
+    private final AtomicLongArray report; // ungenerated elements per category
 
     /**
-     * Simple constructor, sets the {@link ExtractionProperties} object.
+     * Simple constructor, sets the {@link ExtractionProperties} object and takes the snapshot of its rules.
      * @param properties are the extraction properties.
      */
     public SelectionHelper(ExtractionProperties properties) {
         this.properties = properties;
-        reportMap = new HashMap<String, Integer>();
+        policy = new SelectionPolicy(properties);
+        report = new AtomicLongArray(Category.values().length);
     }
 
     /**
@@ -53,13 +46,7 @@ public class SelectionHelper {
      * @return true if it may be generated.
      */
     public boolean allowsGenerating(ExtractedField attribute) {
-        AccessLevelModifier modifier = attribute.getModifier();
-        boolean allowed = !attribute.isStatic() || properties.get(BinaryProperty.STATIC_FIELDS);
-        allowed &= modifier != PUBLIC || properties.get(BinaryProperty.PUBLIC_FIELDS);
-        allowed &= modifier != NO_MODIFIER || properties.get(BinaryProperty.DEFAULT_FIELDS);
-        allowed &= modifier != PROTECTED || properties.get(BinaryProperty.PROTECTED_FIELDS);
-        allowed &= modifier != PRIVATE || properties.get(BinaryProperty.PRIVATE_FIELDS);
-        return report("attribute", allowed);
+        return report(Category.ATTRIBUTE, policy.allowsField(attribute.getModifier(), attribute.isStatic()));
     }
 
     /**
@@ -68,19 +55,9 @@ public class SelectionHelper {
      * @return true if it may be generated.
      */
     public boolean allowsGenerating(ExtractedMethod method) {
-        AccessLevelModifier modifier = method.getModifier();
         MethodType type = method.getMethodType();
-        boolean allowed = method.isSelected();
-        allowed &= type != MethodType.CONSTRUCTOR || properties.get(BinaryProperty.CONSTRUCTORS);
-        allowed &= !method.isAbstract() || properties.get(BinaryProperty.ABSTRACT_METHODS);
-        allowed &= !method.isStatic() || properties.get(BinaryProperty.STATIC_METHODS);
-        allowed &= modifier != NO_MODIFIER || properties.get(BinaryProperty.DEFAULT_METHODS);
-        allowed &= modifier != PUBLIC || properties.get(BinaryProperty.PUBLIC_METHODS);
-        allowed &= modifier != PROTECTED || properties.get(BinaryProperty.PROTECTED_METHODS);
-        allowed &= modifier != PRIVATE || properties.get(BinaryProperty.PRIVATE_METHODS);
-        allowed &= type != MethodType.ACCESSOR || properties.get(BinaryProperty.ACCESS_METHODS);
-        allowed &= type != MethodType.MUTATOR || properties.get(BinaryProperty.ACCESS_METHODS);
-        return report(type.toString(), allowed);
+        boolean allowed = method.isSelected() && policy.allowsMethod(type, method.getModifier(), method.isAbstract(), method.isStatic());
+        return report(Category.of(type), allowed);
     }
 
     /**
@@ -89,9 +66,8 @@ public class SelectionHelper {
      * @return true if it may be generated.
      */
     public boolean allowsGenerating(ExtractedPackage subpackage) {
-        boolean allowed = subpackage.isSelected();
-        allowed &= !subpackage.isEmpty() || properties.get(BinaryProperty.EMPTY_PACKAGES);
-        return report("package", allowed);
+        boolean allowed = subpackage.isSelected() && (!subpackage.isEmpty() || policy.isEnabled(BinaryProperty.EMPTY_PACKAGES));
+        return report(Category.PACKAGE, allowed);
     }
 
     /**
@@ -100,16 +76,13 @@ public class SelectionHelper {
      * @return true if it may be generated.
      */
     public boolean allowsGenerating(ExtractedType type) {
-        boolean allowed = type.isSelected() && (!type.isInnerType() || properties.get(BinaryProperty.NESTED_TYPES));
-        if (type instanceof ExtractedClass) {
-            allowed &= properties.get(BinaryProperty.CLASSES);
-            allowed &= !((ExtractedClass) type).isThrowable() || properties.get(BinaryProperty.THROWABLES);
-        } else if (type instanceof ExtractedInterface) {
-            allowed &= properties.get(BinaryProperty.INTERFACES);
+        Category category = Category.CLASS;
+        if (type instanceof ExtractedInterface) {
+            category = Category.INTERFACE;
         } else if (type instanceof ExtractedEnum) {
-            allowed &= properties.get(BinaryProperty.ENUMS);
+            category = Category.ENUM;
         }
-        return report(type.getClass().getSimpleName().substring(9).toLowerCase(), allowed); // class, interface, enum
+        return report(category, type.isSelected() && policy.allowsType(type));
     }
 
     /**
@@ -121,11 +94,11 @@ public class SelectionHelper {
      */
     public boolean allowsMultiplicities(ExtractedDataType dataType) {
         if (dataType instanceof ExtractedField) {
-            return properties.get(BinaryProperty.FIELD_MULTIPLICITIES);
+            return policy.isEnabled(BinaryProperty.FIELD_MULTIPLICITIES);
         } else if (dataType instanceof ExtractedParameter) {
-            return properties.get(BinaryProperty.PARAMETER_MULTIPLICITIES);
+            return policy.isEnabled(BinaryProperty.PARAMETER_MULTIPLICITIES);
         } else {
-            return properties.get(BinaryProperty.RETURN_TYPE_MULTIPLICITIES);
+            return policy.isEnabled(BinaryProperty.RETURN_TYPE_MULTIPLICITIES);
         }
     }
 
@@ -134,7 +107,7 @@ public class SelectionHelper {
      * @return true if they are.
      */
     public boolean allowsUnchangeable() {
-        return properties.get(BinaryProperty.FINAL_AS_UNCHANGEABLE);
+        return policy.isEnabled(BinaryProperty.FINAL_AS_UNCHANGEABLE);
     }
 
     /**
@@ -142,18 +115,28 @@ public class SelectionHelper {
      * intermediate models how many of them were not generated due to selection or properties.
      */
     public void generateReport() {
-        if (reportMap.isEmpty()) {
-            logger.info("There were no ungenerated elements.");
-        } else {
-            logger.info("There were ungenerated elements because of selection and/or properties:");
-            LinkedList<String> list = new LinkedList<String>(reportMap.keySet());
-            Collections.sort(list); // sort keys
-            String pluralSuffix;
-            for (String element : list) { // for every reported element
-                pluralSuffix = element.endsWith("s") ? "es" : "s"; // add plural suffix
-                logger.info("   " + element + pluralSuffix + ": " + reportMap.get(element)); // print
+        boolean empty = true;
+        for (Category category : Category.values()) { // categories are in alphabetical order
+            long count = report.get(category.ordinal());
+            if (count > 0) {
+                if (empty) { // first reported category
+                    logger.info("There were ungenerated elements because of selection and/or properties:");
+                    empty = false;
+                }
+                logger.info("   " + category + ": " + count); // print
             }
         }
+        if (empty) {
+            logger.info("There were no ungenerated elements.");
+        }
+    }
+
+    /**
+     * Accessor method for the {@link SelectionPolicy} of the selection helper.
+     * @return the policy.
+     */
+    public SelectionPolicy getPolicy() {
+        return policy;
     }
 
     /**
@@ -165,19 +148,46 @@ public class SelectionHelper {
     }
 
     /**
-     * Increases the number of ungenerated features for a specific type of features.
+     * Increases the number of ungenerated elements for a specific category of elements.
+     * @param category is the specific category of elements.
      * @param allowed specifies whether the generation should be allowed or not.
-     * @param feature is the specific type of features.
      * @return the value of the parameter allowed
      */
-    private boolean report(String feature, boolean allowed) {
+    private boolean report(Category category, boolean allowed) {
         if (!allowed) { // if generating was not allowed:
-            if (reportMap.containsKey(feature)) { // if has already reported on feature
-                reportMap.put(feature, reportMap.get(feature) + 1); // increase
-            } else { // if never reported on feature
-                reportMap.put(feature, 1); // create new entry for feature
-            }
+            report.incrementAndGet(category.ordinal());
         }
         return allowed; // return whether it was allowed or not.
     }
-}
\ No newline at end of file
+
+    /**
+     * Categories of the ungenerated elements of the report, in the alphabetical order of their names.
+     */
+    private enum Category {
+        ACCESSOR_METHOD, ATTRIBUTE, CLASS, CONSTRUCTOR_METHOD, ENUM, INTERFACE, MAIN_METHOD, MUTATOR_METHOD, NORMAL_METHOD, PACKAGE;
+
+        private static final Category[] methodCategories = new Category[MethodType.values().length];
+
+        static {
+            for (MethodType type : MethodType.values()) { // e.g. CONSTRUCTOR => CONSTRUCTOR_METHOD
+                methodCategories[type.ordinal()] = valueOf(type.name() + "_METHOD");
+            }
+        }
+
+        /**
+         * Returns the category of a {@link MethodType}.
+         */
+        static Category of(MethodType type) {
+            return methodCategories[type.ordinal()];
+        }
+
+        /**
+         * Returns the name of the category in plural form, e.g. "constructor methods".
+         */
+        @Override
+        public String toString() {
+            String name = name().toLowerCase().replace('_', ' ');
+            return name + (name.endsWith("s") ? "es" : "s"); // add plural suffix
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package eme.generator;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import eme.model.ExtractedClass;
+import eme.model.ExtractedEnum;
+import eme.model.ExtractedInterface;
+import eme.model.ExtractedType;
+import eme.model.MethodType;
+import eme.model.datatypes.AccessLevelModifier;
+import eme.properties.BinaryProperty;
+import eme.properties.ExtractionProperties;
+
+/**
+ * Immutable snapshot of the selection rules of the {@link ExtractionProperties}. The properties are read once when the
+ * policy is created, which means later changes of the properties do not affect the policy. The rules are stored in
+ * enum sets, so checking them does not access the properties. The policy can be shared between threads.
+ * @author Timur Saglam
+ */
+public final class SelectionPolicy {
+    private final Set<BinaryProperty> enabled;
+    private final Set<AccessLevelModifier> fieldModifiers;
+    private final Set<AccessLevelModifier> methodModifiers;
+    private final Set<MethodType> methodTypes;
+
+    /**
+     * Basic constructor, takes the snapshot of the properties.
+     * @param properties are the {@link ExtractionProperties} that contain the selection rules.
+     */
+    public SelectionPolicy(ExtractionProperties properties) {
+        enabled = EnumSet.noneOf(BinaryProperty.class);
+        for (BinaryProperty property : BinaryProperty.values()) {
+            if (properties.get(property)) {
+                enabled.add(property);
+            }
+        }
+        fieldModifiers = modifiers(BinaryProperty.DEFAULT_FIELDS, BinaryProperty.PRIVATE_FIELDS, BinaryProperty.PROTECTED_FIELDS,
+                BinaryProperty.PUBLIC_FIELDS);
+        methodModifiers = modifiers(BinaryProperty.DEFAULT_METHODS, BinaryProperty.PRIVATE_METHODS, BinaryProperty.PROTECTED_METHODS,
+                BinaryProperty.PUBLIC_METHODS);
+        methodTypes = EnumSet.of(MethodType.MAIN, MethodType.NORMAL);
+        if (isEnabled(BinaryProperty.ACCESS_METHODS)) {
+            methodTypes.add(MethodType.ACCESSOR);
+            methodTypes.add(MethodType.MUTATOR);
+        }
+        if (isEnabled(BinaryProperty.CONSTRUCTORS)) {
+            methodTypes.add(MethodType.CONSTRUCTOR);
+        }
+    }
+
+    /**
+     * Checks whether a field is allowed by the policy.
+     * @param modifier is the access level modifier of the field.
+     * @param isStatic determines whether the field is static.
+     * @return true if it is allowed.
+     */
+    public boolean allowsField(AccessLevelModifier modifier, boolean isStatic) {
+        return fieldModifiers.contains(modifier) & (!isStatic | isEnabled(BinaryProperty.STATIC_FIELDS));
+    }
+
+    /**
+     * Checks whether a method is allowed by the policy.
+     * @param type is the {@link MethodType} of the method.
+     * @param modifier is the access level modifier of the method.
+     * @param isAbstract determines whether the method is abstract.
+     * @param isStatic determines whether the method is static.
+     * @return true if it is allowed.
+     */
+    public boolean allowsMethod(MethodType type, AccessLevelModifier modifier, boolean isAbstract, boolean isStatic) {
+        boolean allowed = methodTypes.contains(type) & methodModifiers.contains(modifier);
+        allowed &= !isAbstract | isEnabled(BinaryProperty.ABSTRACT_METHODS);
+        return allowed & (!isStatic | isEnabled(BinaryProperty.STATIC_METHODS));
+    }
+
+    /**
+     * Checks whether a type is allowed by the policy. The manual selection of the type is not considered. The type needs
+     * to know its outer type and whether it is a throwable, but not its members.
+     * @param type is the {@link ExtractedType}.
+     * @return true if it is allowed.
+     */
+    public boolean allowsType(ExtractedType type) {
+        boolean allowed = !type.isInnerType() || isEnabled(BinaryProperty.NESTED_TYPES);
+        if (type instanceof ExtractedClass) {
+            allowed &= isEnabled(BinaryProperty.CLASSES);
+            allowed &= !((ExtractedClass) type).isThrowable() || isEnabled(BinaryProperty.THROWABLES);
+        } else if (type instanceof ExtractedInterface) {
+            allowed &= isEnabled(BinaryProperty.INTERFACES);
+        } else if (type instanceof ExtractedEnum) {
+            allowed &= isEnabled(BinaryProperty.ENUMS);
+        }
+        return allowed;
+    }
+
+    /**
+     * Checks whether a binary property was enabled when the policy was created.
+     * @param property is the {@link BinaryProperty}.
+     * @return true if it was enabled.
+     */
+    public boolean isEnabled(BinaryProperty property) {
+        return enabled.contains(property);
+    }
+
+    /**
+     * Creates the set of allowed access level modifiers from the properties of the modifiers.
+     */
+    private Set<AccessLevelModifier> modifiers(BinaryProperty noModifier, BinaryProperty privateModifier, BinaryProperty protectedModifier,
+            BinaryProperty publicModifier) {
+        Set<AccessLevelModifier> modifiers = EnumSet.noneOf(AccessLevelModifier.class);
+        if (isEnabled(noModifier)) {
+            modifiers.add(AccessLevelModifier.NO_MODIFIER);
+        }
+        if (isEnabled(privateModifier)) {
+            modifiers.add(AccessLevelModifier.PRIVATE);
+        }
+        if (isEnabled(protectedModifier)) {
+            modifiers.add(AccessLevelModifier.PROTECTED);
+        }
+        if (isEnabled(publicModifier)) {
+            modifiers.add(AccessLevelModifier.PUBLIC);
+        }
+        return modifiers;
+    }
+}
@@ -1,14 +1,13 @@
 package eme.generator;
 
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
-import org.eclipse.emf.common.util.BasicEList;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EClassifier;
 import org.eclipse.emf.ecore.EOperation;
 import org.eclipse.emf.ecore.ETypeParameter;
-import org.eclipse.emf.ecore.impl.EOperationImpl;
 
 import eme.model.datatypes.ExtractedDataType;
 
@@ -19,20 +18,22 @@ import eme.model.datatypes.ExtractedDataType;
  * by a common super class or defined in a common interface. This class bypasses this problem by defining one class that
  * can return {@link ETypeParameter}s from both an {@link EOperation} and an {@link EClassifier}. Additionally, when
  * created from an {@link EOperation}, it can be used to locate {@link ETypeParameter} from the {@link EOperation} and
- * the containing {@link EClass} of the {@link EOperation} at the same time.
+ * the containing {@link EClass} of the {@link EOperation} at the same time. The {@link ETypeParameter}s are indexed by
+ * name, the source of an {@link EOperation} is a scope whose parent is the source of its {@link EClassifier}.
  * @author Timur Saglam
  */
 public class TypeParameterSource {
-    private final EClassifier classifier;
-    private EOperation operation;
+    private final EList<ETypeParameter> eTypeParameters;
+    private int indexedSize; // number of indexed type parameters
+    private final TypeParameterSource parent;
+    private final Map<String, ETypeParameter> typeParameters;
 
     /**
      * Creates new type parameter source from an {@link EClassifier}.
      * @param classifier is the source {@link EClassifier}.
      */
     public TypeParameterSource(EClassifier classifier) {
-        this(classifier, null); // no operation
-        operation = new NullOperation();
+        this(classifier.getETypeParameters(), null); // no operation
     }
 
     /**
@@ -40,17 +41,29 @@ public class TypeParameterSource {
      * @param operation is the source {@link EOperation}. It has to be contained in an {@link EClassifier}.
      */
     public TypeParameterSource(EOperation operation) {
-        this(operation.getEContainingClass(), operation); // implicit EClassifier
+        this(operation, new TypeParameterSource(operation.getEContainingClass())); // implicit EClassifier
+    }
+
+    /**
+     * Creates new type parameter source from an {@link EOperation} and the already existing source of its
+     * {@link EClassifier}.
+     * @param operation is the source {@link EOperation}.
+     * @param classifierSource is the {@link TypeParameterSource} of the {@link EClassifier} of the operation.
+     */
+    public TypeParameterSource(EOperation operation, TypeParameterSource classifierSource) {
+        this(operation.getETypeParameters(), classifierSource);
     }
 
     /**
      * Creates new type parameter source.
-     * @param classifier is an {@link EClassifier} as source.
-     * @param operation is an {@link EOperation} as source.
+     * @param eTypeParameters are the {@link ETypeParameter}s of the scope.
+     * @param parent is the source of the enclosing scope or null.
      */
-    private TypeParameterSource(EClassifier classifier, EOperation operation) {
-        this.classifier = classifier;
-        this.operation = operation;
+    private TypeParameterSource(EList<ETypeParameter> eTypeParameters, TypeParameterSource parent) {
+        this.eTypeParameters = eTypeParameters;
+        this.parent = parent;
+        typeParameters = new HashMap<String, ETypeParameter>();
+        index();
     }
 
     /**
@@ -65,34 +78,31 @@ public class TypeParameterSource {
 
     /**
      * Finds an {@link ETypeParameter} in this {@link ETypeParameter} source which matches an {@link ExtractedDataType}.
+     * The {@link ETypeParameter}s of an {@link EOperation} hide the ones of its {@link EClassifier}.
      * @param dataType is the {@link ExtractedDataType} whose name is used to search the {@link ETypeParameter}.
      * @return the {@link ETypeParameter} or null if there is no matching {@link ETypeParameter}.
      */
     public ETypeParameter getTypeParameter(ExtractedDataType dataType) {
-        String name = dataType.getFullType();
-        ETypeParameter parameter = find(name, operation.getETypeParameters());
-        if (parameter == null) {
-            return find(name, classifier.getETypeParameters());
+        if (indexedSize != eTypeParameters.size()) { // parameters were added later
+            index();
+        }
+        ETypeParameter parameter = typeParameters.get(dataType.getFullType());
+        if (parameter == null && parent != null) {
+            return parent.getTypeParameter(dataType);
         }
         return parameter;
     }
 
     /**
-     * Finds and returns an {@link ETypeParameter} in an {@link List} of {@link ETypeParameter}s.
+     * Indexes the {@link ETypeParameter}s of the scope by their names.
      */
-    private ETypeParameter find(String name, EList<ETypeParameter> list) {
-        for (ETypeParameter parameter : list) {
-            if (parameter.getName().equals(name)) {
-                return parameter;
+    private void index() {
+        typeParameters.clear();
+        for (ETypeParameter parameter : eTypeParameters) {
+            if (!typeParameters.containsKey(parameter.getName())) { // first one wins, like the linear search
+                typeParameters.put(parameter.getName(), parameter);
             }
         }
-        return null;
-    }
-
-    private class NullOperation extends EOperationImpl {
-        @Override
-        public EList<ETypeParameter> getETypeParameters() {
-            return new BasicEList<ETypeParameter>();
-        }
+        indexedSize = eTypeParameters.size();
     }
-}
\ No newline at end of file
+}
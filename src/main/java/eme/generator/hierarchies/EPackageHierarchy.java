@@ -1,11 +1,10 @@
 package eme.generator.hierarchies;
 
-import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
 
+import org.eclipse.emf.common.util.ECollections;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EClassifier;
 import org.eclipse.emf.ecore.ENamedElement;
@@ -15,11 +14,14 @@ import org.eclipse.emf.ecore.EcoreFactory;
 import eme.properties.ExtractionProperties;
 
 /**
- * This class allows to build a package structure, a {@link EPackage} hierarchy for {@link EClassifier}s.
+ * This class allows to build a package structure, a {@link EPackage} hierarchy for {@link EClassifier}s. The packages
+ * of the hierarchy are indexed by their path relative to the base package, which means every package path is only
+ * traversed once, no matter how many classifiers are added to it.
  * @author Timur Saglam
  */
 public class EPackageHierarchy {
     protected final EPackage basePackage;
+    private final Map<String, EPackage> packages; // index of the hierarchy
     protected final ExtractionProperties properties;
 
     /**
@@ -30,6 +32,8 @@ public class EPackageHierarchy {
     protected EPackageHierarchy(EPackage basePackage, ExtractionProperties properties) {
         this.basePackage = basePackage;
         this.properties = properties;
+        packages = new HashMap<String, EPackage>();
+        packages.put("", basePackage); // empty path
     }
 
     /**
@@ -38,11 +42,7 @@ public class EPackageHierarchy {
      * @param path is an array of package names. This is used to build the hierarchy.
      */
     public void add(EClassifier classifier, String[] path) {
-        EPackage currentPackage = basePackage; // package pointer for traversing packages
-        for (int i = 0; i < path.length; i++) {  // for every package in path
-            currentPackage = getSubpackage(path[i], currentPackage); // traverse through hierarchy
-        }
-        currentPackage.getEClassifiers().add(classifier); // add data type
+        addToPackage(classifier, String.join(".", path)); // same index as the dotted paths
     }
 
     /**
@@ -53,20 +53,16 @@ public class EPackageHierarchy {
     }
 
     /**
-     * Sorts a list of {@link ENamedElement}s. The Interface {@link ENamedElement} does not implement the Interface
-     * {@link Comparable}.
+     * Sorts a list of {@link ENamedElement}s in place by their names. The Interface {@link ENamedElement} does not
+     * implement the Interface {@link Comparable}. Elements with equal names are kept in their original order.
      */
     private <T extends ENamedElement> void sort(EList<T> list) {
-        Map<String, T> elementMap = new HashMap<String, T>();
-        for (T element : list) { // for every classifier:
-            elementMap.put(element.getName(), element); // map with its name as key
-        }
-        list.clear(); // clear original list
-        List<String> elementNames = new LinkedList<String>(elementMap.keySet()); // add names to list
-        Collections.sort(elementNames, String.CASE_INSENSITIVE_ORDER); // sort names
-        for (String name : elementNames) { // in sorted order
-            list.add(elementMap.get(name)); // add classifiers from map to original list
-        }
+        ECollections.sort(list, new Comparator<T>() {
+            @Override
+            public int compare(T first, T second) {
+                return String.CASE_INSENSITIVE_ORDER.compare(first.getName(), second.getName());
+            }
+        });
     }
 
     /**
@@ -80,9 +76,36 @@ public class EPackageHierarchy {
         }
     }
 
+    /**
+     * Adds an {@link EClassifier} to the package hierarchy. Generates the missing packages for the hierarchy.
+     * @param classifier is the new {@link EClassifier}.
+     * @param path is the package path relative to the base package, separated by dots (e.g. "java.util"). This is used
+     * to build the hierarchy. The empty path is the base package itself.
+     */
+    protected void addToPackage(EClassifier classifier, String path) {
+        getPackage(path).getEClassifiers().add(classifier); // add data type
+    }
+
+    /**
+     * Returns the {@link EPackage} of a package path relative to the base package. Missing packages are created, known
+     * packages are taken from the index.
+     * @param path is the package path, separated by dots.
+     * @return the {@link EPackage}.
+     */
+    protected EPackage getPackage(String path) {
+        EPackage ePackage = packages.get(path);
+        if (ePackage == null) { // first classifier of the package
+            int index = path.lastIndexOf('.');
+            EPackage superPackage = index == -1 ? basePackage : getPackage(path.substring(0, index));
+            ePackage = getSubpackage(path.substring(index + 1), superPackage);
+            packages.put(path, ePackage);
+        }
+        return ePackage;
+    }
+
     /**
      * Checks whether an {@link EPackage} has a subpackage with a specific name. If it has, the subpackage is returned.
-     * If it has not, a new empty one is created.
+     * If it has not, a new empty one is created. This is only called once per package path.
      * @param name is the name of the desired subpackage.
      * @param superPackage is the {@link EPackage} to search in.
      * @return the subpackage.
@@ -96,6 +119,16 @@ public class EPackageHierarchy {
         return generatePackage(name, superPackage); // create new
     }
 
+    /**
+     * Extracts the package name from an full name (e.g. "java.lang.String" => "java.lang").
+     * @param name is the full name of a type.
+     * @return the package name, which is empty if the type has no package.
+     */
+    protected String packageName(String name) {
+        int index = name.lastIndexOf('.');
+        return index == -1 ? "" : name.substring(0, index); // no package or path
+    }
+
     /**
      * Extracts the package path from an full name (e.g. "java.lang.String" => ["java", "lang"]).
      * @param name is the full name of a type.
@@ -103,7 +136,7 @@ public class EPackageHierarchy {
      */
     protected String[] packagePath(String name) {
         if (name.contains(".")) { // if has package path
-            return name.substring(0, name.lastIndexOf('.')).split("\\."); // get path
+            return packageName(name).split("\\."); // get path
         } else {
             return new String[] {}; // no package.
         }
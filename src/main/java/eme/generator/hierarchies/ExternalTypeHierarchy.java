@@ -26,7 +26,6 @@ public class ExternalTypeHierarchy extends EPackageHierarchy {
      * @param dataType is the new {@link EDataType}.
      */
     public void add(EDataType dataType) {
-        String[] path = packagePath(dataType.getInstanceTypeName()); // get packages from name
-        add(dataType, path); // call super class
+        addToPackage(dataType, packageName(dataType.getInstanceTypeName())); // get packages from name
     }
 }
\ No newline at end of file
@@ -2,8 +2,14 @@ package eme.generator.saving;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
@@ -14,22 +20,36 @@ import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
 import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceFactoryImpl;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.URIHandlerImpl;
 import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
 
 /**
- * This is the abstract super class for all saving strategies.
+ * This is the abstract super class for all saving strategies. The metamodel is saved either as XMI or in the binary
+ * resource format of EMF, both optionally compressed. It is either saved in a single file or split into one file per
+ * top-level package, which are saved in parallel.
  * @author Timur Saglam
  */
 public abstract class AbstractSavingStrategy {
+    private static final int BUFFER_CAPACITY = 65536; // bytes of the binary output buffer
     private static final Logger logger = LogManager.getLogger(AbstractSavingStrategy.class.getName());
     protected static final char SLASH = File.separatorChar;
+    private boolean compressed;
+    private OutputFormat format;
+    private final List<Object> lookupTable; // cached XMI lookup table, reused for every save of the instance
     private final boolean saveInProject;
+    private boolean split;
 
     /**
      * Basic constructor. Takes the name of the project.
@@ -38,6 +58,8 @@ public abstract class AbstractSavingStrategy {
      */
     public AbstractSavingStrategy(boolean saveInProject) {
         this.saveInProject = saveInProject;
+        format = OutputFormat.XMI;
+        lookupTable = new ArrayList<Object>();
     }
 
     /**
@@ -48,10 +70,40 @@ public abstract class AbstractSavingStrategy {
         return getClass().getSimpleName().replace("Saving", "");
     }
 
+    /**
+     * Accessor for the output format of the saved metamodel.
+     * @return the {@link OutputFormat}.
+     */
+    public OutputFormat getOutputFormat() {
+        return format;
+    }
+
+    /**
+     * Returns the scheduling rule which covers the workspace resources that are changed when the metamodel of a project
+     * is saved. Strategies that save in the workspace have to override this method.
+     * @param project is the {@link IProject} the metamodel is extracted from.
+     * @return the {@link ISchedulingRule}, or null if nothing is saved in the workspace.
+     */
+    public ISchedulingRule getSchedulingRule(IProject project) {
+        return null; // default: no workspace resources
+    }
+
+    /**
+     * Refreshes the folder of the last saved metamodel in the Eclipse IDE, e.g. after other files were written next to
+     * the Ecore file. Does nothing if the strategy does not save in a project of the IDE.
+     */
+    public void refreshOutput() {
+        if (saveInProject) {
+            refreshFolder(getFilePath());
+        }
+    }
+
     /**
      * Saves an {@link EPackage} as an Ecore file. The method calls the methods filePath() and fileName() to get the
-     * information it needs to save the metamodel. If the default saving behavior is not wanted, this method has to be
-     * overridden in the strategy class that overrides this class.
+     * information it needs to save the metamodel. The file extension depends on the {@link OutputFormat}. If the
+     * output is split, every subpackage of the {@link EPackage} is saved in its own file next to the file of the
+     * {@link EPackage} (e.g. "Project.datatypes.ecore"), which is referenced from the main file. If the default saving
+     * behavior is not wanted, this method has to be overridden in the strategy class that overrides this class.
      * @param ePackage is the EPackage to save.
      * @param projectName is the name of the project the EPAckage was generated from.
      * @return the saving information.
@@ -59,29 +111,104 @@ public abstract class AbstractSavingStrategy {
     public SavingInformation save(EPackage ePackage, String projectName) {
         beforeSaving(projectName);
         ePackage.eClass(); // Initialize the EPackage:
-        Resource.Factory.Registry registry = Resource.Factory.Registry.INSTANCE;
-        Map<String, Object> map = registry.getExtensionToFactoryMap();
-        map.put(EcorePackage.eNAME, new XMIResourceFactoryImpl());  // add default extension
         ResourceSet resourceSet = new ResourceSetImpl(); // get new resource set
-        Resource resource = null; // create a resource:
+        Map<String, Object> map = resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap();
+        map.put(format.getFileExtension(), createFactory()); // add extension of the format
         String fileName = getFileName(); // get name
         String filePath = getFilePath(); // get path
+        Resource resource = createResource(resourceSet, filePath + fileName, ePackage); // create a resource
+        if (split) {
+            List<Resource> resources = new ArrayList<Resource>();
+            resources.add(resource);
+            for (EPackage subpackage : ePackage.getESubpackages()) { // one resource per top-level package
+                resources.add(createResource(resourceSet, filePath + fileName + "." + subpackage.getName(), subpackage));
+            }
+            saveInParallel(resources);
+            for (EPackage subpackage : ePackage.getESubpackages()) { // subpackages stay in the EPackage
+                subpackage.eResource().getContents().remove(subpackage);
+            }
+        } else {
+            try { // save the content:
+                resource.save(createOptions(lookupTable));
+            } catch (IOException exception) {
+                logger.error("Error while saving the metamodel.", exception);
+            }
+        }
+        refreshOutput();
+        logger.info("The extracted metamodel was saved under: " + getFilePath());
+        return new SavingInformation(filePath, fileName);
+    }
+
+    /**
+     * Mutator for the compression of the saved metamodel.
+     * @param compressed determines whether the file is compressed as zip archive.
+     */
+    public void setCompressed(boolean compressed) {
+        this.compressed = compressed;
+    }
+
+    /**
+     * Mutator for the output format of the saved metamodel.
+     * @param format is the new {@link OutputFormat}.
+     */
+    public void setOutputFormat(OutputFormat format) {
+        this.format = format;
+    }
+
+    /**
+     * Mutator for the splitting of the saved metamodel.
+     * @param split determines whether every top-level package is saved in its own file.
+     */
+    public void setSplit(boolean split) {
+        this.split = split;
+    }
+
+    /**
+     * Creates the resource factory for the output format.
+     */
+    private Resource.Factory createFactory() {
+        if (format == OutputFormat.BINARY) {
+            return new ResourceFactoryImpl() {
+                @Override
+                public Resource createResource(URI uri) {
+                    return new BinaryResourceImpl(uri);
+                }
+            };
+        }
+        return new XMIResourceFactoryImpl();
+    }
+
+    /**
+     * Creates the save options for the output format. XMI is written through a file buffer and uses cached lookup
+     * tables and a cache for deresolved URIs. A lookup table must not be used by multiple saves at the same time.
+     */
+    private Map<Object, Object> createOptions(List<Object> lookupTable) {
+        Map<Object, Object> options = new HashMap<Object, Object>();
+        options.put(Resource.OPTION_ZIP, compressed);
+        if (format == OutputFormat.BINARY) {
+            options.put(BinaryResourceImpl.OPTION_BUFFER_CAPACITY, BUFFER_CAPACITY);
+        } else {
+            options.put(XMLResource.OPTION_USE_FILE_BUFFER, Boolean.TRUE);
+            options.put(XMLResource.OPTION_CONFIGURATION_CACHE, Boolean.TRUE);
+            options.put(XMLResource.OPTION_USE_CACHED_LOOKUP_TABLE, lookupTable);
+            options.put(XMLResource.OPTION_URI_HANDLER, new CachingURIHandler());
+        }
+        return options;
+    }
+
+    /**
+     * Creates a resource for an {@link EPackage}. A subpackage stays in its super package, the resource then contains
+     * it through a cross-resource containment.
+     */
+    private Resource createResource(ResourceSet resourceSet, String path, EPackage ePackage) {
+        Resource resource = null;
         try {
-            resource = resourceSet.createResource(URI.createFileURI(filePath + fileName + ".ecore"));
+            resource = resourceSet.createResource(URI.createFileURI(path + "." + format.getFileExtension()));
         } catch (IllegalArgumentException exception) {
             logger.error("Error while saving the metamodel.", exception);
         }
         resource.getContents().add(ePackage); // add the EPackage as root.
-        try { // save the content:
-            resource.save(Collections.EMPTY_MAP);
-        } catch (IOException exception) {
-            logger.error("Error while saving the metamodel.", exception);
-        }
-        if (saveInProject) {
-            refreshFolder(getFilePath());
-        }
-        logger.info("The extracted metamodel was saved under: " + getFilePath());
-        return new SavingInformation(filePath, fileName);
+        return resource;
     }
 
     /**
@@ -98,6 +225,34 @@ public abstract class AbstractSavingStrategy {
         }
     }
 
+    /**
+     * Saves multiple resources of the metamodel in parallel. Every resource uses its own lookup table.
+     */
+    private void saveInParallel(List<Resource> resources) {
+        for (EClassifier metaclass : EcorePackage.eINSTANCE.getEClassifiers()) { // lazy Ecore caches are not thread-safe
+            if (metaclass instanceof EClass) {
+                ((EClass) metaclass).getEAllStructuralFeatures();
+            }
+        }
+        List<ResourceSaving> tasks = new ArrayList<ResourceSaving>();
+        for (Resource resource : resources) { // one task per resource
+            tasks.add(new ResourceSaving(resource));
+        }
+        ForkJoinPool pool = new ForkJoinPool(); // parallelism is the number of available processors
+        try {
+            for (Future<Resource> result : pool.invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            logger.error("Saving the metamodel was interrupted.", exception);
+        } catch (ExecutionException exception) {
+            logger.error("Error while saving the metamodel.", exception.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     /**
      * Can be used to prepare the saving itself.
      * @param projectName is the name of the project where the metamodel was extracted.
@@ -162,4 +317,49 @@ public abstract class AbstractSavingStrategy {
         }
         return false;
     }
-}
\ No newline at end of file
+
+    /**
+     * {@link URIHandlerImpl} that caches the deresolved URIs. Most references of a metamodel point to the same few
+     * external data types, which means the same URIs are deresolved over and over again.
+     */
+    private static class CachingURIHandler extends URIHandlerImpl {
+        private final Map<URI, URI> deresolvedURIs = new HashMap<URI, URI>();
+
+        @Override
+        public URI deresolve(URI uri) {
+            URI deresolved = deresolvedURIs.get(uri);
+            if (deresolved == null) {
+                deresolved = super.deresolve(uri);
+                deresolvedURIs.put(uri, deresolved);
+            }
+            return deresolved;
+        }
+
+        @Override
+        public void setBaseURI(URI uri) {
+            deresolvedURIs.clear(); // cached URIs are relative to the old base
+            super.setBaseURI(uri);
+        }
+    }
+
+    /**
+     * Task for the parallel saving of a single resource of the metamodel.
+     */
+    private class ResourceSaving implements Callable<Resource> {
+        private final Resource resource;
+
+        /**
+         * Basic constructor.
+         * @param resource is the resource to save.
+         */
+        ResourceSaving(Resource resource) {
+            this.resource = resource;
+        }
+
+        @Override
+        public Resource call() throws IOException {
+            resource.save(createOptions(new ArrayList<Object>()));
+            return resource;
+        }
+    }
+}
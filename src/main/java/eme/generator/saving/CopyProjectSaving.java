@@ -10,6 +10,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 
 /**
  * Saving strategy that copies the original project and saves the ecore file in the copy.
@@ -29,6 +30,11 @@ public class CopyProjectSaving extends OriginalProjectSaving {
         this.projectSuffix = projectSuffix;
     }
 
+    @Override
+    public ISchedulingRule getSchedulingRule(IProject project) {
+        return ResourcesPlugin.getWorkspace().getRoot(); // creating a project requires the rule of the workspace root
+    }
+
     /**
      * Copies an specific {@link IProject}.
      * @param project is the specific {@link IProject} to copy to.
@@ -21,19 +21,19 @@ public class CustomPathSaving extends AbstractSavingStrategy {
     }
 
     /**
-     * Opens a saving dialog and sets the path and the name.
+     * Opens a saving dialog and sets the path and the name. Has to be called on the UI thread.
      */
-    @Override
-    protected void beforeSaving(String projectName) {
+    private void chooseFile(String projectName) {
         Display display = Display.getCurrent();
         Shell shell = new Shell(display);
         shell.open();
         String result = null;
         while (result == null) {
             FileDialog dialog = new FileDialog(shell, SWT.SAVE);
+            String extension = "." + getOutputFormat().getFileExtension();
             dialog.setFilterNames(new String[] { "Ecore File" });
-            dialog.setFilterExtensions(new String[] { "*.ecore" });
-            dialog.setFileName(projectName + ".ecore");
+            dialog.setFilterExtensions(new String[] { "*" + extension });
+            dialog.setFileName(projectName + extension);
             result = dialog.open(); // calculate result:
         }
         int index = result.lastIndexOf(SLASH) + 1;
@@ -42,6 +42,19 @@ public class CustomPathSaving extends AbstractSavingStrategy {
         shell.close();
     }
 
+    /**
+     * Opens a saving dialog on the UI thread, which allows saving from a background job.
+     */
+    @Override
+    protected void beforeSaving(final String projectName) {
+        Display.getDefault().syncExec(new Runnable() {
+            @Override
+            public void run() {
+                chooseFile(projectName);
+            }
+        });
+    }
+
     /*
      * @see eme.generator.saving.AbstractSavingStrategy#fileName()
      */
@@ -0,0 +1,49 @@
+package eme.generator.saving;
+
+import java.io.File;
+
+/**
+ * Saving strategy that saves the ecore file in a specific directory of the file system. It does not need an Eclipse
+ * workspace, which means it can be used for the headless extraction. The file is named after the project.
+ * @author Timur Saglam
+ */
+public class DirectorySaving extends AbstractSavingStrategy {
+    private final File directory;
+    private String name;
+
+    /**
+     * Basic constructor.
+     * @param directory is the directory where the ecore file is saved. It is created if it does not exist.
+     */
+    public DirectorySaving(File directory) {
+        super(false); // no workspace folder to refresh
+        this.directory = directory.getAbsoluteFile();
+    }
+
+    /**
+     * Creates the directory and sets the file name.
+     */
+    @Override
+    protected void beforeSaving(String projectName) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("Could not create the output directory " + directory);
+        }
+        name = projectName;
+    }
+
+    /*
+     * @see eme.generator.saving.AbstractSavingStrategy#fileName()
+     */
+    @Override
+    protected String getFileName() {
+        return name;
+    }
+
+    /*
+     * @see eme.generator.saving.AbstractSavingStrategy#filePath()
+     */
+    @Override
+    protected String getFilePath() {
+        return directory.getPath() + SLASH;
+    }
+}
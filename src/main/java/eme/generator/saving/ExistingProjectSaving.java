@@ -3,8 +3,10 @@ package eme.generator.saving;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 
 /**
  * Saving Strategy that saves the ecore file in an existing Eclipse Project.
@@ -28,6 +30,11 @@ public class ExistingProjectSaving extends AbstractSavingStrategy {
         }
     }
 
+    @Override
+    public ISchedulingRule getSchedulingRule(IProject project) {
+        return ResourcesPlugin.getWorkspace().getRoot().getProject(outputProjectName);
+    }
+
     /*
      * @see eme.generator.saving.AbstractSavingStrategy#beforeSaving(java.lang.String)
      */
@@ -3,6 +3,7 @@ package eme.generator.saving;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 
 import eme.generator.EMFProjectGenerator;
 
@@ -21,6 +22,11 @@ public class NewProjectSaving extends AbstractSavingStrategy {
         super(true);
     }
 
+    @Override
+    public ISchedulingRule getSchedulingRule(IProject project) {
+        return ResourcesPlugin.getWorkspace().getRoot(); // creating a project requires the rule of the workspace root
+    }
+
     /*
      * @see eme.generator.saving.AbstractSavingStrategy#beforeSaving()
      */
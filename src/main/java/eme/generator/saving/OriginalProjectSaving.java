@@ -1,7 +1,9 @@
 package eme.generator.saving;
 
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 
 /**
  * Saving strategy that saves the ecore file in the original project.
@@ -17,6 +19,11 @@ public class OriginalProjectSaving extends AbstractSavingStrategy {
         super(true); // refresh folder.
     }
 
+    @Override
+    public ISchedulingRule getSchedulingRule(IProject project) {
+        return project;
+    }
+
     /*
      * @see eme.generator.saving.AbstractSavingStrategy#beforeSaving()
      */
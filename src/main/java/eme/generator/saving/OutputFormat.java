@@ -0,0 +1,50 @@
+package eme.generator.saving;
+
+/**
+ * Enumeration for the file formats of the saved Ecore metamodel.
+ * @author Timur Saglam
+ */
+public enum OutputFormat {
+    /**
+     * EMF binary resource format. It is not human-readable, but it can be loaded much faster than XMI, which makes it
+     * useful for tools that reload the metamodel frequently.
+     */
+    BINARY("ecorebin"),
+
+    /**
+     * Default XMI format of Ecore files.
+     */
+    XMI("ecore");
+
+    private final String fileExtension;
+
+    /**
+     * Private constructor for enum values with a file extension.
+     * @param fileExtension is the file extension without the dot.
+     */
+    OutputFormat(String fileExtension) {
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Returns the output format with a specific name, ignoring the case (e.g. "Binary" for {@link #BINARY}).
+     * @param name is the name of the output format.
+     * @return the output format or null if there is none with the name.
+     */
+    public static OutputFormat fromName(String name) {
+        for (OutputFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Accessor for the file extension.
+     * @return the file extension without the dot, e.g. "ecore".
+     */
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
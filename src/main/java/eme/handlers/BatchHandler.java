@@ -0,0 +1,133 @@
+package eme.handlers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.window.Window;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.dialogs.ListSelectionDialog;
+import org.eclipse.ui.handlers.HandlerUtil;
+
+import eme.BatchExtraction;
+import eme.properties.ExtractionProperties;
+import eme.properties.TextProperty;
+
+/**
+ * Handler for the batch extraction of multiple projects of the workspace, which are chosen with a selection dialog. The
+ * batch runs in a background {@link Job}, the workers acquire the scheduling rules of their projects themselves.
+ * @author Timur Saglam
+ */
+public class BatchHandler extends MainHandler {
+    private IWorkbenchWindow window;
+
+    /**
+     * Lets the user choose multiple Java projects of the workspace with a selection dialog. All Java projects are
+     * selected initially.
+     * @return the chosen projects, which is empty if the dialog was canceled.
+     */
+    public List<IProject> chooseProjects() {
+        List<IProject> javaProjects = new ArrayList<IProject>();
+        for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+            if (isJavaProject(project)) {
+                javaProjects.add(project);
+            }
+        }
+        ListSelectionDialog dialog = new ListSelectionDialog(window.getShell(), javaProjects, new ArrayContentProvider(),
+                new LabelProvider() {
+                    @Override
+                    public String getText(Object element) {
+                        return ((IProject) element).getName();
+                    }
+                }, "Choose the projects to extract:");
+        dialog.setTitle(title);
+        dialog.setInitialElementSelections(javaProjects);
+        List<IProject> chosenProjects = new ArrayList<IProject>();
+        if (dialog.open() == Window.OK) {
+            for (Object element : dialog.getResult()) {
+                chosenProjects.add((IProject) element);
+            }
+        }
+        return chosenProjects;
+    }
+
+    @Override
+    public Object execute(ExecutionEvent event) throws ExecutionException {
+        window = HandlerUtil.getActiveWorkbenchWindowChecked(event);
+        List<IProject> projects = chooseProjects();
+        if (!projects.isEmpty()) {
+            ExtractionProperties properties = new ExtractionProperties();
+            BatchExtraction batch = new BatchExtraction(Integer.parseInt(properties.get(TextProperty.BATCH_PARALLELISM)));
+            if (batch.supports(properties)) {
+                BatchJob job = new BatchJob(batch, projects);
+                job.setUser(true); // show progress dialog
+                job.schedule(); // no rule, the workers lock their projects
+            } else {
+                String message = "The batch extraction does not support the saving strategy "
+                        + properties.get(TextProperty.SAVING_STRATEGY) + ", because it opens a dialog for every project. "
+                        + "Please choose another saving strategy in the properties.";
+                MessageDialog.openError(window.getShell(), title, message);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Shows the status and the wall time of every extracted project in a message dialog.
+     */
+    private void showSummary(Shell shell, List<BatchExtraction.Result> results) {
+        StringBuilder message = new StringBuilder("Batch extraction finished:\n");
+        for (BatchExtraction.Result result : results) {
+            message.append('\n').append(result);
+        }
+        MessageDialog.openInformation(shell, title, message.toString());
+    }
+
+    /**
+     * Background job for the batch extraction. Shows the summary on the UI thread when the batch is finished.
+     */
+    private class BatchJob extends Job {
+        private final BatchExtraction batch;
+        private final List<IProject> projects;
+        private final Shell shell;
+
+        /**
+         * Basic constructor, has to be called on the UI thread.
+         * @param batch is the {@link BatchExtraction} to run.
+         * @param projects are the {@link IProject}s to extract.
+         */
+        BatchJob(BatchExtraction batch, List<IProject> projects) {
+            super("Extracting Ecore metamodels of " + projects.size() + " projects");
+            this.batch = batch;
+            this.projects = projects;
+            shell = window.getShell(); // the window might change until the batch is finished
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            final List<BatchExtraction.Result> results = batch.extract(projects, monitor);
+            if (shell != null && !shell.isDisposed()) {
+                shell.getDisplay().asyncExec(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (!shell.isDisposed()) {
+                            showSummary(shell, results);
+                        }
+                    }
+                });
+            }
+            return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+        }
+    }
+}
@@ -3,6 +3,14 @@ package eme.handlers;
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.WorkspaceJob;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.MultiRule;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.viewers.ISelection;
@@ -11,19 +19,26 @@ import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.handlers.HandlerUtil;
 
 import eme.EcoreMetamodelExtraction;
+import eme.properties.BinaryProperty;
 import eme.properties.ExtractionProperties;
 
 /**
- * Handler for the Ecore metamodel extraction of specific project.
+ * Handler for the Ecore metamodel extraction of specific project. The extraction runs in a background
+ * {@link WorkspaceJob}, which only locks the project and the output location of the metamodel. The jobs of a handler
+ * run one after another, because they share the instance of the incremental extraction. The instance is only accessed
+ * by the jobs, the UI thread merely creates and replaces it.
  * @author Timur Saglam
  */
 public class ProjectHandler extends MainHandler {
+    private EcoreMetamodelExtraction extraction;
+    private final ISchedulingRule handlerRule; // serializes the jobs of this handler
 
     /**
      * Base constructor.
      */
     public ProjectHandler() {
         super();
+        handlerRule = new MutexRule();
     }
 
     /**
@@ -32,6 +47,25 @@ public class ProjectHandler extends MainHandler {
      */
     public ProjectHandler(String title) {
         super(title);
+        handlerRule = new MutexRule();
+    }
+
+    /**
+     * Cancels the extraction jobs of the handler. The extraction is disposed by a job after the running job finished,
+     * the UI thread does not wait for it, because the saving of the running job might need the UI thread.
+     */
+    @Override
+    public void dispose() {
+        for (Job job : Job.getJobManager().find(this)) { // running and waiting jobs
+            if (job instanceof ExtractionJob) {
+                job.cancel();
+            }
+        }
+        if (extraction != null) {
+            new DisposalJob(extraction).schedule();
+            extraction = null;
+        }
+        super.dispose();
     }
 
     /**
@@ -68,7 +102,9 @@ public class ProjectHandler extends MainHandler {
     }
 
     /**
-     * Allows the configuration of the {@link ExtractionProperties} of the {@link EcoreMetamodelExtraction}.
+     * Allows the configuration of the {@link ExtractionProperties} of the {@link EcoreMetamodelExtraction}. It is called
+     * on the UI thread with a fresh snapshot of the properties file before every extraction. The extraction job applies
+     * the configured snapshot to the {@link EcoreMetamodelExtraction} right before the extraction.
      * @param properties are the {@link ExtractionProperties}.
      */
     protected void configure(ExtractionProperties properties) {
@@ -76,12 +112,105 @@ public class ProjectHandler extends MainHandler {
     }
 
     /**
-     * Starts the extraction by calling an extraction method from the class {@link EcoreMetamodelExtraction}.
+     * Starts the extraction by scheduling a job that calls an extraction method from the class
+     * {@link EcoreMetamodelExtraction}. The properties are reloaded and configured for every extraction. The instance is
+     * kept for the next extraction if the incremental extraction is enabled.
      * @param project is the parameter for the methods that is called.
      */
     protected void startExtraction(IProject project) {
-        EcoreMetamodelExtraction extraction = new EcoreMetamodelExtraction(); // EME instance
-        configure(extraction.getProperties()); // configure extraction
-        extraction.extract(project); // start
+        ExtractionProperties properties = new ExtractionProperties(); // snapshot of the properties file
+        configure(properties);
+        if (extraction == null || !properties.get(BinaryProperty.INCREMENTAL_EXTRACTION)) {
+            if (extraction != null) { // the previous jobs might still use it
+                new DisposalJob(extraction).schedule();
+            }
+            extraction = new EcoreMetamodelExtraction(); // EME instance
+        } // else reuse instance for the incremental extraction
+        ExtractionJob job = new ExtractionJob(project, extraction, properties);
+        job.setRule(MultiRule.combine(handlerRule, extraction.getSchedulingRule(project, properties)));
+        job.setUser(true); // show progress dialog
+        job.schedule(); // start
+    }
+
+    /**
+     * Job that disposes a replaced extraction after the jobs of the handler that were scheduled before.
+     */
+    private class DisposalJob extends Job {
+        private final EcoreMetamodelExtraction replacedExtraction;
+
+        /**
+         * Basic constructor.
+         * @param replacedExtraction is the {@link EcoreMetamodelExtraction} instance to dispose.
+         */
+        DisposalJob(EcoreMetamodelExtraction replacedExtraction) {
+            super("Disposing Ecore metamodel extraction");
+            this.replacedExtraction = replacedExtraction;
+            setRule(handlerRule); // runs after the jobs that use the instance
+            setSystem(true);
+        }
+
+        @Override
+        public boolean belongsTo(Object family) {
+            return family == ProjectHandler.this;
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            replacedExtraction.dispose();
+            return Status.OK_STATUS;
+        }
+    }
+
+    /**
+     * Background job for a single extraction. Applies the properties, reports the progress and can be canceled.
+     */
+    private class ExtractionJob extends WorkspaceJob {
+        private final EcoreMetamodelExtraction extraction;
+        private final IProject project;
+        private final ExtractionProperties properties;
+
+        /**
+         * Basic constructor.
+         * @param project is the {@link IProject} to extract.
+         * @param extraction is the {@link EcoreMetamodelExtraction} instance to use.
+         * @param properties is the configured snapshot of the {@link ExtractionProperties} for the extraction.
+         */
+        ExtractionJob(IProject project, EcoreMetamodelExtraction extraction, ExtractionProperties properties) {
+            super("Extracting Ecore metamodel of " + project.getName());
+            this.project = project;
+            this.extraction = extraction;
+            this.properties = properties;
+        }
+
+        @Override
+        public boolean belongsTo(Object family) {
+            return family == ProjectHandler.this;
+        }
+
+        @Override
+        public IStatus runInWorkspace(IProgressMonitor monitor) {
+            extraction.getProperties().setAll(properties); // no other job uses the instance
+            try {
+                extraction.extract(project, monitor);
+            } catch (OperationCanceledException exception) {
+                return Status.CANCEL_STATUS;
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+    /**
+     * Scheduling rule that only conflicts with itself.
+     */
+    private static class MutexRule implements ISchedulingRule {
+        @Override
+        public boolean contains(ISchedulingRule rule) {
+            return rule == this;
+        }
+
+        @Override
+        public boolean isConflicting(ISchedulingRule rule) {
+            return rule == this || rule instanceof MultiRule && rule.isConflicting(this); // symmetric for multi-rules
+        }
     }
 }
@@ -0,0 +1,68 @@
+package eme.metrics;
+
+/**
+ * Enumeration for the caches of an extraction whose hit rates are reported. Every cache is described by a hit counter
+ * and a miss counter.
+ * @author Timur Saglam
+ */
+public enum Cache {
+    /**
+     * Cache of the resolved type names of the declaring types.
+     */
+    TYPE_NAME_CACHE("typeNameCache", Counter.TYPE_NAME_CACHE_HITS, Counter.TYPE_NAME_CACHE_MISSES),
+
+    /**
+     * Persistent cache of the extracted types of unchanged compilation units.
+     */
+    MODEL_CACHE("modelCache", Counter.MODEL_CACHE_HITS, Counter.MODEL_CACHE_MISSES),
+
+    /**
+     * Cache of the external types that is shared by the extractions of a batch.
+     */
+    EXTERNAL_TYPE_CACHE("externalTypeCache", Counter.EXTERNAL_TYPE_CACHE_HITS, Counter.EXTERNAL_TYPE_CACHE_MISSES),
+
+    /**
+     * Pool of the interned data types.
+     */
+    DATA_TYPE_POOL("dataTypePool", Counter.DATA_TYPE_POOL_HITS, Counter.DATA_TYPE_POOL_MISSES);
+
+    private final Counter hits;
+    private final String key;
+    private final Counter misses;
+
+    /**
+     * Private constructor for enum values with a key and the counters.
+     * @param key is the key of the cache in the metrics report.
+     * @param hits is the {@link Counter} of the cache hits.
+     * @param misses is the {@link Counter} of the cache misses.
+     */
+    Cache(String key, Counter hits, Counter misses) {
+        this.key = key;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /**
+     * Accessor for the counter of the cache hits.
+     * @return the {@link Counter} of the hits.
+     */
+    public Counter getHits() {
+        return hits;
+    }
+
+    /**
+     * Accessor for the key of the cache.
+     * @return the key in the metrics report, e.g. "modelCache".
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Accessor for the counter of the cache misses.
+     * @return the {@link Counter} of the misses.
+     */
+    public Counter getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,42 @@
+package eme.metrics;
+
+/**
+ * Enumeration for the counters of an extraction, e.g. the number of extracted elements or of the calls of expensive
+ * JDT methods.
+ * @author Timur Saglam
+ */
+public enum Counter {
+    PACKAGES("packages"),
+    TYPES("types"),
+    METHODS("methods"),
+    FIELDS("fields"),
+    EXTERNAL_TYPES("externalTypes"),
+    RESOLVE_TYPE_CALLS("resolveTypeCalls"),
+    FIND_TYPE_CALLS("findTypeCalls"),
+    TYPE_NAME_CACHE_HITS("typeNameCacheHits"),
+    TYPE_NAME_CACHE_MISSES("typeNameCacheMisses"),
+    MODEL_CACHE_HITS("modelCacheHits"),
+    MODEL_CACHE_MISSES("modelCacheMisses"),
+    EXTERNAL_TYPE_CACHE_HITS("externalTypeCacheHits"),
+    EXTERNAL_TYPE_CACHE_MISSES("externalTypeCacheMisses"),
+    DATA_TYPE_POOL_HITS("dataTypePoolHits"),
+    DATA_TYPE_POOL_MISSES("dataTypePoolMisses");
+
+    private final String key;
+
+    /**
+     * Private constructor for enum values with a key.
+     * @param key is the key of the counter in the metrics report.
+     */
+    Counter(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Accessor for the key of the counter.
+     * @return the key in the metrics report, e.g. "findTypeCalls".
+     */
+    public String getKey() {
+        return key;
+    }
+}
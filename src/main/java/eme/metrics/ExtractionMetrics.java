@@ -0,0 +1,218 @@
+package eme.metrics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+import eme.model.ExtractedPackage;
+import eme.model.ExtractedType;
+import eme.model.IntermediateModel;
+
+/**
+ * Records the wall time and the CPU time of the {@link Phase}s of a single extraction, as well as its {@link Counter}s.
+ * The times of a phase that is executed multiple times are summed up. The CPU time is the CPU time of the thread that
+ * executes the phase, which means it does not contain the time of the worker threads of a parallel extraction. The
+ * metrics are not thread-safe, the counters of parallel tasks have to be collected after the tasks finished. They can be
+ * saved as a JSON report to compare extractions, e.g. across releases.
+ * @author Timur Saglam
+ */
+public class ExtractionMetrics {
+    private static final Logger logger = LogManager.getLogger(ExtractionMetrics.class.getName());
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+    private final long[] counters;
+    private final long[] cpuStarts;
+    private final long[] cpuTimes; // nanoseconds, negative if not supported
+    private String projectName;
+    private final long[] wallStarts;
+    private final long[] wallTimes; // nanoseconds
+
+    /**
+     * Basic constructor, creates empty metrics.
+     */
+    public ExtractionMetrics() {
+        counters = new long[Counter.values().length];
+        cpuStarts = new long[Phase.values().length];
+        cpuTimes = new long[Phase.values().length];
+        wallStarts = new long[Phase.values().length];
+        wallTimes = new long[Phase.values().length];
+        if (!THREAD_BEAN.isCurrentThreadCpuTimeSupported()) {
+            Arrays.fill(cpuTimes, -1);
+        }
+    }
+
+    /**
+     * Adds a value to a {@link Counter}.
+     * @param counter is the {@link Counter}.
+     * @param value is the value to add.
+     */
+    public void add(Counter counter, long value) {
+        counters[counter.ordinal()] += value;
+    }
+
+    /**
+     * Counts the packages, types, methods, fields and external types of an {@link IntermediateModel}. The name of the
+     * model is used as project name of the report.
+     * @param model is the {@link IntermediateModel}.
+     */
+    public void count(IntermediateModel model) {
+        projectName = model.getProjectName();
+        add(Counter.EXTERNAL_TYPES, model.getExternalTypes().size());
+        if (model.getRoot() != null) {
+            count(model.getRoot());
+        }
+    }
+
+    /**
+     * Returns the value of a {@link Counter}.
+     * @param counter is the {@link Counter}.
+     * @return the value.
+     */
+    public long get(Counter counter) {
+        return counters[counter.ordinal()];
+    }
+
+    /**
+     * Returns the CPU time of a {@link Phase}.
+     * @param phase is the {@link Phase}.
+     * @return the CPU time of the thread that executed the phase in nanoseconds, or a negative value if the CPU time
+     * is not supported by the JVM.
+     */
+    public long getCpuTime(Phase phase) {
+        return cpuTimes[phase.ordinal()];
+    }
+
+    /**
+     * Returns the hit rate of a {@link Cache}.
+     * @param cache is the {@link Cache}.
+     * @return the ratio of the hits to all requests, or NaN if the cache was not used.
+     */
+    public double getHitRate(Cache cache) {
+        long hits = get(cache.getHits());
+        long requests = hits + get(cache.getMisses());
+        return requests == 0 ? Double.NaN : (double) hits / requests;
+    }
+
+    /**
+     * Returns the wall time of a {@link Phase}.
+     * @param phase is the {@link Phase}.
+     * @return the wall time in nanoseconds.
+     */
+    public long getWallTime(Phase phase) {
+        return wallTimes[phase.ordinal()];
+    }
+
+    /**
+     * Saves the metrics as JSON report.
+     * @param file is the report file, which is overwritten if it exists.
+     */
+    public void save(File file) {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(toJSON());
+            logger.info("The extraction metrics were saved under: " + file.getPath());
+        } catch (IOException exception) {
+            logger.error("Error while saving the extraction metrics.", exception);
+        }
+    }
+
+    /**
+     * Starts the time measurement of a {@link Phase}.
+     * @param phase is the {@link Phase}.
+     */
+    public void startPhase(Phase phase) {
+        if (cpuTimes[phase.ordinal()] >= 0) {
+            cpuStarts[phase.ordinal()] = THREAD_BEAN.getCurrentThreadCpuTime();
+        }
+        wallStarts[phase.ordinal()] = System.nanoTime();
+    }
+
+    /**
+     * Stops the time measurement of a {@link Phase}, which has to be started on the same thread.
+     * @param phase is the {@link Phase}.
+     */
+    public void stopPhase(Phase phase) {
+        wallTimes[phase.ordinal()] += System.nanoTime() - wallStarts[phase.ordinal()];
+        if (cpuTimes[phase.ordinal()] >= 0) {
+            cpuTimes[phase.ordinal()] += THREAD_BEAN.getCurrentThreadCpuTime() - cpuStarts[phase.ordinal()];
+        }
+    }
+
+    /**
+     * Creates the JSON report of the metrics. Times are given in milliseconds, unknown values are null.
+     * @return the JSON report.
+     */
+    public String toJSON() {
+        StringBuilder builder = new StringBuilder("{\n");
+        builder.append("  \"project\": ").append(projectName == null ? "null" : quote(projectName)).append(",\n");
+        builder.append("  \"phases\": {");
+        for (Phase phase : Phase.values()) {
+            builder.append(phase.ordinal() == 0 ? "\n" : ",\n");
+            builder.append("    ").append(quote(phase.getKey())).append(": {\"wallTime\": ");
+            builder.append(toMillis(getWallTime(phase))).append(", \"cpuTime\": ").append(toMillis(getCpuTime(phase))).append('}');
+        }
+        builder.append("\n  },\n  \"counters\": {");
+        for (Counter counter : Counter.values()) {
+            builder.append(counter.ordinal() == 0 ? "\n" : ",\n");
+            builder.append("    ").append(quote(counter.getKey())).append(": ").append(get(counter));
+        }
+        builder.append("\n  },\n  \"hitRates\": {");
+        for (Cache cache : Cache.values()) {
+            double hitRate = getHitRate(cache);
+            builder.append(cache.ordinal() == 0 ? "\n" : ",\n");
+            builder.append("    ").append(quote(cache.getKey())).append(": ");
+            builder.append(Double.isNaN(hitRate) ? "null" : String.format(Locale.ROOT, "%.4f", hitRate));
+        }
+        return builder.append("\n  }\n}\n").toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("Extraction metrics:");
+        for (Phase phase : Phase.values()) {
+            builder.append(' ').append(phase.getKey()).append('=').append(toMillis(getWallTime(phase))).append("ms");
+        }
+        for (Counter counter : Counter.values()) {
+            builder.append(' ').append(counter.getKey()).append('=').append(get(counter));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Counts the subpackages, types, methods and fields of an {@link ExtractedPackage} recursively.
+     */
+    private void count(ExtractedPackage extractedPackage) {
+        add(Counter.PACKAGES, 1);
+        for (ExtractedType type : extractedPackage.getTypes()) {
+            add(Counter.TYPES, 1);
+            add(Counter.METHODS, type.getMethods().size());
+            add(Counter.FIELDS, type.getFields().size());
+        }
+        for (ExtractedPackage subpackage : extractedPackage.getSubpackages()) {
+            count(subpackage);
+        }
+    }
+
+    /**
+     * Quotes a string for JSON.
+     */
+    private String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    /**
+     * Converts nanoseconds to milliseconds with three decimals, or to null if the value is negative.
+     */
+    private String toMillis(long nanos) {
+        return nanos < 0 ? "null" : String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI);
+    }
+}
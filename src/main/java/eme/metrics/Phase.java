@@ -0,0 +1,60 @@
+package eme.metrics;
+
+/**
+ * Enumeration for the timed phases of an extraction, in the order in which they are executed.
+ * @author Timur Saglam
+ */
+public enum Phase {
+    /**
+     * Discovery of the packages and the compilation units of a project, including the loading of the model cache.
+     */
+    PACKAGE_DISCOVERY("packageDiscovery"),
+
+    /**
+     * Extraction of the types of the compilation units, or of the changed compilation units for incremental updates.
+     */
+    TYPE_EXTRACTION("typeExtraction"),
+
+    /**
+     * Resolution of the external types that are referenced by the extracted types.
+     */
+    EXTERNAL_TYPE_RESOLUTION("externalTypeResolution"),
+
+    /**
+     * Sorting of the intermediate model.
+     */
+    SORT("sort"),
+
+    /**
+     * Generation of the Ecore packages and their classifiers.
+     */
+    EPACKAGE_GENERATION("ePackageGeneration"),
+
+    /**
+     * Completion of the generated classifiers with their features and operations.
+     */
+    CLASSIFIER_COMPLETION("classifierCompletion"),
+
+    /**
+     * Saving of the Ecore metamodel.
+     */
+    SAVE("save");
+
+    private final String key;
+
+    /**
+     * Private constructor for enum values with a key.
+     * @param key is the key of the phase in the metrics report.
+     */
+    Phase(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Accessor for the key of the phase.
+     * @return the key in the metrics report, e.g. "packageDiscovery".
+     */
+    public String getKey() {
+        return key;
+    }
+}
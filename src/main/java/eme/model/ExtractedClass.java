@@ -7,6 +7,7 @@ import eme.model.datatypes.ExtractedDataType;
  * @author Timur Saglam
  */
 public class ExtractedClass extends ExtractedType {
+    private static final long serialVersionUID = 1L;
     private final boolean abstractClass;
     private final boolean throwable;
 
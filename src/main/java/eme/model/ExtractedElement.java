@@ -1,21 +1,29 @@
 package eme.model;
 
+import java.io.Serializable;
+
 /**
- * Superclass of all extracted elements of an {@link IntermediateModel}.
+ * Superclass of all extracted elements of an {@link IntermediateModel}. The full name and its hash code are computed
+ * once, because they are used for every lookup in the model. The simple name is derived from the full name. The parent
+ * names are interned, which means all elements of the same package or type share a single parent name instance, also
+ * after they were deserialized, e.g. from the model cache.
  * @author Timur Saglam
  */
-public abstract class ExtractedElement implements Comparable<ExtractedElement> {
-    protected String name;
-    protected String parent;
+public abstract class ExtractedElement implements Serializable, Comparable<ExtractedElement> {
+    private static final long serialVersionUID = 1L;
+    private final String fullName;
+    private final int hash; // hash code of the full name
+    protected String parent; // interned, not final to restore the sharing when deserialized
     protected boolean selected; // selection for saving.
 
     /**
-     * Basic constructor which extracts the name and the parents name from the full name.
+     * Basic constructor which extracts the parents name from the full name.
      * @param fullName is the full name.
      */
     public ExtractedElement(String fullName) {
-        name = createName(fullName);
-        parent = createPath(fullName);
+        this.fullName = fullName;
+        parent = createPath(fullName).intern(); // shared with all elements of the same parent
+        hash = fullName.hashCode();
         selected = true;
     }
 
@@ -27,7 +35,7 @@ public abstract class ExtractedElement implements Comparable<ExtractedElement> {
         if (o == null) {
             throw new IllegalArgumentException("Cannot compare " + toString() + " with null!");
         }
-        return name.compareTo(o.getName());
+        return getName().compareTo(o.getName());
     }
 
     /**
@@ -36,7 +44,8 @@ public abstract class ExtractedElement implements Comparable<ExtractedElement> {
     @Override
     public boolean equals(Object obj) {
         if (this.getClass() == obj.getClass()) { // same class
-            return getFullName().equals(((ExtractedElement) obj).getFullName()); // same full name
+            ExtractedElement other = (ExtractedElement) obj;
+            return hash == other.hash && fullName.equals(other.fullName); // same full name
         }
         return false;
     }
@@ -47,10 +56,7 @@ public abstract class ExtractedElement implements Comparable<ExtractedElement> {
      * dot.
      */
     public String getFullName() {
-        if ("".equals(parent)) {
-            return name;
-        }
-        return parent + '.' + name;
+        return fullName;
     }
 
     /**
@@ -58,7 +64,7 @@ public abstract class ExtractedElement implements Comparable<ExtractedElement> {
      * @return the element name.
      */
     public String getName() {
-        return name;
+        return parent.isEmpty() ? fullName : fullName.substring(parent.length() + 1); // name follows the separator
     }
 
     /**
@@ -74,10 +80,7 @@ public abstract class ExtractedElement implements Comparable<ExtractedElement> {
      */
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((getFullName() == null) ? 0 : getFullName().hashCode());
-        return result;
+        return hash;
     }
 
     /**
@@ -135,4 +138,13 @@ public abstract class ExtractedElement implements Comparable<ExtractedElement> {
             return ""; // has no parent.
         }
     }
+
+    /**
+     * Restores the sharing of the interned parent name after deserialization.
+     * @return the deserialized element.
+     */
+    protected Object readResolve() {
+        parent = parent.intern(); // deserialized strings are not interned
+        return this;
+    }
 }
\ No newline at end of file
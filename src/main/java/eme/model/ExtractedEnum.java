@@ -8,6 +8,7 @@ import java.util.List;
  * @author Timur Saglam
  */
 public class ExtractedEnum extends ExtractedType {
+    private static final long serialVersionUID = 1L;
     private final List<ExtractedEnumConstant> constants;
 
     /**
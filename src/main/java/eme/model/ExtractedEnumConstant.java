@@ -1,10 +1,13 @@
 package eme.model;
 
+import java.io.Serializable;
+
 /**
  * Represents an enumeral in the {@link IntermediateModel}.
  * @author Timur Saglam
  */
-public class ExtractedEnumConstant {
+public class ExtractedEnumConstant implements Serializable {
+    private static final long serialVersionUID = 1L;
     private final String name;
 
     /**
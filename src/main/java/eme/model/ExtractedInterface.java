@@ -5,6 +5,7 @@ package eme.model;
  * @author Timur Saglam
  */
 public class ExtractedInterface extends ExtractedType {
+    private static final long serialVersionUID = 1L;
 
     /**
      * Basic constructor.
@@ -13,6 +13,7 @@ import eme.model.datatypes.ExtractedTypeParameter;
  * @author Timur Saglam
  */
 public class ExtractedMethod extends ExtractedElement {
+    private static final long serialVersionUID = 1L;
     private final List<ExtractedDataType> exceptions;
     private boolean isAbstract;
     private boolean isStatic;
@@ -160,7 +161,7 @@ public class ExtractedMethod extends ExtractedElement {
 
     @Override
     public String toString() {
-        String result = modifier + " " + parent.toString() + "." + name + parameters.toString();
+        String result = modifier + " " + parent.toString() + "." + getName() + parameters.toString();
         if (returnType != null) {
             result += " : " + returnType.toString();
         }
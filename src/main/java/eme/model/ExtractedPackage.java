@@ -1,18 +1,25 @@
 package eme.model;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 /**
- * Is the representation of a package in the {@link IntermediateModel}.
+ * Is the representation of a package in the {@link IntermediateModel}. The package knows its parent package and
+ * counts the types of itself and all its subpackages, which means checking whether a package is empty does not need to
+ * traverse the package tree.
  * @author Timur Saglam
  */
 public class ExtractedPackage extends ExtractedElement {
+    private static final long serialVersionUID = 2L;
     private final List<ExtractedClass> classes;
+    private int descendantTypes; // types of the package and all its subpackages
     private final List<ExtractedEnum> enumerations;
     private final List<ExtractedInterface> interfaces;
+    private ExtractedPackage parentPackage;
     private final List<ExtractedPackage> subpackages;
+    private transient List<ExtractedType> types; // read-only view, created on demand
     protected boolean root;
 
     /**
@@ -21,10 +28,10 @@ public class ExtractedPackage extends ExtractedElement {
      */
     public ExtractedPackage(String fullName) {
         super(fullName);
-        subpackages = new LinkedList<ExtractedPackage>();
-        classes = new LinkedList<ExtractedClass>();
-        interfaces = new LinkedList<ExtractedInterface>();
-        enumerations = new LinkedList<ExtractedEnum>();
+        subpackages = new ArrayList<ExtractedPackage>();
+        classes = new ArrayList<ExtractedClass>();
+        interfaces = new ArrayList<ExtractedInterface>();
+        enumerations = new ArrayList<ExtractedEnum>();
         root = false;
     }
 
@@ -34,6 +41,8 @@ public class ExtractedPackage extends ExtractedElement {
      */
     public void add(ExtractedPackage subpackage) {
         subpackages.add(subpackage);
+        subpackage.parentPackage = this;
+        updateTypeCount(subpackage.descendantTypes);
     }
 
     /**
@@ -47,7 +56,10 @@ public class ExtractedPackage extends ExtractedElement {
             interfaces.add((ExtractedInterface) type);
         } else if (type.getClass() == ExtractedEnum.class) {
             enumerations.add((ExtractedEnum) type);
+        } else {
+            return; // unknown kind of type
         }
+        updateTypeCount(1);
     }
 
     /**
@@ -74,6 +86,22 @@ public class ExtractedPackage extends ExtractedElement {
         return interfaces;
     }
 
+    /**
+     * Accessor for the number of types of the package and all its subpackages.
+     * @return the number of types.
+     */
+    public int getDescendantTypeCount() {
+        return descendantTypes;
+    }
+
+    /**
+     * Accessor for the parent package.
+     * @return the parent package or null if the package is the root package or was not added to a package.
+     */
+    public ExtractedPackage getParentPackage() {
+        return parentPackage;
+    }
+
     /**
      * accessor for the subpackages.
      * @return the subpackages.
@@ -83,27 +111,22 @@ public class ExtractedPackage extends ExtractedElement {
     }
 
     /**
-     * accessor for the {@link ExtractedType}s (interfaces, classes and enumerations).
-     * @return the types.
+     * accessor for the {@link ExtractedType}s (enumerations, classes and interfaces).
+     * @return a read-only view of the types, which reflects later changes of the package.
      */
     public List<ExtractedType> getTypes() {
-        List<ExtractedType> types = new LinkedList<ExtractedType>(enumerations);
-        types.addAll(classes);
-        types.addAll(interfaces);
+        if (types == null) {
+            types = new TypeView();
+        }
         return types;
     }
 
     /**
-     * Checks whether package is empty.
+     * Checks whether package is empty, which means neither the package nor its subpackages contain types.
      * @return true if the package is empty.
      */
     public boolean isEmpty() {
-        for (ExtractedPackage subpackage : subpackages) {
-            if (!subpackage.isEmpty()) {
-                return false;
-            }
-        }
-        return getTypes().isEmpty();
+        return descendantTypes == 0;
     }
 
     /**
@@ -114,6 +137,26 @@ public class ExtractedPackage extends ExtractedElement {
         return root;
     }
 
+    /**
+     * Removes an {@link ExtractedType} from the package.
+     * @param type is the {@link ExtractedType} to remove.
+     * @return true if the package contained the type.
+     */
+    public boolean remove(ExtractedType type) {
+        boolean removed = false;
+        if (type.getClass() == ExtractedClass.class) {
+            removed = classes.remove(type);
+        } else if (type.getClass() == ExtractedInterface.class) {
+            removed = interfaces.remove(type);
+        } else if (type.getClass() == ExtractedEnum.class) {
+            removed = enumerations.remove(type);
+        }
+        if (removed) {
+            updateTypeCount(-1);
+        }
+        return removed;
+    }
+
     /**
      * Sets the package as root package, marking it as default package by changing its name.
      */
@@ -136,9 +179,38 @@ public class ExtractedPackage extends ExtractedElement {
 
     @Override
     public String toString() {
-        if ("".equals(name)) {
+        if ("".equals(getName())) {
             return "DEFAULT";
         }
         return getFullName();
     }
+
+    /**
+     * Adds a difference to the type count of the package and all its parent packages.
+     */
+    private void updateTypeCount(int difference) {
+        for (ExtractedPackage current = this; current != null; current = current.parentPackage) {
+            current.descendantTypes += difference;
+        }
+    }
+
+    /**
+     * Read-only view of the enumerations, classes and interfaces of the package, without copying them.
+     */
+    private class TypeView extends AbstractList<ExtractedType> {
+        @Override
+        public ExtractedType get(int index) {
+            if (index < enumerations.size()) {
+                return enumerations.get(index);
+            } else if (index < enumerations.size() + classes.size()) {
+                return classes.get(index - enumerations.size());
+            }
+            return interfaces.get(index - enumerations.size() - classes.size());
+        }
+
+        @Override
+        public int size() {
+            return enumerations.size() + classes.size() + interfaces.size();
+        }
+    }
 }
@@ -12,6 +12,7 @@ import eme.model.datatypes.ExtractedTypeParameter;
  * @author Timur Saglam
  */
 public abstract class ExtractedType extends ExtractedElement {
+    private static final long serialVersionUID = 1L;
     protected final List<ExtractedField> fields;
     protected final List<ExtractedMethod> methods;
     protected String outerType;
@@ -61,7 +62,8 @@ public abstract class ExtractedType extends ExtractedElement {
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof ExtractedType) { // same class
-            return getFullName().equals(((ExtractedType) obj).getFullName()); // same full name
+            ExtractedType other = (ExtractedType) obj;
+            return hashCode() == other.hashCode() && getFullName().equals(other.getFullName()); // same full name
         }
         return false;
     }
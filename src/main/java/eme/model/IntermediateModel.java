@@ -1,6 +1,8 @@
 package eme.model;
 
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.log4j.LogManager;
@@ -8,15 +10,19 @@ import org.apache.log4j.Logger;
 
 /**
  * Base class for an intermediate model. The intermediate model is the temporary model between the implicit model of the
- * code files and the Ecore metamodel.
+ * code files and the Ecore metamodel. Next to the ordered sets of elements, the model keeps indices that map the full
+ * names of the elements to the elements, which allows constant time lookups.
  * @author Timur Saglam
  */
 public class IntermediateModel {
     private static final Logger logger = LogManager.getLogger(IntermediateModel.class.getName());
+    private final Map<String, ExtractedType> externalTypeIndex;
     private final Set<ExtractedType> externalTypes;
+    private final Map<String, ExtractedPackage> packageIndex;
     private final Set<ExtractedPackage> packages;
     private final String projectName;
     private ExtractedPackage rootPackage;
+    private final Map<String, ExtractedType> typeIndex;
     private final Set<ExtractedType> types;
 
     /**
@@ -27,6 +33,9 @@ public class IntermediateModel {
         packages = new LinkedHashSet<ExtractedPackage>();
         types = new LinkedHashSet<ExtractedType>();
         externalTypes = new LinkedHashSet<ExtractedType>();
+        packageIndex = new HashMap<String, ExtractedPackage>();
+        typeIndex = new HashMap<String, ExtractedType>();
+        externalTypeIndex = new HashMap<String, ExtractedType>();
         this.projectName = projectName;
     }
 
@@ -36,6 +45,7 @@ public class IntermediateModel {
      */
     public void add(ExtractedPackage newPackage) {
         if (packages.add(newPackage)) {
+            packageIndex.put(newPackage.getFullName(), newPackage);
             if (rootPackage == null) { // if it is the first package
                 rootPackage = newPackage; // add as root
                 newPackage.setAsRoot(); // mark as root
@@ -59,7 +69,9 @@ public class IntermediateModel {
      * @param type is the new external type to add.
      */
     public void addExternal(ExtractedType type) {
-        externalTypes.add(type);
+        if (externalTypes.add(type)) {
+            externalTypeIndex.put(type.getFullName(), type);
+        }
     }
 
     /**
@@ -72,6 +84,7 @@ public class IntermediateModel {
         if (!type.getParentName().contains(parent.getFullName())) {
             throw new IllegalArgumentException("Invalid parent declaration in " + type + " to " + parent);
         } else if (types.add(type)) { // add class to list of classes.
+            typeIndex.put(type.getFullName(), type);
             parent.add(type);
         }
     }
@@ -100,7 +113,7 @@ public class IntermediateModel {
      * @return the external {@link ExtractedType} with the matching name or null if the name is not found.
      */
     public ExtractedType getExternalType(String fullName) {
-        return getTypeFrom(fullName, externalTypes);
+        return externalTypeIndex.get(fullName);
     }
 
     /**
@@ -119,10 +132,9 @@ public class IntermediateModel {
      * check whether there is a certain package in the model. It is explicitly used to find an existing package.
      */
     public ExtractedPackage getPackage(String fullName) {
-        for (ExtractedPackage aPackage : packages) { // for all packages
-            if (aPackage.getFullName().equals(fullName)) { // if parent
-                return aPackage; // can only have on parent
-            }
+        ExtractedPackage aPackage = packageIndex.get(fullName);
+        if (aPackage != null) {
+            return aPackage;
         }
         throw new IllegalArgumentException("Could not find package " + fullName);
     }
@@ -149,7 +161,7 @@ public class IntermediateModel {
      * @return the {@link ExtractedType} with the matching name or null if the name is not found.
      */
     public ExtractedType getType(String fullName) {
-        return getTypeFrom(fullName, types);
+        return typeIndex.get(fullName);
     }
 
     /**
@@ -170,24 +182,39 @@ public class IntermediateModel {
         rootPackage.sort();
     }
 
-    @Override
-    public String toString() {
-        return "IntermediateModel of " + projectName + ": [Packages=" + packages.size() + ", Types=" + types.size() + ", ExternalTypes="
-                + externalTypes.size() + "]";
+    /**
+     * Removes the {@link ExtractedType} whose full name matches a given full name from the intermediate model and from
+     * its parent {@link ExtractedPackage}. If the type is also an external type, it is removed from the external types.
+     * @param fullName is the full name of the {@link ExtractedType} to remove.
+     * @param parent is the parent {@link ExtractedPackage} of the type.
+     * @return the removed {@link ExtractedType} or null if there was no type with a matching name.
+     */
+    public ExtractedType removeFrom(String fullName, ExtractedPackage parent) {
+        ExtractedType type = typeIndex.remove(fullName);
+        if (type != null) {
+            types.remove(type);
+            parent.remove(type);
+            removeExternal(fullName);
+        }
+        return type;
     }
 
     /**
-     * Finds {@link ExtractedType} from set of {@link ExtractedType}s by its full name.
-     * @param fullName is full name.
-     * @param typeSet is the set of {@link ExtractedType}s.
-     * @return the {@link ExtractedType} with the matching name or null if the name is not found.
+     * Removes the external {@link ExtractedType} whose full name matches a given full name from the intermediate model.
+     * @param fullName is the full name of the external {@link ExtractedType} to remove.
+     * @return the removed external {@link ExtractedType} or null if there was no external type with a matching name.
      */
-    private ExtractedType getTypeFrom(String fullName, Set<ExtractedType> typeSet) {
-        for (ExtractedType type : typeSet) { // for all packages
-            if (type.getFullName().equals(fullName)) { // if parent
-                return type; // can only have on parent
-            }
+    public ExtractedType removeExternal(String fullName) {
+        ExtractedType type = externalTypeIndex.remove(fullName);
+        if (type != null) {
+            externalTypes.remove(type);
         }
-        return null;
+        return type;
+    }
+
+    @Override
+    public String toString() {
+        return "IntermediateModel of " + projectName + ": [Packages=" + packages.size() + ", Types=" + types.size() + ", ExternalTypes="
+                + externalTypes.size() + "]";
     }
 }
\ No newline at end of file
@@ -0,0 +1,157 @@
+package eme.model.datatypes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Interning pool for {@link ExtractedDataType}s. Most data types of a model are identical (e.g. "java.lang.String" or
+ * "java.util.List<String>"), which means one shared instance per distinct data type is sufficient. Shared data types
+ * are frozen, their mutators throw an {@link IllegalStateException}. Variables are not shared, because they carry
+ * variable-specific data like their identifier, but their names and generic arguments are. The pool is thread-safe and
+ * can be used by multiple extractors at the same time.
+ * @author Timur Saglam
+ */
+public class DataTypePool {
+    private final ConcurrentMap<List<ExtractedDataType>, List<ExtractedDataType>> argumentLists;
+    private final ConcurrentMap<String, ExtractedDataType> dataTypes;
+    private final AtomicLong hits;
+    private final ConcurrentMap<String, String> names;
+    private final AtomicLong requests;
+
+    /**
+     * Basic constructor, creates an empty pool.
+     */
+    public DataTypePool() {
+        argumentLists = new ConcurrentHashMap<List<ExtractedDataType>, List<ExtractedDataType>>();
+        dataTypes = new ConcurrentHashMap<String, ExtractedDataType>();
+        names = new ConcurrentHashMap<String, String>();
+        hits = new AtomicLong();
+        requests = new AtomicLong();
+    }
+
+    /**
+     * Accessor for the number of data types that were replaced by an existing shared instance.
+     * @return the number of pool hits.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Accessor for the number of data types that were passed to the pool.
+     * @return the number of requests.
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Returns the shared instance of a data type. If there is none, the data type itself becomes the shared instance.
+     * The generic arguments of the data type are interned as well.
+     * @param dataType is the data type, which must not be a {@link ExtractedVariable}.
+     * @return the frozen shared instance that is equal to the data type.
+     */
+    public ExtractedDataType intern(ExtractedDataType dataType) {
+        if (dataType instanceof ExtractedVariable) {
+            throw new IllegalArgumentException("Variables cannot be shared: " + dataType);
+        } else if (dataType.isFrozen()) {
+            return dataType; // already shared
+        }
+        requests.incrementAndGet();
+        String key = createKey(dataType);
+        ExtractedDataType sharedType = dataTypes.get(key);
+        if (sharedType != null) {
+            hits.incrementAndGet();
+            return sharedType;
+        }
+        shareContent(dataType);
+        dataType.freeze();
+        sharedType = dataTypes.putIfAbsent(key, dataType);
+        if (sharedType != null) { // other thread was faster
+            hits.incrementAndGet();
+            return sharedType;
+        }
+        return dataType;
+    }
+
+    /**
+     * Replaces the names and the generic arguments of a variable with shared instances. The variable itself stays
+     * mutable and is not shared.
+     * @param <T> is the type of the variable, e.g. {@link ExtractedField} or {@link ExtractedParameter}.
+     * @param variable is the variable whose content is shared.
+     * @return the variable.
+     */
+    public <T extends ExtractedVariable> T internContent(T variable) {
+        shareContent(variable);
+        return variable;
+    }
+
+    /**
+     * Returns the number of distinct shared data types.
+     * @return the size of the pool.
+     */
+    public int size() {
+        return dataTypes.size();
+    }
+
+    /**
+     * Appends the key of a data type and its generic arguments to a string builder.
+     */
+    private void appendKey(ExtractedDataType dataType, StringBuilder builder) {
+        builder.append(dataType.getWildcardStatus().ordinal()).append(dataType.getFullType());
+        if (dataType.isGeneric()) {
+            builder.append('<');
+            for (ExtractedDataType argument : dataType.getGenericArguments()) {
+                appendKey(argument, builder);
+                builder.append(',');
+            }
+            builder.append('>');
+        }
+    }
+
+    /**
+     * Creates the key of a data type, which contains everything that makes up the value of the data type.
+     */
+    private String createKey(ExtractedDataType dataType) {
+        StringBuilder builder = new StringBuilder();
+        appendKey(dataType, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Returns the shared read-only instance of a list of generic arguments. The arguments are shared instances, which
+     * means lists are equal if they contain the same instances.
+     */
+    private List<ExtractedDataType> intern(List<ExtractedDataType> genericArguments) {
+        if (genericArguments.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<ExtractedDataType> arguments = new ArrayList<ExtractedDataType>(genericArguments.size());
+        for (ExtractedDataType argument : genericArguments) {
+            arguments.add(intern(argument));
+        }
+        arguments = Collections.unmodifiableList(arguments);
+        List<ExtractedDataType> sharedArguments = argumentLists.putIfAbsent(arguments, arguments);
+        return sharedArguments == null ? arguments : sharedArguments;
+    }
+
+    /**
+     * Returns the shared instance of a name.
+     */
+    private String intern(String name) {
+        String sharedName = names.putIfAbsent(name, name);
+        return sharedName == null ? name : sharedName;
+    }
+
+    /**
+     * Replaces the names and the generic arguments of a data type with shared instances.
+     */
+    private void shareContent(ExtractedDataType dataType) {
+        dataType.setNames(intern(dataType.getFullType()), intern(dataType.getType()));
+        dataType.setGenericArguments(intern(dataType.getGenericArguments()));
+    }
+}
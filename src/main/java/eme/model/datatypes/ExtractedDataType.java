@@ -1,5 +1,6 @@
 package eme.model.datatypes;
 
+import java.io.Serializable;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -9,8 +10,10 @@ import eme.model.IntermediateModel;
  * Represents a data type in the {@link IntermediateModel}.
  * @author Timur Saglam
  */
-public class ExtractedDataType {
+public class ExtractedDataType implements Serializable {
+    private static final long serialVersionUID = 1L;
     private final int arrayDimension;
+    private boolean frozen; // shared instances are frozen
     private String fullTypeName;
     private List<ExtractedDataType> genericArguments;
     private String typeName;
@@ -89,6 +92,15 @@ public class ExtractedDataType {
         return arrayDimension > 0;
     }
 
+    /**
+     * Checks whether the data type is frozen, which means it is a shared instance of a {@link DataTypePool} and cannot
+     * be changed.
+     * @return true if it is frozen.
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
     /**
      * Checks whether the data type is a generic type.
      * @return true if it is generic.
@@ -116,16 +128,20 @@ public class ExtractedDataType {
     /**
      * mutator for the generic arguments.
      * @param genericArguments is the list of generic arguments.
+     * @throws IllegalStateException if the data type is frozen.
      */
     public void setGenericArguments(List<ExtractedDataType> genericArguments) {
+        checkMutable();
         this.genericArguments = genericArguments;
     }
 
     /**
      * Sets the wild card status of the data type.
      * @param status is the status to set.
+     * @throws IllegalStateException if the data type is frozen.
      */
     public void setWildcardStatus(WildcardStatus status) {
+        checkMutable();
         wildcardStatus = status;
     }
 
@@ -134,6 +150,23 @@ public class ExtractedDataType {
         return getClass().getSimpleName() + "(" + typeString() + ")";
     }
 
+    /**
+     * Freezes the data type, which means all mutators throw an {@link IllegalStateException} from now on.
+     */
+    void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * Replaces the full and the simple name with equal instances, e.g. with shared instances.
+     * @param fullTypeName is the full type name, including the array brackets.
+     * @param typeName is the simple type name.
+     */
+    void setNames(String fullTypeName, String typeName) {
+        this.fullTypeName = fullTypeName;
+        this.typeName = typeName;
+    }
+
     /**
      * Generates a type string for this {@link ExtractedDataType}. For example "Map<String, Object>".
      * @return the type string.
@@ -150,6 +183,15 @@ public class ExtractedDataType {
         return result;
     }
 
+    /**
+     * Checks whether the data type can be changed.
+     */
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("Shared data types cannot be changed: " + this);
+        }
+    }
+
     /**
      * Builds the full and simple name from the initial full name. The full name has to be set.
      */
@@ -7,6 +7,7 @@ import eme.model.IntermediateModel;
  * @author Timur Saglam
  */
 public class ExtractedField extends ExtractedVariable {
+    private static final long serialVersionUID = 1L;
     private boolean finalAttribute;
     private AccessLevelModifier modifier;
     private boolean staticAttribute;
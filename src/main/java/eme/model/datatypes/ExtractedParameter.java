@@ -7,6 +7,7 @@ import eme.model.IntermediateModel;
  * @author Timur Saglam
  */
 public class ExtractedParameter extends ExtractedVariable {
+    private static final long serialVersionUID = 1L;
 
     /**
      * Basic constructor, creates parameter.
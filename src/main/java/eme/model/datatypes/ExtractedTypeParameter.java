@@ -1,5 +1,6 @@
 package eme.model.datatypes;
 
+import java.io.Serializable;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -9,7 +10,8 @@ import eme.model.ExtractedClass;
  * This class represents a generic type parameter of a {@link ExtractedClass}.
  * @author Timur Saglam
  */
-public class ExtractedTypeParameter {
+public class ExtractedTypeParameter implements Serializable {
+    private static final long serialVersionUID = 1L;
     private final List<ExtractedDataType> bounds;
     private final String identifier;
 
@@ -7,6 +7,7 @@ import eme.model.IntermediateModel;
  * @author Timur Saglam
  */
 public class ExtractedVariable extends ExtractedDataType {
+    private static final long serialVersionUID = 1L;
     private final String identifier;
 
     /**
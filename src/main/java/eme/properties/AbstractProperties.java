@@ -1,9 +1,11 @@
 package eme.properties;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Properties;
 
@@ -52,6 +54,26 @@ public class AbstractProperties<T extends ITextProperty, B extends IBinaryProper
         }
     }
 
+    /**
+     * Constructor for the use without OSGi, e.g. for the headless extraction. Loads a properties file from the file
+     * system. If the file does not exist, the default values are used.
+     * @param file is the properties file.
+     * @param fileComment is the description in the property file.
+     */
+    public AbstractProperties(File file, String fileComment) {
+        this.fileComment = fileComment;
+        try {
+            fileURL = file.toURI().toURL();
+        } catch (MalformedURLException exception) {
+            throw new IllegalArgumentException("Invalid properties file: " + file, exception);
+        }
+        if (file.exists()) {
+            load();
+        } else {
+            properties = new Properties(); // use default values.
+        }
+    }
+
     /**
      * Accessor method for binary properties.
      * @param property is the {@link IBinaryProperty}.
@@ -104,6 +126,17 @@ public class AbstractProperties<T extends ITextProperty, B extends IBinaryProper
         properties.setProperty(property.getKey(), value);
     }
 
+    /**
+     * Mutator method that replaces all values with the values of other properties, e.g. to apply a snapshot that was
+     * configured on another thread. The properties file is not changed.
+     * @param other are the other properties.
+     */
+    public void setAll(AbstractProperties<T, B> other) {
+        Properties copy = new Properties();
+        copy.putAll(other.properties);
+        properties = copy;
+    }
+
     /**
      * Loads the settings from the properties file.
      */
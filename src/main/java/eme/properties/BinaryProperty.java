@@ -8,6 +8,7 @@ public enum BinaryProperty implements IBinaryProperty {
     ABSTRACT_METHODS("ExtractAbstractMethods", true),
     ACCESS_METHODS("ExtractAccessMethods", false),
     CLASSES("ExtractClasses", true),
+    COMPRESSED_OUTPUT("CompressedOutput", false),
     CONSTRUCTORS("ExtractConstructors", false),
     DEFAULT_FIELDS("ExtractDefaultFields", true),
     DEFAULT_METHODS("ExtractDefaultMethods", true),
@@ -15,21 +16,28 @@ public enum BinaryProperty implements IBinaryProperty {
     ROOT_CONTAINER("GenerateRootContainer", true),
     EMPTY_PACKAGES("ExtractEmptyPackages", true),
     ENUMS("ExtractEnumerations", true),
+    EXTRACTION_FILTER("ExtractionFilter", false),
     INTERFACES("ExtractInterfaces", true),
+    INCREMENTAL_EXTRACTION("IncrementalExtraction", false),
+    METRICS_REPORT("MetricsReport", false),
+    MODEL_CACHE("ModelCache", false),
     NESTED_TYPES("ExtractNestedTypes", false),
+    PARALLEL_EXTRACTION("ParallelExtraction", false),
     PRIVATE_FIELDS("ExtractPrivateFields", false),
     PRIVATE_METHODS("ExtractPrivateMethods", false),
     PROTECTED_FIELDS("ExtractProtectedFields", false),
     PROTECTED_METHODS("ExtractProtectedMethods", false),
     PUBLIC_FIELDS("ExtractPublicFields", true),
     PUBLIC_METHODS("ExtractPublicMethods", true),
+    SPLIT_OUTPUT("SplitOutput", false),
     STATIC_FIELDS("ExtractStaticFields", false),
     STATIC_METHODS("ExtractStaticMethods", false),
     THROWABLES("ExtractThrowables", false),
     FINAL_AS_UNCHANGEABLE("FinalAsUnchangeable", true),
     FIELD_MULTIPLICITIES("FieldMultiplicities", true),
     PARAMETER_MULTIPLICITIES("ParameterMultiplicities", true),
-    RETURN_TYPE_MULTIPLICITIES("ReturnTypeMultiplicities", true);
+    RETURN_TYPE_MULTIPLICITIES("ReturnTypeMultiplicities", true),
+    SHALLOW_EXTERNAL_TYPES("ShallowExternalTypes", true);
 
     private final boolean defaultValue;
     private final String key;
@@ -1,14 +1,42 @@
 package eme.properties;
 
+import java.io.File;
+
 /**
  * This class manages the extraction properties in the user.properties file.
  * @author Timur Saglam
  */
 public class ExtractionProperties extends AbstractProperties<TextProperty, BinaryProperty> {
+    private static final String COMMENT = "Use this file to configure the Ecore metamodel extraction.";
+
     /**
      * Basic constructor, sets the file name, file description and symbolic bundle name.
      */
     public ExtractionProperties() {
-        super("user.properties", "Use this file to configure the Ecore metamodel extraction.", "EcoreMetamodelExtraction");
+        super("user.properties", COMMENT, "EcoreMetamodelExtraction");
+    }
+
+    /**
+     * Constructor for the use without OSGi, loads the properties from a file in the file system.
+     * @param file is the properties file. If it does not exist, the default values are used.
+     */
+    public ExtractionProperties(File file) {
+        super(file, COMMENT);
+    }
+
+    /**
+     * Returns all properties with their current values, including the default values. Two instances with the same
+     * string lead to the same extraction, e.g. for the fingerprint of a cache.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("ExtractionProperties(");
+        for (BinaryProperty property : BinaryProperty.values()) {
+            builder.append(property.getKey()).append('=').append(get(property)).append(',');
+        }
+        for (TextProperty property : TextProperty.values()) {
+            builder.append(property.getKey()).append('=').append(get(property)).append(',');
+        }
+        return builder.append(')').toString();
     }
 }
@@ -5,11 +5,16 @@ package eme.properties;
  * @author Timur Saglam
  */
 public enum TextProperty implements ITextProperty {
+    BATCH_PARALLELISM("BatchParallelism", "4"),
     DATATYPE_PACKAGE("DataTypePackageName", "DATATYPES"),
     DEFAULT_PACKAGE("DefaultPackageName", "DEFAULT"),
     DUMMY_NAME("DummyClassName", "DUMMY"),
+    EXTRACTION_BACKEND("ExtractionBackend", "JavaModel"),
+    EXTRACTION_PARALLELISM("ExtractionParallelism", "4"),
+    MODEL_CACHE_SIZE("ModelCacheSize", "10000"),
     ROOT_NAME("RootContainerName", "ROOT"),
     NESTED_TYPE_PACKAGE("NestedTypePackageSuffix", "InnerTypes"),
+    OUTPUT_FORMAT("OutputFormat", "XMI"),
     PROJECT_SUFFIX("ProjectSuffix", "Model"),
     SAVING_STRATEGY("SavingStrategy", "NewProject");
 
@@ -0,0 +1,93 @@
+package eme;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import eme.properties.ExtractionProperties;
+import eme.properties.TextProperty;
+
+public class BatchExtractionTest {
+    private List<SyntheticJavaProject> fixtures;
+    private List<IProject> projects;
+
+    @Before
+    public void setUp() throws Exception {
+        fixtures = new ArrayList<SyntheticJavaProject>();
+        fixtures.add(new SyntheticJavaProject("BatchFirst", new SyntheticSourceWriter(2, 4, 1, 1)));
+        fixtures.add(new SyntheticJavaProject("BatchSecond", new SyntheticSourceWriter(3, 2, 1, 0)));
+        projects = new ArrayList<IProject>();
+        for (SyntheticJavaProject fixture : fixtures) {
+            projects.add(fixture.create());
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (SyntheticJavaProject fixture : fixtures) {
+            fixture.delete();
+        }
+    }
+
+    @Test
+    public void testCanceled() {
+        NullProgressMonitor monitor = new NullProgressMonitor();
+        monitor.setCanceled(true);
+        List<BatchExtraction.Result> results = new BatchExtraction(2).extract(projects, monitor);
+        assertEquals(projects.size(), results.size());
+        for (BatchExtraction.Result result : results) {
+            assertFalse(result.isSuccessful());
+            assertTrue(result.getFailure() instanceof OperationCanceledException);
+        }
+    }
+
+    @Test
+    public void testConcurrency() {
+        List<BatchExtraction.Result> results = new BatchExtraction(2).extract(projects); // default saving locks the root
+        BatchExtraction.Result first = results.get(0);
+        BatchExtraction.Result second = results.get(1);
+        assertTrue(first.isSuccessful() && second.isSuccessful());
+        assertTrue(first.getExtractionStart() < first.getExtractionEnd());
+        assertTrue(second.getExtractionStart() < second.getExtractionEnd());
+        assertTrue(first.getExtractionStart() < second.getExtractionEnd()); // the extractions overlap
+        assertTrue(second.getExtractionStart() < first.getExtractionEnd());
+    }
+
+    @Test
+    public void testExtraction() {
+        BatchExtraction batch = new BatchExtraction(2);
+        List<BatchExtraction.Result> results = batch.extract(projects);
+        assertEquals(projects.size(), results.size());
+        for (int i = 0; i < projects.size(); i++) { // in the order of the projects
+            BatchExtraction.Result result = results.get(i);
+            assertEquals(projects.get(i).getName(), result.getProjectName());
+            assertNull(result.toString(), result.getFailure());
+            assertTrue(result.isSuccessful());
+            assertTrue(result.getWallTime() >= 0);
+        }
+        assertTrue(batch.getExternalTypeCache().size() > 0); // shared by the workers
+    }
+
+    @Test
+    public void testSavingStrategies() {
+        ExtractionProperties properties = new ExtractionProperties(new File("nonexistent.properties")); // default values
+        BatchExtraction batch = new BatchExtraction(1);
+        assertTrue(batch.supports(properties));
+        properties.set(TextProperty.SAVING_STRATEGY, "CustomPath");
+        assertFalse(batch.supports(properties));
+        properties.set(TextProperty.SAVING_STRATEGY, "Directory");
+        assertTrue(batch.supports(properties));
+    }
+}
@@ -0,0 +1,73 @@
+package eme;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import eme.generator.GeneratedEcoreMetamodel;
+import eme.generator.saving.SavingInformation;
+import eme.metrics.Counter;
+import eme.metrics.ExtractionMetrics;
+import eme.properties.BinaryProperty;
+import eme.properties.ExtractionProperties;
+import eme.properties.TextProperty;
+
+/**
+ * End-to-end load test that extracts a {@link SyntheticJavaProject} of the workspace with the
+ * {@link EcoreMetamodelExtraction}. The scale can be changed with the system properties
+ * <code>eme.loadtest.packages</code> and <code>eme.loadtest.classes</code>. The wall time is only checked if a budget
+ * is set with the system property <code>eme.loadtest.budget</code> (in milliseconds).
+ */
+public class ExtractionLoadTest {
+    private static final Logger logger = LogManager.getLogger(ExtractionLoadTest.class.getName());
+    private static final Long BUDGET = Long.getLong("eme.loadtest.budget"); // null if not set
+    private static final int CLASSES = Integer.getInteger("eme.loadtest.classes", 20);
+    private static final int PACKAGES = Integer.getInteger("eme.loadtest.packages", 10);
+    private EcoreMetamodelExtraction extraction;
+    private SyntheticJavaProject project;
+
+    @Before
+    public void setUp() throws Exception {
+        project = new SyntheticJavaProject("ExtractionLoad", new SyntheticSourceWriter(PACKAGES, CLASSES, 3, 2));
+        project.create();
+        extraction = new EcoreMetamodelExtraction();
+        ExtractionProperties properties = extraction.getProperties();
+        properties.set(TextProperty.SAVING_STRATEGY, "NewProject"); // no dialog, deleted with the project
+        properties.set(BinaryProperty.NESTED_TYPES, true);
+        properties.set(BinaryProperty.THROWABLES, true);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (extraction != null) {
+            extraction.dispose();
+        }
+        project.delete(); // includes the output project
+    }
+
+    @Test
+    public void testExtraction() {
+        SyntheticSourceWriter writer = project.getWriter();
+        long start = System.nanoTime();
+        GeneratedEcoreMetamodel metamodel = extraction.extract(project.getProject());
+        long wallTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        ExtractionMetrics metrics = metamodel.getMetrics();
+        logger.info("Extracted " + writer.getTypeCount() + " types in " + wallTime + " ms ("
+                + writer.getTypeCount() * 1000L / Math.max(wallTime, 1) + " types/s)");
+        assertEquals(writer.getTypeCount(), metrics.get(Counter.TYPES));
+        assertEquals(PACKAGES + 2, metrics.get(Counter.PACKAGES)); // with the default package and "synthetic"
+        SavingInformation information = metamodel.getSavingInformation();
+        assertTrue(new File(information.getFilePath(), information.getFileName() + ".ecore").isFile());
+        if (BUDGET != null) { // opt-in, wall times depend on the machine
+            assertTrue("Extraction took " + wallTime + " ms, the budget is " + BUDGET + " ms", wallTime <= BUDGET);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package eme;
+
+import java.io.IOException;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Test fixture that creates a Java project in the workspace of the running Eclipse instance, whose source folder
+ * contains the source tree of a {@link SyntheticSourceWriter}. The project can be extracted with the
+ * {@link EcoreMetamodelExtraction} like a real project, which means the tests that use it have to run as plug-in tests.
+ * @author Timur Saglam
+ */
+public class SyntheticJavaProject {
+    private static final String JRE_CONTAINER = "org.eclipse.jdt.launching.JRE_CONTAINER";
+    private final String name;
+    private IProject project;
+    private final SyntheticSourceWriter writer;
+
+    /**
+     * Basic constructor.
+     * @param name is the name of the project.
+     * @param writer is the {@link SyntheticSourceWriter} that writes the source tree.
+     */
+    public SyntheticJavaProject(String name, SyntheticSourceWriter writer) {
+        this.name = name;
+        this.writer = writer;
+    }
+
+    /**
+     * Creates the Java project with a source folder and the JRE container on the class path. An existing project with
+     * the same name is replaced.
+     * @return the created {@link IProject}.
+     * @throws CoreException if the project cannot be created.
+     * @throws IOException if the source tree cannot be written.
+     */
+    public IProject create() throws CoreException, IOException {
+        IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+        project = root.getProject(name);
+        if (project.exists()) {
+            project.delete(true, true, null);
+        }
+        project.create(null);
+        project.open(null);
+        IProjectDescription description = project.getDescription();
+        description.setNatureIds(new String[] {JavaCore.NATURE_ID});
+        project.setDescription(description, null);
+        IFolder sourceFolder = project.getFolder("src");
+        sourceFolder.create(true, true, null);
+        IFolder outputFolder = project.getFolder("bin");
+        outputFolder.create(true, true, null);
+        IJavaProject javaProject = JavaCore.create(project);
+        IClasspathEntry[] classpath = {JavaCore.newSourceEntry(sourceFolder.getFullPath()),
+                JavaCore.newContainerEntry(new Path(JRE_CONTAINER))};
+        javaProject.setRawClasspath(classpath, outputFolder.getFullPath(), null);
+        writer.write(sourceFolder.getLocation().toFile());
+        sourceFolder.refreshLocal(IResource.DEPTH_INFINITE, null);
+        return project;
+    }
+
+    /**
+     * Deletes the project and all projects whose names start with its name, e.g. the output projects of the
+     * extraction.
+     * @throws CoreException if a project cannot be deleted.
+     */
+    public void delete() throws CoreException {
+        for (IProject workspaceProject : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+            if (workspaceProject.getName().startsWith(name)) {
+                workspaceProject.delete(true, true, null);
+            }
+        }
+    }
+
+    /**
+     * Accessor for the project.
+     * @return the {@link IProject}, or null if it was not created.
+     */
+    public IProject getProject() {
+        return project;
+    }
+
+    /**
+     * Accessor for the {@link SyntheticSourceWriter} of the project.
+     * @return the {@link SyntheticSourceWriter}.
+     */
+    public SyntheticSourceWriter getWriter() {
+        return writer;
+    }
+}
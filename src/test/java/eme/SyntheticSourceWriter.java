@@ -0,0 +1,196 @@
+package eme;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Test fixture that writes a synthetic Java source tree of a parameterized scale, which can be extracted like a real
+ * project. Every package <code>synthetic.pN</code> contains an exception class, generic interfaces, enumerations and
+ * classes. The classes form superclass chains, every third class is generic, and every class has a nested class and
+ * private fields with accessors. The first class of every chain implements an interface with a method that throws the
+ * exception of its package. The first class of every package references the first class of the previous package, which
+ * means the packages depend on each other. The written code compiles without errors.
+ * @author Timur Saglam
+ */
+public class SyntheticSourceWriter {
+    private static final String ROOT_PACKAGE = "synthetic";
+    private final int classes;
+    private final int enums;
+    private final int interfaces;
+    private final int packages;
+
+    /**
+     * Basic constructor.
+     * @param packages is the number of packages.
+     * @param classes is the number of classes per package.
+     * @param interfaces is the number of interfaces per package.
+     * @param enums is the number of enumerations per package.
+     */
+    public SyntheticSourceWriter(int packages, int classes, int interfaces, int enums) {
+        if (packages < 1 || classes < 1 || interfaces < 0 || enums < 0) {
+            throw new IllegalArgumentException("Invalid scale: " + packages + " packages, " + classes + " classes, " + interfaces
+                    + " interfaces, " + enums + " enums");
+        }
+        this.packages = packages;
+        this.classes = classes;
+        this.interfaces = interfaces;
+        this.enums = enums;
+    }
+
+    /**
+     * Returns the number of top-level types that are written, including the exception classes.
+     * @return the number of top-level types.
+     */
+    public int getTopLevelTypeCount() {
+        return packages * (classes + interfaces + enums + 1);
+    }
+
+    /**
+     * Returns the number of all types that are written, including the exception classes and the nested classes.
+     * @return the number of types.
+     */
+    public int getTypeCount() {
+        return getTopLevelTypeCount() + packages * classes;
+    }
+
+    /**
+     * Writes the source tree into a source folder. Existing files are overwritten.
+     * @param sourceFolder is the source folder, which is the root of the package structure.
+     * @throws IOException if a file cannot be written.
+     */
+    public void write(File sourceFolder) throws IOException {
+        for (int index = 0; index < packages; index++) {
+            File folder = new File(sourceFolder, ROOT_PACKAGE + File.separator + "p" + index);
+            if (!folder.isDirectory() && !folder.mkdirs()) {
+                throw new IOException("Could not create the package folder " + folder);
+            }
+            write(folder, "SyntheticException", exceptionSource(index));
+            for (int type = 0; type < interfaces; type++) {
+                write(folder, "Interface" + type, interfaceSource(index, type));
+            }
+            for (int type = 0; type < enums; type++) {
+                write(folder, "Enum" + type, enumSource(index, type));
+            }
+            for (int type = 0; type < classes; type++) {
+                write(folder, "Class" + type, classSource(index, type));
+            }
+        }
+    }
+
+    /**
+     * Appends a private field with a getter and a setter.
+     */
+    private void appendAccessors(StringBuilder builder, String type, String name) {
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        builder.append("    private ").append(type).append(' ').append(name).append(";\n\n");
+        builder.append("    public ").append(type).append(" get").append(capitalized).append("() {\n");
+        builder.append("        return ").append(name).append(";\n    }\n\n");
+        builder.append("    public void set").append(capitalized).append('(').append(type).append(' ').append(name).append(") {\n");
+        builder.append("        this.").append(name).append(" = ").append(name).append(";\n    }\n\n");
+    }
+
+    /**
+     * Creates the source of a class.
+     */
+    private String classSource(int packageIndex, int index) {
+        boolean generic = index % 3 == 0;
+        StringBuilder builder = header(packageIndex).append("import java.util.ArrayList;\nimport java.util.List;\n\n");
+        builder.append("public class Class").append(index).append(generic ? "<T extends Comparable<T>>" : "");
+        boolean chainRoot = index % 4 == 0; // superclass chains of four classes
+        if (!chainRoot) {
+            builder.append(" extends Class").append(index - 1).append((index - 1) % 3 == 0 ? "<String>" : "");
+        }
+        String returnType = enums > 0 ? "Enum" + index % enums : "String";
+        if (chainRoot && interfaces > 0) { // subclasses inherit the interface
+            builder.append(" implements Interface").append(index % interfaces).append('<').append(returnType).append('>');
+        }
+        builder.append(" {\n");
+        appendAccessors(builder, "int", "count" + index);
+        appendAccessors(builder, "String", "label" + index);
+        appendAccessors(builder, "List<Class" + (index + 1) % classes + (((index + 1) % classes) % 3 == 0 ? "<String>>" : ">"),
+                "items" + index);
+        if (generic) {
+            appendAccessors(builder, "T", "value" + index);
+        }
+        if (index == 0 && packageIndex > 0) { // dependency to the previous package
+            appendAccessors(builder, qualifiedName(packageIndex - 1, "Class0<Integer>"), "previous");
+        }
+        if (enums > 0) {
+            appendAccessors(builder, returnType, "state" + index);
+        }
+        if (chainRoot) {
+            builder.append("    public ").append(returnType).append(" convert(String input) throws SyntheticException {\n");
+            builder.append("        if (input == null) {\n            throw new SyntheticException(\"No input\");\n        }\n");
+            builder.append(enums > 0 ? "        return " + returnType + ".valueOf(input);\n" : "        return input;\n");
+            builder.append("    }\n\n");
+        }
+        builder.append("    public String getName() {\n        return \"Class").append(index).append("\";\n    }\n\n");
+        builder.append("    public List<Entry").append(index).append("> createEntries").append(index).append("(int size) {\n");
+        builder.append("        List<Entry").append(index).append("> entries = new ArrayList<Entry").append(index).append(">();\n");
+        builder.append("        for (int i = 0; i < size; i++) {\n");
+        builder.append("            entries.add(new Entry").append(index).append("());\n        }\n");
+        builder.append("        return entries;\n    }\n\n");
+        builder.append("    public static class Entry").append(index).append(" {\n");
+        builder.append("        private String key;\n\n");
+        builder.append("        public String getKey() {\n            return key;\n        }\n    }\n");
+        return builder.append("}\n").toString();
+    }
+
+    /**
+     * Creates the source of an enumeration.
+     */
+    private String enumSource(int packageIndex, int index) {
+        StringBuilder builder = header(packageIndex);
+        builder.append("public enum Enum").append(index).append(" {\n");
+        builder.append("    FIRST(1), SECOND(2), THIRD(3);\n\n");
+        builder.append("    private final int code;\n\n");
+        builder.append("    private Enum").append(index).append("(int code) {\n        this.code = code;\n    }\n\n");
+        builder.append("    public int getCode() {\n        return code;\n    }\n");
+        return builder.append("}\n").toString();
+    }
+
+    /**
+     * Creates the source of the exception class of a package.
+     */
+    private String exceptionSource(int packageIndex) {
+        StringBuilder builder = header(packageIndex);
+        builder.append("public class SyntheticException extends Exception {\n");
+        builder.append("    private static final long serialVersionUID = 1L;\n\n");
+        builder.append("    public SyntheticException(String message) {\n        super(message);\n    }\n");
+        return builder.append("}\n").toString();
+    }
+
+    /**
+     * Creates the package declaration of a source file.
+     */
+    private StringBuilder header(int packageIndex) {
+        return new StringBuilder("package ").append(ROOT_PACKAGE).append(".p").append(packageIndex).append(";\n\n");
+    }
+
+    /**
+     * Creates the source of a generic interface.
+     */
+    private String interfaceSource(int packageIndex, int index) {
+        StringBuilder builder = header(packageIndex);
+        builder.append("public interface Interface").append(index).append("<T> {\n");
+        builder.append("    String getName();\n\n");
+        builder.append("    T convert(String input) throws SyntheticException;\n");
+        return builder.append("}\n").toString();
+    }
+
+    /**
+     * Builds the qualified name of a type of a specific package.
+     */
+    private String qualifiedName(int packageIndex, String typeName) {
+        return ROOT_PACKAGE + ".p" + packageIndex + "." + typeName;
+    }
+
+    /**
+     * Writes a single source file.
+     */
+    private void write(File folder, String typeName, String source) throws IOException {
+        Files.write(new File(folder, typeName + ".java").toPath(), source.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -4,16 +4,32 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import eme.extractor.ExtractionBackendTest;
+import eme.extractor.ExtractionFilterTest;
 import eme.generator.EPackageGeneratorTest;
 import eme.generator.EcoreMetamodelGeneratorTest;
+import eme.generator.SelectionPolicyTest;
+import eme.generator.TypeParameterSourceTest;
+import eme.generator.saving.SavingStrategyTest;
+import eme.metrics.ExtractionMetricsTest;
 import eme.model.IntermediateModelTest;
+import eme.model.datatypes.DataTypePoolTest;
 
 @RunWith(Suite.class)
 
 @SuiteClasses({
     EcoreMetamodelGeneratorTest.class,
     EPackageGeneratorTest.class,
-    IntermediateModelTest.class
+    IntermediateModelTest.class,
+    DataTypePoolTest.class,
+    ExtractionFilterTest.class,
+    SelectionPolicyTest.class,
+    TypeParameterSourceTest.class,
+    SavingStrategyTest.class,
+    ExtractionMetricsTest.class,
+    BatchExtractionTest.class,
+    ExtractionLoadTest.class,
+    ExtractionBackendTest.class
 })
 
 public class TestSuite {
@@ -0,0 +1,127 @@
+package eme.benchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import eme.EcoreMetamodelExtraction;
+import eme.SyntheticJavaProject;
+import eme.SyntheticSourceWriter;
+import eme.generator.GeneratedEcoreMetamodel;
+import eme.metrics.Counter;
+import eme.properties.BinaryProperty;
+import eme.properties.ExtractionProperties;
+import eme.properties.TextProperty;
+
+/**
+ * Benchmark of the extraction backends. It extracts the same {@link SyntheticJavaProject} with the Java model backend
+ * and with the AST backend and reports the wall times of both, including the generation and the saving. It needs an
+ * Eclipse workspace, which means it has to run as JUnit plug-in test. It is not part of the test suite. The scale and
+ * the iterations can be changed with the system properties <code>eme.benchmark.packages</code>,
+ * <code>eme.benchmark.classes</code>, <code>eme.benchmark.warmups</code> and <code>eme.benchmark.iterations</code>.
+ * @author Timur Saglam
+ */
+public class BackendBenchmarks {
+    private static final String[] BACKENDS = {"JavaModel", "AST"};
+    private static final int CLASSES = Integer.getInteger("eme.benchmark.classes", 20);
+    private static final int ITERATIONS = Integer.getInteger("eme.benchmark.iterations", 5);
+    private static final Logger logger = LogManager.getLogger(BackendBenchmarks.class.getName());
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final int PACKAGES = Integer.getInteger("eme.benchmark.packages", 10);
+    private static final int WARMUPS = Integer.getInteger("eme.benchmark.warmups", 2);
+    private SyntheticJavaProject project;
+
+    @Before
+    public void setUp() throws Exception {
+        Logger.getLogger("eme").setLevel(Level.WARN); // no extraction messages in the report
+        logger.setLevel(Level.INFO);
+        Logger.getLogger(BenchmarkRunner.class.getName()).setLevel(Level.INFO);
+        project = new SyntheticJavaProject("BackendBenchmark", new SyntheticSourceWriter(PACKAGES, CLASSES, 3, 2));
+        project.create();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        project.delete(); // includes the saved metamodels
+    }
+
+    @Test
+    public void testBackends() {
+        BenchmarkRunner runner = new BenchmarkRunner(WARMUPS, ITERATIONS);
+        long[] medians = new long[BACKENDS.length];
+        long[] types = new long[BACKENDS.length];
+        for (int i = 0; i < BACKENDS.length; i++) {
+            ExtractionBenchmark benchmark = new ExtractionBenchmark(BACKENDS[i]);
+            long[] times = runner.run(benchmark);
+            Arrays.sort(times);
+            medians[i] = times[times.length / 2];
+            types[i] = benchmark.getExtractedTypes();
+            benchmark.dispose();
+        }
+        logger.info(String.format(Locale.ROOT, "Median extraction of %d types: %s %.3f ms, %s %.3f ms", types[0], BACKENDS[0],
+                medians[0] / NANOS_PER_MILLI, BACKENDS[1], medians[1] / NANOS_PER_MILLI));
+        assertEquals(project.getWriter().getTypeCount(), types[0]);
+        assertEquals(types[0], types[1]); // both backends extract the same project
+    }
+
+    /**
+     * Benchmark of the extraction of the project with a specific backend, every iteration uses a fresh extraction.
+     */
+    private class ExtractionBenchmark extends Benchmark {
+        private final String backend;
+        private EcoreMetamodelExtraction extraction;
+        private long extractedTypes;
+
+        /**
+         * Basic constructor.
+         * @param backend is the name of the extraction backend.
+         */
+        ExtractionBenchmark(String backend) {
+            super("Extraction (" + backend + ")");
+            this.backend = backend;
+        }
+
+        /**
+         * Disposes the extraction of the last iteration.
+         */
+        public void dispose() {
+            if (extraction != null) {
+                extraction.dispose();
+            }
+        }
+
+        /**
+         * Returns the number of types that were extracted in the last iteration.
+         * @return the number of types.
+         */
+        public long getExtractedTypes() {
+            return extractedTypes;
+        }
+
+        @Override
+        public Object run() {
+            GeneratedEcoreMetamodel metamodel = extraction.extract(project.getProject());
+            extractedTypes = metamodel.getMetrics().get(Counter.TYPES);
+            return metamodel;
+        }
+
+        @Override
+        public void setUp() {
+            dispose();
+            extraction = new EcoreMetamodelExtraction();
+            ExtractionProperties properties = extraction.getProperties();
+            properties.set(TextProperty.EXTRACTION_BACKEND, backend);
+            properties.set(TextProperty.SAVING_STRATEGY, "OriginalProject"); // deleted with the project
+            properties.set(BinaryProperty.INCREMENTAL_EXTRACTION, false); // every iteration is a full extraction
+            properties.set(BinaryProperty.MODEL_CACHE, false);
+        }
+    }
+}
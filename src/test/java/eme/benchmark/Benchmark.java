@@ -0,0 +1,39 @@
+package eme.benchmark;
+
+/**
+ * A single benchmark of the {@link BenchmarkRunner}. The {@link #setUp()} method is called before every iteration and
+ * is not measured, the {@link #run()} method is the measured operation.
+ * @author Timur Saglam
+ */
+public abstract class Benchmark {
+    private final String name;
+
+    /**
+     * Basic constructor.
+     * @param name is the name of the benchmark, which is used in the report.
+     */
+    public Benchmark(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Accessor for the name of the benchmark.
+     * @return the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Executes the measured operation once.
+     * @return the result of the operation, which is consumed by the runner to prevent dead code elimination.
+     */
+    public abstract Object run();
+
+    /**
+     * Prepares the next iteration. Does nothing by default.
+     */
+    public void setUp() {
+        // no preparation by default
+    }
+}
@@ -0,0 +1,80 @@
+package eme.benchmark;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+/**
+ * Simple benchmark runner without external dependencies. Every {@link Benchmark} is executed for a number of warmup
+ * iterations, which give the JIT compiler time to optimize the code, and then for a number of measured iterations. The
+ * report contains the minimum, median, mean and maximum wall time of the measured iterations. The garbage collector is
+ * requested before every iteration to reduce the noise of earlier iterations.
+ * @author Timur Saglam
+ */
+public class BenchmarkRunner {
+    private static final Logger logger = LogManager.getLogger(BenchmarkRunner.class.getName());
+    private static final double NANOS_PER_MILLI = 1e6;
+    private final int iterations;
+    private volatile Object sink; // consumes the results
+    private final int warmups;
+
+    /**
+     * Basic constructor.
+     * @param warmups is the number of unmeasured warmup iterations.
+     * @param iterations is the number of measured iterations.
+     */
+    public BenchmarkRunner(int warmups, int iterations) {
+        if (warmups < 0 || iterations < 1) {
+            throw new IllegalArgumentException("Invalid iterations: " + warmups + " warmups, " + iterations + " measured");
+        }
+        this.warmups = warmups;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Runs a {@link Benchmark} and logs its report.
+     * @param benchmark is the {@link Benchmark}.
+     * @return the wall times of the measured iterations in nanoseconds.
+     */
+    public long[] run(Benchmark benchmark) {
+        for (int i = 0; i < warmups; i++) {
+            measure(benchmark);
+        }
+        long[] times = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            times[i] = measure(benchmark);
+        }
+        logger.info(report(benchmark.getName(), times));
+        return times;
+    }
+
+    /**
+     * Executes a single iteration of a {@link Benchmark}.
+     */
+    private long measure(Benchmark benchmark) {
+        benchmark.setUp();
+        System.gc();
+        long start = System.nanoTime();
+        Object result = benchmark.run();
+        long time = System.nanoTime() - start;
+        sink = result;
+        return time;
+    }
+
+    /**
+     * Creates the report line of the measured times.
+     */
+    private String report(String name, long[] times) {
+        long[] sorted = Arrays.copyOf(times, times.length);
+        Arrays.sort(sorted);
+        long sum = 0;
+        for (long time : sorted) {
+            sum += time;
+        }
+        return String.format(Locale.ROOT, "%-28s min %10.3f ms   median %10.3f ms   mean %10.3f ms   max %10.3f ms", name,
+                sorted[0] / NANOS_PER_MILLI, sorted[sorted.length / 2] / NANOS_PER_MILLI, sum / NANOS_PER_MILLI / sorted.length,
+                sorted[sorted.length - 1] / NANOS_PER_MILLI);
+    }
+}
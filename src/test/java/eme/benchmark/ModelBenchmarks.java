@@ -0,0 +1,315 @@
+package eme.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.log4j.BasicConfigurator;
+import org.apache.log4j.Level;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+
+import eme.generator.EPackageGenerator;
+import eme.generator.hierarchies.ExternalTypeHierarchy;
+import eme.generator.saving.AbstractSavingStrategy;
+import eme.generator.saving.DirectorySaving;
+import eme.generator.saving.OutputFormat;
+import eme.model.ExtractedPackage;
+import eme.model.ExtractedType;
+import eme.model.IntermediateModel;
+import eme.model.datatypes.DataTypePool;
+import eme.properties.ExtractionProperties;
+
+/**
+ * Benchmarks of the intermediate model and the Ecore generator on synthetic models. It measures the insertion into and
+ * the lookup in the {@link IntermediateModel}, the generation with the {@link EPackageGenerator}, the sorting of an
+ * {@link ExternalTypeHierarchy} and the serialization with an {@link AbstractSavingStrategy} in both output formats.
+ * Afterwards, it measures the heap that is retained by a model with and without a {@link DataTypePool}. The benchmarks
+ * do not need an Eclipse workspace. Usage:
+ * <code>ModelBenchmarks [depth=n] [breadth=n] [types=n] [members=n] [generics=x] [inheritance=n] [warmups=n]
+ * [iterations=n] [properties=file]</code>
+ * @author Timur Saglam
+ */
+public class ModelBenchmarks {
+    private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+    private static final Logger logger = LogManager.getLogger(ModelBenchmarks.class.getName());
+    private final SyntheticModelFactory factory;
+    private final ExtractionProperties properties;
+    private Object retained; // keeps the measured model reachable
+    private final ModelShape shape;
+
+    /**
+     * Basic constructor.
+     * @param shape is the {@link ModelShape} of the synthetic models.
+     * @param properties are the {@link ExtractionProperties} of the generator.
+     */
+    public ModelBenchmarks(ModelShape shape, ExtractionProperties properties) {
+        this.shape = shape;
+        this.properties = properties;
+        factory = new SyntheticModelFactory(shape);
+    }
+
+    /**
+     * Runs the benchmarks.
+     * @param args are the arguments of the form <code>key=value</code>, see the class comment.
+     * @throws IOException if the temporary output directory cannot be created.
+     */
+    public static void main(String[] args) throws IOException {
+        BasicConfigurator.configure();
+        Logger.getRootLogger().setLevel(Level.INFO);
+        Logger.getLogger("eme.generator").setLevel(Level.WARN); // no saving messages in the report
+        int warmups = 5;
+        int iterations = 10;
+        File propertiesFile = new File("user.properties");
+        for (String argument : args) {
+            if (argument.startsWith("warmups=")) {
+                warmups = Integer.parseInt(argument.substring(8));
+            } else if (argument.startsWith("iterations=")) {
+                iterations = Integer.parseInt(argument.substring(11));
+            } else if (argument.startsWith("properties=")) {
+                propertiesFile = new File(argument.substring(11));
+            }
+        }
+        ModelShape shape = ModelShape.parse(args);
+        ModelBenchmarks benchmarks = new ModelBenchmarks(shape, new ExtractionProperties(propertiesFile));
+        logger.info("Model shape: " + shape);
+        benchmarks.run(new BenchmarkRunner(warmups, iterations));
+        benchmarks.measureRetainedHeap();
+    }
+
+    /**
+     * Measures the heap that is retained by a synthetic model without and with a {@link DataTypePool} and logs the
+     * result. The retained heap of the pooled model includes the pool.
+     * @return the retained heap in bytes, first without and then with the pool.
+     */
+    public long[] measureRetainedHeap() {
+        long unpooled = retainedHeap(new SyntheticModelFactory(shape));
+        long pooled = retainedHeap(new SyntheticModelFactory(shape, new DataTypePool()));
+        String format = "Retained heap of the model: %.2f MB without data type pool, %.2f MB with pool (%.1f%% less)";
+        logger.info(String.format(Locale.ROOT, format, unpooled / BYTES_PER_MEGABYTE, pooled / BYTES_PER_MEGABYTE,
+                100.0 * (unpooled - pooled) / unpooled));
+        return new long[] {unpooled, pooled};
+    }
+
+    /**
+     * Runs all benchmarks with a specific {@link BenchmarkRunner}.
+     * @param runner is the {@link BenchmarkRunner}.
+     * @throws IOException if the temporary output directory cannot be created.
+     */
+    public void run(BenchmarkRunner runner) throws IOException {
+        runner.run(new InsertionBenchmark());
+        runner.run(new LookupBenchmark());
+        runner.run(new GenerationBenchmark());
+        runner.run(new HierarchySortBenchmark());
+        File directory = Files.createTempDirectory("eme-benchmark").toFile();
+        try {
+            runner.run(new SavingBenchmark(directory, OutputFormat.XMI));
+            runner.run(new SavingBenchmark(directory, OutputFormat.BINARY));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * Measures the heap that is retained by a model of a {@link SyntheticModelFactory} and the factory itself.
+     */
+    private long retainedHeap(SyntheticModelFactory modelFactory) {
+        long before = usedHeap();
+        retained = new Object[] {modelFactory.createModel(), modelFactory}; // factory retains the pool
+        long after = usedHeap();
+        retained = null;
+        return after - before;
+    }
+
+    /**
+     * Returns the used heap after requesting the garbage collector multiple times.
+     */
+    private long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Deletes a file or a directory with its content.
+     */
+    private void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        if (!file.delete()) {
+            logger.warn("Could not delete " + file);
+        }
+    }
+
+    /**
+     * Benchmark of {@link EPackageGenerator#generate(IntermediateModel)}, every iteration uses a fresh model.
+     */
+    private class GenerationBenchmark extends Benchmark {
+        private IntermediateModel model;
+
+        /**
+         * Basic constructor.
+         */
+        GenerationBenchmark() {
+            super("EPackage generation");
+        }
+
+        @Override
+        public Object run() {
+            return new EPackageGenerator(properties).generate(model);
+        }
+
+        @Override
+        public void setUp() {
+            model = factory.createModel();
+        }
+    }
+
+    /**
+     * Benchmark of {@link ExternalTypeHierarchy#sort()} with one data type per type of the shape, which are added in
+     * reverse order.
+     */
+    private class HierarchySortBenchmark extends Benchmark {
+        private ExternalTypeHierarchy hierarchy;
+        private final List<String> typeNames;
+
+        /**
+         * Basic constructor.
+         */
+        HierarchySortBenchmark() {
+            super("EPackageHierarchy sort");
+            typeNames = factory.getTypeNames(factory.createPackages());
+        }
+
+        @Override
+        public Object run() {
+            hierarchy.sort();
+            return hierarchy;
+        }
+
+        @Override
+        public void setUp() {
+            EPackage root = EcoreFactory.eINSTANCE.createEPackage();
+            hierarchy = new ExternalTypeHierarchy(root, properties);
+            for (int i = typeNames.size() - 1; i >= 0; i--) {
+                String typeName = "external." + typeNames.get(i);
+                EDataType dataType = EcoreFactory.eINSTANCE.createEDataType();
+                dataType.setName(typeName.substring(typeName.lastIndexOf('.') + 1));
+                dataType.setInstanceTypeName(typeName);
+                hierarchy.add(dataType);
+            }
+        }
+    }
+
+    /**
+     * Benchmark of the insertion of all packages and types into a new {@link IntermediateModel}.
+     */
+    private class InsertionBenchmark extends Benchmark {
+        private List<ExtractedPackage> packages;
+        private List<ExtractedType> types;
+
+        /**
+         * Basic constructor.
+         */
+        InsertionBenchmark() {
+            super("IntermediateModel insertion");
+        }
+
+        @Override
+        public Object run() {
+            IntermediateModel model = new IntermediateModel("Synthetic");
+            for (ExtractedPackage extractedPackage : packages) {
+                model.add(extractedPackage);
+            }
+            for (ExtractedType type : types) {
+                model.add(type);
+            }
+            return model;
+        }
+
+        @Override
+        public void setUp() {
+            packages = factory.createPackages(); // packages are changed by the insertion
+            types = factory.createTypes(packages);
+        }
+    }
+
+    /**
+     * Benchmark of the lookup of all packages and types of an {@link IntermediateModel} by their names.
+     */
+    private class LookupBenchmark extends Benchmark {
+        private final IntermediateModel model;
+        private final List<String> packageNames;
+        private final List<String> typeNames;
+
+        /**
+         * Basic constructor.
+         */
+        LookupBenchmark() {
+            super("IntermediateModel lookup");
+            List<ExtractedPackage> packages = factory.createPackages();
+            packageNames = new ArrayList<String>(packages.size());
+            for (ExtractedPackage extractedPackage : packages) {
+                packageNames.add(extractedPackage.getFullName());
+            }
+            typeNames = factory.getTypeNames(packages);
+            model = factory.createModel();
+        }
+
+        @Override
+        public Object run() {
+            int found = 0;
+            for (String name : packageNames) {
+                if (model.getPackage(name) != null) {
+                    found++;
+                }
+            }
+            for (String name : typeNames) {
+                if (model.contains(name) && model.getType(name) != null) {
+                    found++;
+                }
+            }
+            if (found != packageNames.size() + typeNames.size()) {
+                throw new IllegalStateException("Lookup failed for " + (packageNames.size() + typeNames.size() - found) + " names");
+            }
+            return found;
+        }
+    }
+
+    /**
+     * Benchmark of the serialization of a generated metamodel with a {@link DirectorySaving} strategy.
+     */
+    private class SavingBenchmark extends Benchmark {
+        private final EPackage metamodel;
+        private final AbstractSavingStrategy strategy;
+
+        /**
+         * Basic constructor.
+         * @param directory is the output directory.
+         * @param format is the {@link OutputFormat}.
+         */
+        SavingBenchmark(File directory, OutputFormat format) {
+            super("Saving (" + format.name().toLowerCase() + ")");
+            strategy = new DirectorySaving(directory);
+            strategy.setOutputFormat(format);
+            metamodel = new EPackageGenerator(properties).generate(factory.createModel());
+        }
+
+        @Override
+        public Object run() {
+            return strategy.save(metamodel, "Synthetic");
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package eme.benchmark;
+
+/**
+ * Describes the shape of a synthetic {@link eme.model.IntermediateModel} that is built by the
+ * {@link SyntheticModelFactory}. The shape can be parsed from arguments of the form <code>key=value</code>, e.g.
+ * <code>depth=3 breadth=4 types=50</code>, missing arguments keep their default values.
+ * @author Timur Saglam
+ */
+public class ModelShape {
+    private int breadth; // subpackages per package
+    private int depth; // package levels below the root
+    private double genericDensity; // share of generic types and generic members
+    private int inheritanceDepth; // length of the superclass chains
+    private int members; // members per type
+    private int types; // types per package
+
+    /**
+     * Basic constructor, creates the default shape.
+     */
+    public ModelShape() {
+        this(2, 4, 40, 8, 0.25, 4);
+    }
+
+    /**
+     * Constructor that sets all dimensions of the shape.
+     * @param depth is the number of package levels below the root package.
+     * @param breadth is the number of subpackages of every package that is not on the lowest level.
+     * @param types is the number of types of every package.
+     * @param members is the number of fields and methods of every type.
+     * @param genericDensity is the share of generic types and generic members, between 0 and 1.
+     * @param inheritanceDepth is the length of the superclass chains of the classes of a package.
+     */
+    public ModelShape(int depth, int breadth, int types, int members, double genericDensity, int inheritanceDepth) {
+        this.depth = depth;
+        this.breadth = breadth;
+        this.types = types;
+        this.members = members;
+        this.genericDensity = genericDensity;
+        this.inheritanceDepth = inheritanceDepth;
+        validate();
+    }
+
+    /**
+     * Parses a shape from arguments of the form <code>key=value</code>. The keys are depth, breadth, types, members,
+     * generics and inheritance. Arguments without a known key are ignored.
+     * @param arguments are the arguments.
+     * @return the parsed shape.
+     */
+    public static ModelShape parse(String[] arguments) {
+        ModelShape shape = new ModelShape();
+        for (String argument : arguments) {
+            int separator = argument.indexOf('=');
+            if (separator > 0) {
+                shape.set(argument.substring(0, separator), argument.substring(separator + 1));
+            }
+        }
+        shape.validate();
+        return shape;
+    }
+
+    /**
+     * Accessor for the number of subpackages per package.
+     * @return the breadth.
+     */
+    public int getBreadth() {
+        return breadth;
+    }
+
+    /**
+     * Accessor for the number of package levels below the root package.
+     * @return the depth.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Accessor for the share of generic types and generic members.
+     * @return the generic density, between 0 and 1.
+     */
+    public double getGenericDensity() {
+        return genericDensity;
+    }
+
+    /**
+     * Accessor for the length of the superclass chains.
+     * @return the inheritance depth.
+     */
+    public int getInheritanceDepth() {
+        return inheritanceDepth;
+    }
+
+    /**
+     * Accessor for the number of fields and methods per type.
+     * @return the number of members.
+     */
+    public int getMembers() {
+        return members;
+    }
+
+    /**
+     * Calculates the number of packages of the model, including the root package.
+     * @return the number of packages.
+     */
+    public int getPackageCount() {
+        int count = 1; // root package
+        int level = 1;
+        for (int i = 0; i < depth; i++) {
+            level *= breadth;
+            count += level;
+        }
+        return count;
+    }
+
+    /**
+     * Accessor for the number of types per package.
+     * @return the number of types.
+     */
+    public int getTypes() {
+        return types;
+    }
+
+    @Override
+    public String toString() {
+        return "depth=" + depth + " breadth=" + breadth + " types=" + types + " members=" + members + " generics="
+                + genericDensity + " inheritance=" + inheritanceDepth + " (" + getPackageCount() * types + " types)";
+    }
+
+    /**
+     * Sets a dimension by its key.
+     */
+    private void set(String key, String value) {
+        if ("depth".equals(key)) {
+            depth = Integer.parseInt(value);
+        } else if ("breadth".equals(key)) {
+            breadth = Integer.parseInt(value);
+        } else if ("types".equals(key)) {
+            types = Integer.parseInt(value);
+        } else if ("members".equals(key)) {
+            members = Integer.parseInt(value);
+        } else if ("generics".equals(key)) {
+            genericDensity = Double.parseDouble(value);
+        } else if ("inheritance".equals(key)) {
+            inheritanceDepth = Integer.parseInt(value);
+        }
+    }
+
+    /**
+     * Checks whether the dimensions are valid.
+     */
+    private void validate() {
+        if (depth < 0 || breadth < 1 || types < 1 || members < 0 || inheritanceDepth < 0) {
+            throw new IllegalArgumentException("Invalid model shape: " + this);
+        }
+        if (genericDensity < 0 || genericDensity > 1) {
+            throw new IllegalArgumentException("The generic density has to be between 0 and 1: " + genericDensity);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package eme.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import eme.model.ExtractedClass;
+import eme.model.ExtractedInterface;
+import eme.model.ExtractedMethod;
+import eme.model.ExtractedPackage;
+import eme.model.ExtractedType;
+import eme.model.IntermediateModel;
+import eme.model.datatypes.AccessLevelModifier;
+import eme.model.datatypes.DataTypePool;
+import eme.model.datatypes.ExtractedDataType;
+import eme.model.datatypes.ExtractedField;
+import eme.model.datatypes.ExtractedParameter;
+import eme.model.datatypes.ExtractedTypeParameter;
+
+/**
+ * Builds synthetic {@link IntermediateModel}s of a specific {@link ModelShape}. The models are deterministic, which
+ * means two models of the same shape are equal. Every tenth type of a package is an interface, the other types are
+ * classes that form superclass chains and implement the interfaces of their package. The members reference the types of
+ * their package and the external types <code>java.lang.String</code> and <code>java.util.List</code>. If a
+ * {@link DataTypePool} is given, the data types are interned like in a real extraction.
+ * @author Timur Saglam
+ */
+public class SyntheticModelFactory {
+    private static final String LIST_TYPE = "java.util.List";
+    private static final String STRING_TYPE = "java.lang.String";
+    private final DataTypePool pool; // null if the data types are not interned
+    private final ModelShape shape;
+
+    /**
+     * Basic constructor, the data types are not interned.
+     * @param shape is the {@link ModelShape} of the models.
+     */
+    public SyntheticModelFactory(ModelShape shape) {
+        this(shape, null);
+    }
+
+    /**
+     * Constructor that interns the data types of the models.
+     * @param shape is the {@link ModelShape} of the models.
+     * @param pool is the {@link DataTypePool}, or null if the data types are not interned.
+     */
+    public SyntheticModelFactory(ModelShape shape, DataTypePool pool) {
+        this.shape = shape;
+        this.pool = pool;
+    }
+
+    /**
+     * Builds a complete synthetic {@link IntermediateModel}.
+     * @return the {@link IntermediateModel}.
+     */
+    public IntermediateModel createModel() {
+        IntermediateModel model = new IntermediateModel("Synthetic");
+        List<ExtractedPackage> packages = createPackages();
+        for (ExtractedPackage extractedPackage : packages) {
+            model.add(extractedPackage);
+        }
+        for (ExtractedType type : createTypes(packages)) {
+            model.add(type);
+        }
+        return model;
+    }
+
+    /**
+     * Creates the packages of the shape, starting with the root package. Every package is preceded by its parent, which
+     * means the packages can be added to an {@link IntermediateModel} in the order of the list.
+     * @return the list of {@link ExtractedPackage}s.
+     */
+    public List<ExtractedPackage> createPackages() {
+        List<ExtractedPackage> packages = new ArrayList<ExtractedPackage>(shape.getPackageCount());
+        packages.add(new ExtractedPackage("")); // root package
+        List<String> level = new LinkedList<String>();
+        level.add("");
+        for (int depth = 0; depth < shape.getDepth(); depth++) {
+            List<String> nextLevel = new LinkedList<String>();
+            for (String parent : level) {
+                for (int index = 0; index < shape.getBreadth(); index++) {
+                    String name = parent.isEmpty() ? "p" + index : parent + ".p" + index;
+                    packages.add(new ExtractedPackage(name));
+                    nextLevel.add(name);
+                }
+            }
+            level = nextLevel;
+        }
+        return packages;
+    }
+
+    /**
+     * Creates the types of a list of packages. The types are not added to the packages.
+     * @param packages are the {@link ExtractedPackage}s, e.g. from {@link #createPackages()}.
+     * @return the list of {@link ExtractedType}s of all packages.
+     */
+    public List<ExtractedType> createTypes(List<ExtractedPackage> packages) {
+        List<ExtractedType> types = new ArrayList<ExtractedType>(packages.size() * shape.getTypes());
+        for (ExtractedPackage extractedPackage : packages) {
+            String prefix = extractedPackage.getFullName().isEmpty() ? "" : extractedPackage.getFullName() + ".";
+            for (int index = 0; index < shape.getTypes(); index++) {
+                types.add(createType(prefix, index));
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Returns the full names of all types of the shape, in the order of {@link #createTypes(List)}.
+     * @param packages are the {@link ExtractedPackage}s, e.g. from {@link #createPackages()}.
+     * @return the list of full type names.
+     */
+    public List<String> getTypeNames(List<ExtractedPackage> packages) {
+        List<String> names = new ArrayList<String>(packages.size() * shape.getTypes());
+        for (ExtractedPackage extractedPackage : packages) {
+            String prefix = extractedPackage.getFullName().isEmpty() ? "" : extractedPackage.getFullName() + ".";
+            for (int index = 0; index < shape.getTypes(); index++) {
+                names.add(typeName(prefix, index));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Creates the data type of a member, which is generic depending on the generic density.
+     */
+    private ExtractedDataType createDataType(String prefix, int typeIndex, int memberIndex) {
+        int reference = (typeIndex + memberIndex + 1) % shape.getTypes();
+        if (isGeneric(typeIndex * shape.getMembers() + memberIndex)) {
+            ExtractedDataType dataType = new ExtractedDataType(LIST_TYPE, 0);
+            List<ExtractedDataType> arguments = new LinkedList<ExtractedDataType>();
+            arguments.add(new ExtractedDataType(typeName(prefix, reference), 0));
+            dataType.setGenericArguments(arguments);
+            return share(dataType);
+        } else if (memberIndex % 4 == 0) {
+            return share(new ExtractedDataType(STRING_TYPE, 0));
+        }
+        return share(new ExtractedDataType(typeName(prefix, reference), 0));
+    }
+
+    /**
+     * Creates the fields and methods of a type. Even members are fields, odd members are methods with one parameter.
+     */
+    private void createMembers(ExtractedType type, String prefix, int typeIndex) {
+        for (int index = 0; index < shape.getMembers(); index++) {
+            ExtractedDataType dataType = createDataType(prefix, typeIndex, index);
+            if (index % 2 == 0 && !(type instanceof ExtractedInterface)) {
+                ExtractedField field = new ExtractedField("field" + index, dataType.getFullType(), 0);
+                field.setGenericArguments(dataType.getGenericArguments());
+                field.setModifier(AccessLevelModifier.PUBLIC);
+                type.addField(pool == null ? field : pool.internContent(field));
+            } else {
+                ExtractedMethod method = new ExtractedMethod(type.getFullName() + ".method" + index, dataType);
+                ExtractedParameter parameter = new ExtractedParameter("parameter", STRING_TYPE, 0);
+                method.addParameter(pool == null ? parameter : pool.internContent(parameter));
+                method.setModifier(AccessLevelModifier.PUBLIC);
+                type.addMethod(method);
+            }
+        }
+    }
+
+    /**
+     * Creates a single type of a package.
+     */
+    private ExtractedType createType(String prefix, int index) {
+        ExtractedType type;
+        int interfaces = shape.getTypes() / 10;
+        if (isInterface(index)) {
+            type = new ExtractedInterface(typeName(prefix, index));
+        } else {
+            ExtractedClass extractedClass = new ExtractedClass(typeName(prefix, index), false, false);
+            int chainPosition = index % (shape.getInheritanceDepth() + 1); // position in the superclass chain
+            if (chainPosition > 0 && !isInterface(index - 1)) {
+                extractedClass.setSuperClass(share(new ExtractedDataType(typeName(prefix, index - 1), 0)));
+            }
+            if (interfaces > 0) {
+                extractedClass.addInterface(share(new ExtractedDataType(typeName(prefix, (index % interfaces) * 10 + 9), 0)));
+            }
+            type = extractedClass;
+        }
+        if (isGeneric(index)) {
+            List<ExtractedTypeParameter> typeParameters = new LinkedList<ExtractedTypeParameter>();
+            ExtractedTypeParameter typeParameter = new ExtractedTypeParameter("T");
+            typeParameter.add(share(new ExtractedDataType(STRING_TYPE, 0)));
+            typeParameters.add(typeParameter);
+            type.setTypeParameters(typeParameters);
+        }
+        createMembers(type, prefix, index);
+        return type;
+    }
+
+    /**
+     * Decides whether the element with a specific index is generic. The generic elements are spread evenly.
+     */
+    private boolean isGeneric(int index) {
+        double density = shape.getGenericDensity();
+        return Math.floor((index + 1) * density) > Math.floor(index * density);
+    }
+
+    /**
+     * Checks whether the type with a specific index is an interface.
+     */
+    private boolean isInterface(int index) {
+        return index % 10 == 9;
+    }
+
+    /**
+     * Returns the shared instance of a data type if a {@link DataTypePool} is used.
+     */
+    private ExtractedDataType share(ExtractedDataType dataType) {
+        return pool == null ? dataType : pool.intern(dataType);
+    }
+
+    /**
+     * Builds the full name of the type with a specific index.
+     */
+    private String typeName(String prefix, int index) {
+        return prefix + "Type" + index;
+    }
+}
@@ -0,0 +1,64 @@
+package eme.extractor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import eme.EcoreMetamodelExtraction;
+import eme.SyntheticJavaProject;
+import eme.SyntheticSourceWriter;
+import eme.generator.GeneratedEcoreMetamodel;
+import eme.metrics.Counter;
+import eme.properties.BinaryProperty;
+import eme.properties.ExtractionProperties;
+import eme.properties.TextProperty;
+
+public class ExtractionBackendTest {
+    private SyntheticJavaProject project;
+
+    @Before
+    public void setUp() throws Exception {
+        project = new SyntheticJavaProject("ExtractionBackend", new SyntheticSourceWriter(3, 4, 2, 2));
+        project.create();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        project.delete();
+    }
+
+    @Test
+    public void testEquivalence() {
+        GeneratedEcoreMetamodel javaModel = extract("JavaModel");
+        GeneratedEcoreMetamodel ast = extract("AST");
+        assertEquals(project.getWriter().getTypeCount(), javaModel.getMetrics().get(Counter.TYPES));
+        assertEquals(javaModel.getMetrics().get(Counter.TYPES), ast.getMetrics().get(Counter.TYPES));
+        EPackage javaModelRoot = javaModel.getRoot();
+        EPackage astRoot = ast.getRoot();
+        assertTrue("The backends generated different metamodels", EcoreUtil.equals(javaModelRoot, astRoot));
+    }
+
+    /**
+     * Extracts the metamodel of the project with a specific backend, without saving it.
+     */
+    private GeneratedEcoreMetamodel extract(String backend) {
+        EcoreMetamodelExtraction extraction = new EcoreMetamodelExtraction();
+        ExtractionProperties properties = extraction.getProperties();
+        properties.set(TextProperty.EXTRACTION_BACKEND, backend);
+        properties.set(BinaryProperty.INCREMENTAL_EXTRACTION, false);
+        properties.set(BinaryProperty.MODEL_CACHE, false); // both backends extract every unit
+        properties.set(BinaryProperty.NESTED_TYPES, true);
+        properties.set(BinaryProperty.THROWABLES, true);
+        try {
+            return extraction.extractWithoutSaving(project.getProject(), new NullProgressMonitor());
+        } finally {
+            extraction.dispose();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package eme.extractor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import eme.generator.SelectionHelper;
+import eme.model.ExtractedClass;
+import eme.model.ExtractedInterface;
+import eme.model.ExtractedMethod;
+import eme.model.ExtractedType;
+import eme.model.MethodType;
+import eme.model.datatypes.AccessLevelModifier;
+import eme.model.datatypes.ExtractedField;
+import eme.properties.BinaryProperty;
+import eme.properties.ExtractionProperties;
+
+public class ExtractionFilterTest {
+    private ExtractionProperties properties;
+
+    @Before
+    public void setUp() throws Exception {
+        properties = new ExtractionProperties(new File("nonexistent.properties")); // default values
+    }
+
+    @Test
+    public void testDisabled() {
+        ExtractionFilter filter = new ExtractionFilter(properties);
+        assertFalse(filter.isEnabled());
+        assertTrue(filter.allowsField(AccessLevelModifier.PRIVATE, true));
+        assertTrue(filter.allowsMethod(MethodType.CONSTRUCTOR, AccessLevelModifier.PRIVATE, false, true));
+        assertTrue(filter.allowsMembers(new ExtractedClass("main.Outer.Inner", false, true)));
+    }
+
+    @Test
+    public void testFields() {
+        properties.set(BinaryProperty.EXTRACTION_FILTER, true);
+        properties.set(BinaryProperty.STATIC_FIELDS, true);
+        ExtractionFilter filter = new ExtractionFilter(properties);
+        SelectionHelper selector = new SelectionHelper(properties);
+        for (AccessLevelModifier modifier : AccessLevelModifier.values()) {
+            for (boolean isStatic : new boolean[] {true, false}) {
+                ExtractedField field = new ExtractedField("field", "int", 0);
+                field.setModifier(modifier);
+                field.setStatic(isStatic);
+                assertEquals(selector.allowsGenerating(field), filter.allowsField(modifier, isStatic));
+            }
+        }
+    }
+
+    @Test
+    public void testMembers() {
+        properties.set(BinaryProperty.EXTRACTION_FILTER, true);
+        properties.set(BinaryProperty.INTERFACES, false);
+        ExtractionFilter filter = new ExtractionFilter(properties);
+        ExtractedType inner = new ExtractedClass("main.Outer.Inner", false, false);
+        inner.setOuterType("main.Outer");
+        assertTrue(filter.allowsMembers(new ExtractedClass("main.Outer", false, false)));
+        assertFalse(filter.allowsMembers(inner));
+        assertFalse(filter.allowsMembers(new ExtractedClass("main.Exception", false, true)));
+        assertFalse(filter.allowsMembers(new ExtractedInterface("main.Interface")));
+    }
+
+    @Test
+    public void testMethods() {
+        properties.set(BinaryProperty.EXTRACTION_FILTER, true);
+        properties.set(BinaryProperty.PROTECTED_METHODS, true);
+        ExtractionFilter filter = new ExtractionFilter(properties);
+        SelectionHelper selector = new SelectionHelper(properties);
+        for (MethodType type : MethodType.values()) {
+            for (AccessLevelModifier modifier : AccessLevelModifier.values()) {
+                for (int flags = 0; flags < 4; flags++) { // abstract and static
+                    ExtractedMethod method = new ExtractedMethod("main.Type.method", null);
+                    method.setMethodType(type);
+                    method.setModifier(modifier);
+                    method.setAbstract((flags & 1) != 0);
+                    method.setStatic((flags & 2) != 0);
+                    boolean expected = selector.allowsGenerating(method);
+                    assertEquals(expected, filter.allowsMethod(type, modifier, method.isAbstract(), method.isStatic()));
+                }
+            }
+        }
+    }
+}
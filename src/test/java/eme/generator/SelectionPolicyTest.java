@@ -0,0 +1,109 @@
+package eme.generator;
+
+import static eme.model.datatypes.AccessLevelModifier.NO_MODIFIER;
+import static eme.model.datatypes.AccessLevelModifier.PRIVATE;
+import static eme.model.datatypes.AccessLevelModifier.PROTECTED;
+import static eme.model.datatypes.AccessLevelModifier.PUBLIC;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import eme.model.ExtractedClass;
+import eme.model.ExtractedEnum;
+import eme.model.ExtractedInterface;
+import eme.model.ExtractedType;
+import eme.model.MethodType;
+import eme.model.datatypes.AccessLevelModifier;
+import eme.properties.BinaryProperty;
+import eme.properties.ExtractionProperties;
+
+public class SelectionPolicyTest {
+    private ExtractionProperties properties;
+
+    @Before
+    public void setUp() throws Exception {
+        properties = new ExtractionProperties(new File("nonexistent.properties")); // default values
+    }
+
+    @Test
+    public void testFields() {
+        for (int flags = 0; flags < 32; flags++) { // all combinations of the field properties
+            properties.set(BinaryProperty.STATIC_FIELDS, (flags & 1) != 0);
+            properties.set(BinaryProperty.PUBLIC_FIELDS, (flags & 2) != 0);
+            properties.set(BinaryProperty.DEFAULT_FIELDS, (flags & 4) != 0);
+            properties.set(BinaryProperty.PROTECTED_FIELDS, (flags & 8) != 0);
+            properties.set(BinaryProperty.PRIVATE_FIELDS, (flags & 16) != 0);
+            SelectionPolicy policy = new SelectionPolicy(properties);
+            for (AccessLevelModifier modifier : AccessLevelModifier.values()) {
+                for (boolean isStatic : new boolean[] {true, false}) {
+                    boolean expected = !isStatic || properties.get(BinaryProperty.STATIC_FIELDS);
+                    expected &= modifier != PUBLIC || properties.get(BinaryProperty.PUBLIC_FIELDS);
+                    expected &= modifier != NO_MODIFIER || properties.get(BinaryProperty.DEFAULT_FIELDS);
+                    expected &= modifier != PROTECTED || properties.get(BinaryProperty.PROTECTED_FIELDS);
+                    expected &= modifier != PRIVATE || properties.get(BinaryProperty.PRIVATE_FIELDS);
+                    assertEquals(expected, policy.allowsField(modifier, isStatic));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMethods() {
+        properties.set(BinaryProperty.CONSTRUCTORS, true);
+        properties.set(BinaryProperty.PRIVATE_METHODS, true);
+        properties.set(BinaryProperty.STATIC_METHODS, false);
+        SelectionPolicy policy = new SelectionPolicy(properties);
+        for (MethodType type : MethodType.values()) {
+            for (AccessLevelModifier modifier : AccessLevelModifier.values()) {
+                for (int flags = 0; flags < 4; flags++) { // abstract and static
+                    boolean isAbstract = (flags & 1) != 0;
+                    boolean isStatic = (flags & 2) != 0;
+                    boolean expected = type != MethodType.CONSTRUCTOR || properties.get(BinaryProperty.CONSTRUCTORS);
+                    expected &= !isAbstract || properties.get(BinaryProperty.ABSTRACT_METHODS);
+                    expected &= !isStatic || properties.get(BinaryProperty.STATIC_METHODS);
+                    expected &= modifier != NO_MODIFIER || properties.get(BinaryProperty.DEFAULT_METHODS);
+                    expected &= modifier != PUBLIC || properties.get(BinaryProperty.PUBLIC_METHODS);
+                    expected &= modifier != PROTECTED || properties.get(BinaryProperty.PROTECTED_METHODS);
+                    expected &= modifier != PRIVATE || properties.get(BinaryProperty.PRIVATE_METHODS);
+                    expected &= type != MethodType.ACCESSOR || properties.get(BinaryProperty.ACCESS_METHODS);
+                    expected &= type != MethodType.MUTATOR || properties.get(BinaryProperty.ACCESS_METHODS);
+                    assertEquals(expected, policy.allowsMethod(type, modifier, isAbstract, isStatic));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSnapshot() {
+        properties.set(BinaryProperty.ENUMS, true);
+        SelectionPolicy policy = new SelectionPolicy(properties);
+        properties.set(BinaryProperty.ENUMS, false);
+        assertTrue(policy.isEnabled(BinaryProperty.ENUMS));
+        assertFalse(new SelectionPolicy(properties).isEnabled(BinaryProperty.ENUMS));
+    }
+
+    @Test
+    public void testTypes() {
+        ExtractedClass throwable = new ExtractedClass("a.Failure", false, true);
+        ExtractedInterface inner = new ExtractedInterface("a.Outer.Inner");
+        inner.setOuterType("a.Outer");
+        ExtractedType[] types = {new ExtractedClass("a.Plain", false, false), throwable, inner, new ExtractedEnum("a.State")};
+        for (int flags = 0; flags < 32; flags++) { // all combinations of the type properties
+            properties.set(BinaryProperty.CLASSES, (flags & 1) != 0);
+            properties.set(BinaryProperty.THROWABLES, (flags & 2) != 0);
+            properties.set(BinaryProperty.INTERFACES, (flags & 4) != 0);
+            properties.set(BinaryProperty.ENUMS, (flags & 8) != 0);
+            properties.set(BinaryProperty.NESTED_TYPES, (flags & 16) != 0);
+            SelectionPolicy policy = new SelectionPolicy(properties);
+            assertEquals((flags & 1) != 0, policy.allowsType(types[0]));
+            assertEquals((flags & 3) == 3, policy.allowsType(types[1]));
+            assertEquals((flags & 20) == 20, policy.allowsType(types[2]));
+            assertEquals((flags & 8) != 0, policy.allowsType(types[3]));
+        }
+    }
+}
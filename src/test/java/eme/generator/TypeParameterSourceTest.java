@@ -0,0 +1,92 @@
+package eme.generator;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EOperation;
+import org.eclipse.emf.ecore.ETypeParameter;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import eme.generator.hierarchies.ExternalTypeHierarchy;
+import eme.model.IntermediateModel;
+import eme.model.datatypes.ExtractedDataType;
+import eme.properties.ExtractionProperties;
+
+public class TypeParameterSourceTest {
+    private EDataTypeGenerator generator;
+
+    @Before
+    public void setUp() throws Exception {
+        ExtractionProperties properties = new ExtractionProperties(new File("nonexistent.properties")); // default values
+        ExternalTypeHierarchy hierarchy = new ExternalTypeHierarchy(EcoreFactory.eINSTANCE.createEPackage(), properties);
+        generator = new EDataTypeGenerator(new IntermediateModel("Test"), new HashMap<String, EClassifier>(), hierarchy);
+    }
+
+    @Test
+    public void testLaterParameters() {
+        EClass eClass = createClass("Node");
+        TypeParameterSource source = generator.getTypeParameterSource(eClass);
+        assertNull(source.getTypeParameter(new ExtractedDataType("T", 0)));
+        ETypeParameter parameter = addTypeParameter(eClass.getETypeParameters(), "T");
+        assertSame(parameter, source.getTypeParameter(new ExtractedDataType("T", 0)));
+    }
+
+    @Test
+    public void testSeparateClassifiers() {
+        EClass first = createClass("Node");
+        EClass second = createClass("Node"); // same name and same type parameter
+        ETypeParameter firstParameter = addTypeParameter(first.getETypeParameters(), "T");
+        ETypeParameter secondParameter = addTypeParameter(second.getETypeParameters(), "T");
+        TypeParameterSource firstSource = generator.getTypeParameterSource(first);
+        TypeParameterSource secondSource = generator.getTypeParameterSource(second);
+        assertNotSame(firstSource, secondSource);
+        assertSame(firstSource, generator.getTypeParameterSource(first)); // cached
+        assertSame(secondSource, generator.getTypeParameterSource(second));
+        EAttribute firstAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+        EAttribute secondAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+        generator.addDataType(firstAttribute, new ExtractedDataType("T", 0), firstSource);
+        generator.addDataType(secondAttribute, new ExtractedDataType("T", 0), secondSource);
+        assertSame(firstParameter, firstAttribute.getEGenericType().getETypeParameter());
+        assertSame(secondParameter, secondAttribute.getEGenericType().getETypeParameter());
+    }
+
+    @Test
+    public void testShadowing() {
+        EClass eClass = createClass("Node");
+        ETypeParameter outerT = addTypeParameter(eClass.getETypeParameters(), "T");
+        ETypeParameter outerU = addTypeParameter(eClass.getETypeParameters(), "U");
+        EOperation operation = EcoreFactory.eINSTANCE.createEOperation();
+        eClass.getEOperations().add(operation);
+        ETypeParameter innerT = addTypeParameter(operation.getETypeParameters(), "T");
+        TypeParameterSource classSource = generator.getTypeParameterSource(eClass);
+        TypeParameterSource operationSource = new TypeParameterSource(operation, classSource);
+        assertSame(innerT, operationSource.getTypeParameter(new ExtractedDataType("T", 0))); // inner hides outer
+        assertSame(outerU, operationSource.getTypeParameter(new ExtractedDataType("U", 0)));
+        assertSame(outerT, classSource.getTypeParameter(new ExtractedDataType("T", 0))); // outer scope unchanged
+        assertSame(innerT, new TypeParameterSource(operation).getTypeParameter(new ExtractedDataType("T", 0)));
+        assertNull(operationSource.getTypeParameter(new ExtractedDataType("V", 0)));
+    }
+
+    private ETypeParameter addTypeParameter(List<ETypeParameter> parameters, String name) {
+        ETypeParameter parameter = EcoreFactory.eINSTANCE.createETypeParameter();
+        parameter.setName(name);
+        parameters.add(parameter);
+        return parameter;
+    }
+
+    private EClass createClass(String name) {
+        EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+        eClass.setName(name);
+        return eClass;
+    }
+}
@@ -0,0 +1,210 @@
+package eme.generator.saving;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceFactoryImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SavingStrategyTest {
+    private static final String NAME = "RoundTrip";
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("eme-saving").toFile();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        delete(directory);
+    }
+
+    @Test
+    public void testBinary() {
+        assertRoundTrip(OutputFormat.BINARY, false, false);
+        assertRoundTrip(OutputFormat.BINARY, true, false);
+    }
+
+    @Test
+    public void testBinarySplit() {
+        assertRoundTrip(OutputFormat.BINARY, false, true);
+        assertRoundTrip(OutputFormat.BINARY, true, true);
+    }
+
+    @Test
+    public void testRepeatedSaves() {
+        AbstractSavingStrategy strategy = new DirectorySaving(directory); // reuses its lookup table
+        for (int i = 0; i < 2; i++) {
+            EPackage original = createMetamodel();
+            SavingInformation information = strategy.save(original, NAME);
+            ResourceSet resourceSet = createResourceSet(OutputFormat.XMI, false);
+            String path = information.getFilePath() + information.getFileName() + "." + OutputFormat.XMI.getFileExtension();
+            EPackage loaded = (EPackage) resourceSet.getResource(URI.createFileURI(path), true).getContents().get(0);
+            assertEquals(countClassifiers(original), countClassifiers(loaded));
+        }
+    }
+
+    @Test
+    public void testXmi() {
+        assertRoundTrip(OutputFormat.XMI, false, false);
+        assertRoundTrip(OutputFormat.XMI, true, false);
+    }
+
+    @Test
+    public void testXmiSplit() {
+        assertRoundTrip(OutputFormat.XMI, false, true);
+        assertRoundTrip(OutputFormat.XMI, true, true);
+    }
+
+    /**
+     * Saves a fresh metamodel with a {@link DirectorySaving} strategy, loads it into a new {@link ResourceSet} and
+     * compares the classifiers and the references between the packages.
+     */
+    private void assertRoundTrip(OutputFormat format, boolean compressed, boolean split) {
+        String variant = format + (compressed ? " zipped" : "") + (split ? " split" : "");
+        EPackage original = createMetamodel();
+        int classifiers = countClassifiers(original);
+        AbstractSavingStrategy strategy = new DirectorySaving(new File(directory, variant.replace(' ', '-')));
+        strategy.setOutputFormat(format);
+        strategy.setCompressed(compressed);
+        strategy.setSplit(split);
+        SavingInformation information = strategy.save(original, NAME);
+        ResourceSet resourceSet = createResourceSet(format, compressed);
+        String path = information.getFilePath() + information.getFileName() + "." + format.getFileExtension();
+        Resource resource = resourceSet.getResource(URI.createFileURI(path), true);
+        EPackage loaded = (EPackage) resource.getContents().get(0);
+        assertEquals(variant, classifiers, countClassifiers(loaded));
+        EcoreUtil.resolveAll(resourceSet);
+        assertEquals(variant, split ? 3 : 1, resourceSet.getResources().size());
+        EClass model = (EClass) loaded.getESubpackages().get(0).getEClassifier("Model");
+        EClass element = (EClass) loaded.getESubpackages().get(1).getEClassifier("Element");
+        EClass named = (EClass) loaded.getESubpackages().get(1).getEClassifier("NamedElement");
+        assertNotNull(variant, model);
+        assertNotNull(variant, element);
+        assertNotNull(variant, named);
+        EClassifier referenced = model.getEReferences().get(0).getEType();
+        assertFalse(variant, referenced.eIsProxy());
+        assertSame(variant, element, referenced); // reference into the other package
+        assertSame(variant, named, element.getESuperTypes().get(0));
+        EClassifier attributeType = named.getEAttributes().get(0).getEType();
+        assertSame(variant, loaded.getESubpackages().get(0).getEClassifier("Identifier"), attributeType);
+        assertSame(variant, EcorePackage.eINSTANCE.getEString(), model.getEAttributes().get(0).getEType());
+        assertTrue(variant, EcoreUtil.UnresolvedProxyCrossReferencer.find(resourceSet).isEmpty());
+    }
+
+    /**
+     * Counts the classifiers of a package and all its subpackages.
+     */
+    private int countClassifiers(EPackage ePackage) {
+        int count = ePackage.getEClassifiers().size();
+        for (EPackage subpackage : ePackage.getESubpackages()) {
+            count += countClassifiers(subpackage);
+        }
+        return count;
+    }
+
+    /**
+     * Creates a metamodel with two subpackages that reference each other.
+     */
+    private EPackage createMetamodel() {
+        EcoreFactory factory = EcoreFactory.eINSTANCE;
+        EPackage root = createPackage(NAME);
+        EPackage core = createPackage("core");
+        EPackage elements = createPackage("elements");
+        root.getESubpackages().add(core);
+        root.getESubpackages().add(elements);
+        EDataType identifier = factory.createEDataType();
+        identifier.setName("Identifier");
+        identifier.setInstanceTypeName("java.util.UUID");
+        core.getEClassifiers().add(identifier);
+        EClass named = createClass(elements, "NamedElement");
+        named.setAbstract(true);
+        EClass element = createClass(elements, "Element");
+        element.getESuperTypes().add(named);
+        EAttribute id = factory.createEAttribute();
+        id.setName("id");
+        id.setEType(identifier); // elements -> core
+        named.getEStructuralFeatures().add(id);
+        EClass model = createClass(core, "Model");
+        EAttribute name = factory.createEAttribute();
+        name.setName("name");
+        name.setEType(EcorePackage.eINSTANCE.getEString());
+        model.getEStructuralFeatures().add(name);
+        EReference elementsReference = factory.createEReference();
+        elementsReference.setName("elements");
+        elementsReference.setContainment(true);
+        elementsReference.setUpperBound(-1);
+        elementsReference.setEType(element); // core -> elements
+        model.getEStructuralFeatures().add(elementsReference);
+        return root;
+    }
+
+    private EClass createClass(EPackage ePackage, String name) {
+        EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+        eClass.setName(name);
+        ePackage.getEClassifiers().add(eClass);
+        return eClass;
+    }
+
+    private EPackage createPackage(String name) {
+        EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+        ePackage.setName(name);
+        ePackage.setNsPrefix(name);
+        ePackage.setNsURI("http://" + name);
+        return ePackage;
+    }
+
+    /**
+     * Creates a new {@link ResourceSet} that can load the files of a specific output format.
+     */
+    private ResourceSet createResourceSet(OutputFormat format, boolean compressed) {
+        ResourceSet resourceSet = new ResourceSetImpl();
+        Resource.Factory factory = new XMIResourceFactoryImpl();
+        if (format == OutputFormat.BINARY) {
+            factory = new ResourceFactoryImpl() {
+                @Override
+                public Resource createResource(URI uri) {
+                    return new BinaryResourceImpl(uri);
+                }
+            };
+        }
+        resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(format.getFileExtension(), factory);
+        resourceSet.getLoadOptions().put(Resource.OPTION_ZIP, compressed); // also used for the split resources
+        return resourceSet;
+    }
+
+    private void delete(File file) throws IOException {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        Files.deleteIfExists(file.toPath());
+    }
+}
@@ -0,0 +1,66 @@
+package eme.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import eme.model.ExtractedClass;
+import eme.model.ExtractedMethod;
+import eme.model.ExtractedPackage;
+import eme.model.IntermediateModel;
+import eme.model.datatypes.ExtractedField;
+
+public class ExtractionMetricsTest {
+    private ExtractionMetrics metrics;
+
+    @Before
+    public void setUp() throws Exception {
+        metrics = new ExtractionMetrics();
+    }
+
+    @Test
+    public void testCount() {
+        IntermediateModel model = new IntermediateModel("TestModel");
+        model.add(new ExtractedPackage(""));
+        model.add(new ExtractedPackage("main"));
+        ExtractedClass testClass = new ExtractedClass("main.TestClass", false, false);
+        testClass.addField(new ExtractedField("first", "java.lang.String", 0));
+        testClass.addField(new ExtractedField("second", "java.lang.String", 0));
+        testClass.addMethod(new ExtractedMethod("main.TestClass.test", null));
+        model.add(testClass);
+        model.addExternal(new ExtractedClass("java.lang.Object", false, false));
+        metrics.count(model);
+        assertEquals(2, metrics.get(Counter.PACKAGES));
+        assertEquals(1, metrics.get(Counter.TYPES));
+        assertEquals(1, metrics.get(Counter.METHODS));
+        assertEquals(2, metrics.get(Counter.FIELDS));
+        assertEquals(1, metrics.get(Counter.EXTERNAL_TYPES));
+        assertTrue(metrics.toJSON().contains("\"project\": \"TestModel\""));
+    }
+
+    @Test
+    public void testHitRate() {
+        assertTrue(Double.isNaN(metrics.getHitRate(Cache.MODEL_CACHE)));
+        metrics.add(Counter.MODEL_CACHE_HITS, 3);
+        metrics.add(Counter.MODEL_CACHE_MISSES, 1);
+        assertEquals(0.75, metrics.getHitRate(Cache.MODEL_CACHE), 0);
+        assertTrue(metrics.toJSON().contains("\"modelCache\": 0.7500"));
+        assertTrue(metrics.toJSON().contains("\"typeNameCache\": null"));
+    }
+
+    @Test
+    public void testPhases() {
+        metrics.startPhase(Phase.SORT);
+        metrics.stopPhase(Phase.SORT);
+        long first = metrics.getWallTime(Phase.SORT);
+        metrics.startPhase(Phase.SORT);
+        metrics.stopPhase(Phase.SORT);
+        assertTrue(metrics.getWallTime(Phase.SORT) >= first); // summed up
+        assertEquals(0, metrics.getWallTime(Phase.SAVE));
+        for (Phase phase : Phase.values()) {
+            assertTrue(metrics.toJSON().contains("\"" + phase.getKey() + "\": {\"wallTime\": "));
+        }
+    }
+}
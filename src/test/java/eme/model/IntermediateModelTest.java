@@ -1,6 +1,21 @@
 package eme.model;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -47,6 +62,105 @@ public class IntermediateModelTest {
         assertEquals(4, model.getRoot().getTypes().size());
     }
 
+    @Test
+    public void testEmptyPackages() {
+        addMVCPackages();
+        ExtractedPackage main = model.getPackage("main");
+        ExtractedPackage view = model.getPackage("main.view");
+        assertTrue(model.getRoot().isEmpty());
+        assertSame(main, view.getParentPackage());
+        List<ExtractedType> types = view.getTypes();
+        model.add(new ExtractedClass("main.view.Class", false, false));
+        model.add(new ExtractedEnum("main.view.Enumeration"));
+        assertFalse(model.getRoot().isEmpty());
+        assertTrue(model.getPackage("main.model").isEmpty());
+        assertEquals(2, main.getDescendantTypeCount());
+        assertEquals("main.view.Enumeration", types.get(0).getFullName()); // view reflects changes
+        assertEquals("main.view.Class", types.get(1).getFullName());
+        model.removeFrom("main.view.Class", view);
+        model.removeFrom("main.view.Enumeration", view);
+        assertTrue(model.getRoot().isEmpty());
+        assertTrue(types.isEmpty());
+    }
+
+    @Test
+    public void testFullNameAllocation() { // full names and hash codes are cached, lookups allocate no strings
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean); // allocation profiling is JVM specific
+        com.sun.management.ThreadMXBean profiler = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(profiler.isThreadAllocatedMemorySupported() && profiler.isThreadAllocatedMemoryEnabled());
+        ExtractedType type = new ExtractedClass("main.model.subpackage.Type", false, false);
+        ExtractedType equalType = new ExtractedClass("main.model.subpackage.Type", false, false);
+        long threadId = Thread.currentThread().getId();
+        int calls = 100000;
+        int hashSum = 0;
+        long before = profiler.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < calls; i++) {
+            hashSum += type.getFullName().length() + type.hashCode() + (type.equals(equalType) ? 1 : 0);
+        }
+        long allocated = profiler.getThreadAllocatedBytes(threadId) - before;
+        assertFalse(hashSum == 0);
+        assertTrue("Allocated " + allocated + " bytes", allocated < calls); // building the name needs ~50 bytes per call
+    }
+
+    @Test(timeout = 10000)
+    public void testLookupScaling() { // quadratic lookups would need minutes for this amount of types
+        int packages = 100;
+        int types = 100000;
+        model.add(new ExtractedPackage(""));
+        for (int i = 0; i < packages; i++) {
+            model.add(new ExtractedPackage("package" + i));
+        }
+        for (int i = 0; i < types; i++) {
+            model.add(new ExtractedClass("package" + (i % packages) + ".Type" + i, false, false));
+            model.addExternal(new ExtractedInterface("external" + (i % packages) + ".Type" + i));
+        }
+        for (int i = 0; i < types; i++) {
+            assertNotNull(model.getType("package" + (i % packages) + ".Type" + i));
+            assertNotNull(model.getExternalType("external" + (i % packages) + ".Type" + i));
+            assertNotNull(model.getPackage("package" + (i % packages)));
+        }
+        assertEquals(types / packages, model.getPackage("package0").getTypes().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnlyTypes() {
+        addMVCPackages();
+        model.getRoot().getTypes().add(new ExtractedClass("Class", false, false));
+    }
+
+    @Test
+    public void testRemove() {
+        addMVCPackages();
+        ExtractedPackage view = model.getPackage("main.view");
+        ExtractedType inner = new ExtractedClass("main.view.OuterClass.InnerClass", false, false);
+        model.add(new ExtractedClass("main.view.OuterClass", false, false));
+        model.addTo(inner, view);
+        model.addExternal(inner);
+        assertNotNull(model.removeFrom("main.view.OuterClass.InnerClass", view));
+        assertNull(model.getType("main.view.OuterClass.InnerClass"));
+        assertFalse(model.containsExternal("main.view.OuterClass.InnerClass"));
+        assertNull(model.removeFrom("main.view.OuterClass.InnerClass", view));
+        assertEquals(1, view.getTypes().size());
+        model.addTo(new ExtractedClass("main.view.OuterClass.InnerClass", false, false), view);
+        assertEquals(2, view.getTypes().size());
+    }
+
+    @Test
+    public void testSharedParents() throws Exception {
+        ExtractedType first = new ExtractedClass(new String("main.model.First"), false, false);
+        ExtractedType second = new ExtractedClass(new String("main.model.Second"), false, false);
+        assertSame(first.getParentName(), second.getParentName());
+        assertEquals("main.model.First", first.getFullName());
+        assertEquals("First", first.getName());
+        assertEquals(first, new ExtractedClass("main.model.First", false, false));
+        ExtractedType deserialized = (ExtractedType) copy(first); // like loading from the model cache
+        assertEquals(first, deserialized);
+        assertEquals("First", deserialized.getName());
+        assertSame(first.getParentName(), deserialized.getParentName());
+        assertEquals("Root", new ExtractedPackage("Root").getName()); // no parent
+    }
+
     @Test(expected = RuntimeException.class)
     public void testUnknownPackage() {
         addMVCPackages();
@@ -69,6 +183,14 @@ public class IntermediateModelTest {
         }
     }
 
+    private Object copy(Object object) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream output = new ObjectOutputStream(bytes);
+        output.writeObject(object);
+        output.close();
+        return new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+    }
+
     private int countPackages(ExtractedPackage inPackage) {
         int amount = 0;
         for (ExtractedPackage subpackage : inPackage.getSubpackages()) {
@@ -0,0 +1,87 @@
+package eme.model.datatypes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class DataTypePoolTest {
+
+    private DataTypePool pool;
+
+    @Before
+    public void setUp() throws Exception {
+        pool = new DataTypePool();
+    }
+
+    @Test
+    public void testSharing() {
+        ExtractedDataType first = pool.intern(createList("java.lang.String", WildcardStatus.NO_WILDCARD));
+        ExtractedDataType second = pool.intern(createList("java.lang.String", WildcardStatus.NO_WILDCARD));
+        assertSame(first, second);
+        assertSame(first.getGenericArguments().get(0), pool.intern(new ExtractedDataType("java.lang.String", 0)));
+        assertTrue(first.isFrozen());
+        assertEquals(2, pool.size()); // list and string
+        assertEquals(4, pool.getRequests()); // the argument of the second list is not interned
+        assertEquals(2, pool.getHits());
+    }
+
+    @Test
+    public void testDistinction() {
+        ExtractedDataType plain = pool.intern(createList("java.lang.Number", WildcardStatus.NO_WILDCARD));
+        ExtractedDataType wildcard = pool.intern(createList("java.lang.Number", WildcardStatus.UPPER_BOUND));
+        ExtractedDataType array = pool.intern(new ExtractedDataType("java.util.List", 1));
+        ExtractedDataType raw = pool.intern(new ExtractedDataType("java.util.List", 0));
+        assertNotSame(plain, wildcard);
+        assertNotSame(array, raw);
+        assertNotSame(raw, plain);
+        assertEquals(6, pool.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFrozen() {
+        ExtractedDataType shared = pool.intern(new ExtractedDataType("java.lang.String", 0));
+        shared.setWildcardStatus(WildcardStatus.LOWER_BOUND);
+    }
+
+    @Test
+    public void testVariableContent() {
+        ExtractedField first = new ExtractedField("first", "java.util.List", 0);
+        first.setGenericArguments(createArguments("java.lang.String", WildcardStatus.NO_WILDCARD));
+        ExtractedField second = new ExtractedField("second", "java.util.List", 0);
+        second.setGenericArguments(createArguments("java.lang.String", WildcardStatus.NO_WILDCARD));
+        pool.internContent(first);
+        pool.internContent(second);
+        assertSame(first.getFullType(), second.getFullType());
+        assertSame(first.getGenericArguments(), second.getGenericArguments());
+        assertFalse(first.isFrozen()); // variables are not shared
+        first.setModifier(AccessLevelModifier.PRIVATE);
+        assertEquals(AccessLevelModifier.NO_MODIFIER, second.getModifier());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testVariable() {
+        pool.intern(new ExtractedParameter("parameter", "int", 0));
+    }
+
+    private List<ExtractedDataType> createArguments(String argumentName, WildcardStatus status) {
+        ExtractedDataType argument = new ExtractedDataType(argumentName, 0);
+        argument.setWildcardStatus(status);
+        List<ExtractedDataType> arguments = new LinkedList<ExtractedDataType>();
+        arguments.add(argument);
+        return arguments;
+    }
+
+    private ExtractedDataType createList(String argumentName, WildcardStatus status) {
+        ExtractedDataType list = new ExtractedDataType("java.util.List", 0);
+        list.setGenericArguments(createArguments(argumentName, status));
+        return list;
+    }
+}